@@ -0,0 +1,125 @@
+package com.moviefeaster.benchmark;
+
+import com.moviefeaster.model.Movie;
+import com.moviefeaster.utils.SyntheticCatalogGenerator;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.List;
+
+/**
+ * Shared benchmark state: a synthetic catalog of the parameterized size, plus filter values
+ * that are known to match some of its movies.
+ */
+@State(Scope.Benchmark)
+public class CatalogFixture {
+
+    /** Seed of every benchmark catalog, so runs compare like with like. */
+    private static final long SEED = 42;
+
+    /** Number of movies in the catalog. */
+    @Param({"1000", "10000", "100000"})
+    private int size;
+
+    /** The catalog. */
+    private List<Movie> movies;
+
+    /** A title keyword that matches part of the catalog. */
+    private String titleKeyword;
+
+    /** An exact title from the catalog. */
+    private String exactTitle;
+
+    /** A director from the catalog. */
+    private String director;
+
+    /** An actor from the catalog. */
+    private String actor;
+
+    /** A genre name from the catalog. */
+    private String genre;
+
+    /** A comment keyword that matches part of the catalog. */
+    private String commentKeyword;
+
+    /**
+     * Generate the catalog once per trial.
+     */
+    @Setup(Level.Trial)
+    public void setUp() {
+        movies = new SyntheticCatalogGenerator(SEED).generate(size);
+        final Movie sample = movies.get(0);
+        titleKeyword = "silent";
+        exactTitle = sample.getTitle();
+        director = sample.getDirectors().get(0);
+        actor = sample.getCastings().get(0);
+        genre = sample.getGenres().get(0).name();
+        commentKeyword = "classic";
+    }
+
+    /**
+     * Gets the catalog.
+     *
+     * @return the catalog
+     */
+    public List<Movie> getMovies() {
+        return movies;
+    }
+
+    /**
+     * Gets a title keyword that matches part of the catalog.
+     *
+     * @return a title keyword that matches part of the catalog
+     */
+    public String getTitleKeyword() {
+        return titleKeyword;
+    }
+
+    /**
+     * Gets an exact title from the catalog.
+     *
+     * @return an exact title from the catalog
+     */
+    public String getExactTitle() {
+        return exactTitle;
+    }
+
+    /**
+     * Gets a director from the catalog.
+     *
+     * @return a director from the catalog
+     */
+    public String getDirector() {
+        return director;
+    }
+
+    /**
+     * Gets an actor from the catalog.
+     *
+     * @return an actor from the catalog
+     */
+    public String getActor() {
+        return actor;
+    }
+
+    /**
+     * Gets a genre name from the catalog.
+     *
+     * @return a genre name from the catalog
+     */
+    public String getGenre() {
+        return genre;
+    }
+
+    /**
+     * Gets a comment keyword that matches part of the catalog.
+     *
+     * @return a comment keyword that matches part of the catalog
+     */
+    public String getCommentKeyword() {
+        return commentKeyword;
+    }
+}
@@ -0,0 +1,76 @@
+package com.moviefeaster.benchmark;
+
+import com.moviefeaster.model.Format;
+import com.moviefeaster.utils.DataFormatter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.OutputStream;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks of {@link DataFormatter#write} for each export format.
+ * Output goes to a stream that only counts bytes, so the numbers measure serialization, not I/O.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class DataFormatterBenchmark {
+
+    /** The export format. */
+    @Param({"JSON", "XML", "CSV", "PRETTY"})
+    private Format format;
+
+    /**
+     * Write the catalog in the parameterized format.
+     *
+     * @param fixture the catalog
+     * @return number of bytes written
+     */
+    @Benchmark
+    public long write(final CatalogFixture fixture) {
+        final CountingOutputStream out = new CountingOutputStream();
+        DataFormatter.write(fixture.getMovies(), format, out);
+        return out.count;
+    }
+
+    /** Output stream that discards its input and counts the bytes. */
+    private static final class CountingOutputStream extends OutputStream {
+
+        /** Number of bytes written. */
+        private long count;
+
+        /**
+         * Count a single byte.
+         *
+         * @param b the byte
+         */
+        @Override
+        public void write(final int b) {
+            count++;
+        }
+
+        /**
+         * Count a range of bytes.
+         *
+         * @param b   the bytes
+         * @param off start of the range
+         * @param len length of the range
+         */
+        @Override
+        public void write(final byte[] b, final int off, final int len) {
+            count += len;
+        }
+    }
+}
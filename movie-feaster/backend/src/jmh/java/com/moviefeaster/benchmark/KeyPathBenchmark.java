@@ -0,0 +1,148 @@
+package com.moviefeaster.benchmark;
+
+import com.moviefeaster.model.Format;
+import com.moviefeaster.model.Movie;
+import com.moviefeaster.model.MovieFilterType;
+import com.moviefeaster.model.MovieSorterType;
+import com.moviefeaster.service.MovieModel;
+import com.moviefeaster.utils.DataFormatter;
+import com.moviefeaster.utils.SyntheticCatalogGenerator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.ByteArrayOutputStream;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks of the request paths the performance gate guards: search, sort, export and lookup by ID,
+ * all through {@link MovieModel} the way the controller calls it.
+ * The model is loaded from a synthetic catalog and never reads or writes a snapshot.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2, time = 1)
+@Measurement(iterations = 3, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class KeyPathBenchmark {
+
+    /** Seed of the catalog, so runs compare like with like. */
+    private static final long SEED = 42;
+
+    /** Number of IDs cycled through by {@link #getMovieById}. */
+    private static final int LOOKUP_IDS = 1024;
+
+    /** Milliseconds to wait for the model to load the catalog. */
+    private static final long LOAD_TIMEOUT_MILLIS = 60_000;
+
+    /** Number of movies in the catalog. */
+    @Param({"10000"})
+    private int size;
+
+    /** The model under test. */
+    private MovieModel model;
+
+    /** Filters of a typical search: a genre and a decade. */
+    private Map<MovieFilterType, Object> filters;
+
+    /** IDs looked up by {@link #getMovieById}, in random order. */
+    private int[] lookupIds;
+
+    /** Position in {@link #lookupIds}. */
+    private int lookupIndex;
+
+    /**
+     * Load the model once per trial.
+     *
+     * @throws InterruptedException if interrupted while the catalog loads
+     */
+    @Setup(Level.Trial)
+    public void setUp() throws InterruptedException {
+        final List<Movie> movies = new SyntheticCatalogGenerator(SEED).generate(size);
+        model = new MovieModel(() -> movies, null);
+        final long deadline = System.currentTimeMillis() + LOAD_TIMEOUT_MILLIS;
+        while (!model.isReady()) {
+            if (System.currentTimeMillis() > deadline) {
+                throw new IllegalStateException("Catalog did not load within " + LOAD_TIMEOUT_MILLIS + " ms");
+            }
+            Thread.sleep(10);
+        }
+
+        filters = new EnumMap<>(MovieFilterType.class);
+        filters.put(MovieFilterType.GENRE, movies.get(0).getGenres().get(0).name());
+        filters.put(MovieFilterType.YEAR_RANGE, new int[]{2000, 2009});
+
+        final SplittableRandom random = new SplittableRandom(SEED);
+        lookupIds = new int[LOOKUP_IDS];
+        for (int i = 0; i < LOOKUP_IDS; i++) {
+            lookupIds[i] = 1 + random.nextInt(size);
+        }
+    }
+
+    /**
+     * Stop the model's background worker.
+     */
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        model.shutdown();
+    }
+
+    /**
+     * Search by genre and decade, sorted by popularity.
+     *
+     * @return the matching movies
+     */
+    @Benchmark
+    public List<Movie> search() {
+        return model.searchByFilter(filters, MovieSorterType.RATING_DESC);
+    }
+
+    /**
+     * Sort the whole catalog by popularity, as a search without filters does.
+     *
+     * @return the sorted movies
+     */
+    @Benchmark
+    public List<Movie> sort() {
+        return model.searchByFilter(Collections.emptyMap(), MovieSorterType.RATING_DESC);
+    }
+
+    /**
+     * Export the whole catalog as JSON into memory, as the export endpoint does.
+     *
+     * @return number of bytes written
+     */
+    @Benchmark
+    public int export() {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        DataFormatter.write(model.getMovies(), Format.JSON, out);
+        return out.size();
+    }
+
+    /**
+     * Look up one movie by ID.
+     *
+     * @return the movie
+     */
+    @Benchmark
+    public Movie getMovieById() {
+        lookupIndex = (lookupIndex + 1) % LOOKUP_IDS;
+        return model.getMovieById(lookupIds[lookupIndex]);
+    }
+}
@@ -0,0 +1,146 @@
+package com.moviefeaster.benchmark;
+
+import com.moviefeaster.model.Movie;
+import com.moviefeaster.utils.MovieFilter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks of every single-criterion filter in {@link MovieFilter}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MovieFilterBenchmark {
+
+    /**
+     * Filter by title keyword.
+     *
+     * @param fixture the catalog
+     * @return the matching movies
+     */
+    @Benchmark
+    public List<Movie> filterByTitle(final CatalogFixture fixture) {
+        return MovieFilter.filterByTitle(fixture.getMovies(), fixture.getTitleKeyword());
+    }
+
+    /**
+     * Filter by exact title.
+     *
+     * @param fixture the catalog
+     * @return the matching movies
+     */
+    @Benchmark
+    public List<Movie> filterByExactTitle(final CatalogFixture fixture) {
+        return MovieFilter.filterByExactTitle(fixture.getMovies(), fixture.getExactTitle());
+    }
+
+    /**
+     * Filter by director.
+     *
+     * @param fixture the catalog
+     * @return the matching movies
+     */
+    @Benchmark
+    public List<Movie> filterByDirector(final CatalogFixture fixture) {
+        return MovieFilter.filterByDirector(fixture.getMovies(), fixture.getDirector());
+    }
+
+    /**
+     * Filter by release year.
+     *
+     * @param fixture the catalog
+     * @return the matching movies
+     */
+    @Benchmark
+    public List<Movie> filterByYear(final CatalogFixture fixture) {
+        return MovieFilter.filterByYear(fixture.getMovies(), 2010);
+    }
+
+    /**
+     * Filter by a decade of release years.
+     *
+     * @param fixture the catalog
+     * @return the matching movies
+     */
+    @Benchmark
+    public List<Movie> filterByYearRange(final CatalogFixture fixture) {
+        return MovieFilter.filterByYearRange(fixture.getMovies(), 2000, 2009);
+    }
+
+    /**
+     * Filter by minimum popularity.
+     *
+     * @param fixture the catalog
+     * @return the matching movies
+     */
+    @Benchmark
+    public List<Movie> filterByMinRating(final CatalogFixture fixture) {
+        return MovieFilter.filterByMinRating(fixture.getMovies(), 8.0);
+    }
+
+    /**
+     * Filter by maximum popularity.
+     *
+     * @param fixture the catalog
+     * @return the matching movies
+     */
+    @Benchmark
+    public List<Movie> filterByMaxRating(final CatalogFixture fixture) {
+        return MovieFilter.filterByMaxRating(fixture.getMovies(), 8.0);
+    }
+
+    /**
+     * Filter by genre.
+     *
+     * @param fixture the catalog
+     * @return the matching movies
+     */
+    @Benchmark
+    public List<Movie> filterByGenre(final CatalogFixture fixture) {
+        return MovieFilter.filterByGenre(fixture.getMovies(), fixture.getGenre());
+    }
+
+    /**
+     * Filter by actor.
+     *
+     * @param fixture the catalog
+     * @return the matching movies
+     */
+    @Benchmark
+    public List<Movie> filterByActor(final CatalogFixture fixture) {
+        return MovieFilter.filterByActor(fixture.getMovies(), fixture.getActor());
+    }
+
+    /**
+     * Filter by comment keyword.
+     *
+     * @param fixture the catalog
+     * @return the matching movies
+     */
+    @Benchmark
+    public List<Movie> filterByCommentKeyword(final CatalogFixture fixture) {
+        return MovieFilter.filterByCommentKeyword(fixture.getMovies(), fixture.getCommentKeyword());
+    }
+
+    /**
+     * Filter by minimum average in-app rating.
+     *
+     * @param fixture the catalog
+     * @return the matching movies
+     */
+    @Benchmark
+    public List<Movie> filterByMinInAppRating(final CatalogFixture fixture) {
+        return MovieFilter.filterByMinInAppRating(fixture.getMovies(), 3.0);
+    }
+}
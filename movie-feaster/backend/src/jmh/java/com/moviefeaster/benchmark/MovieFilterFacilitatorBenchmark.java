@@ -0,0 +1,97 @@
+package com.moviefeaster.benchmark;
+
+import com.moviefeaster.model.Movie;
+import com.moviefeaster.model.MovieFilterType;
+import com.moviefeaster.utils.MovieFilterFacilitator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks of {@link MovieFilterFacilitator#filter} with filter maps of increasing size,
+ * in the order the search endpoint builds them.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MovieFilterFacilitatorBenchmark {
+
+    /** A broad genre and year range filter. */
+    private Map<MovieFilterType, Object> broad;
+
+    /** Genre, year range and popularity bounds. */
+    private Map<MovieFilterType, Object> numeric;
+
+    /** Text, people and numeric filters together. */
+    private Map<MovieFilterType, Object> combined;
+
+    /**
+     * Build the filter maps from values that occur in the catalog.
+     *
+     * @param fixture the catalog
+     */
+    @Setup(Level.Trial)
+    public void setUp(final CatalogFixture fixture) {
+        broad = new EnumMap<>(MovieFilterType.class);
+        broad.put(MovieFilterType.GENRE, fixture.getGenre());
+        broad.put(MovieFilterType.YEAR_RANGE, new int[]{1990, 2020});
+
+        numeric = new EnumMap<>(broad);
+        numeric.put(MovieFilterType.MIN_RATING, 5.0);
+        numeric.put(MovieFilterType.MAX_RATING, 10.0);
+
+        combined = new EnumMap<>(numeric);
+        combined.put(MovieFilterType.TITLE_KEYWORD, fixture.getTitleKeyword());
+        combined.put(MovieFilterType.ACTOR, fixture.getActor());
+        combined.put(MovieFilterType.MIN_INAPP_RATING, 1.0);
+    }
+
+    /**
+     * Apply two broad filters.
+     *
+     * @param fixture the catalog
+     * @return the matching movies
+     */
+    @Benchmark
+    public List<Movie> twoFilters(final CatalogFixture fixture) {
+        return MovieFilterFacilitator.filter(fixture.getMovies(), broad);
+    }
+
+    /**
+     * Apply four filters.
+     *
+     * @param fixture the catalog
+     * @return the matching movies
+     */
+    @Benchmark
+    public List<Movie> fourFilters(final CatalogFixture fixture) {
+        return MovieFilterFacilitator.filter(fixture.getMovies(), numeric);
+    }
+
+    /**
+     * Apply seven filters.
+     *
+     * @param fixture the catalog
+     * @return the matching movies
+     */
+    @Benchmark
+    public List<Movie> sevenFilters(final CatalogFixture fixture) {
+        return MovieFilterFacilitator.filter(fixture.getMovies(), combined);
+    }
+}
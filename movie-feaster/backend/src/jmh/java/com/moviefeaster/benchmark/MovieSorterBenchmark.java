@@ -0,0 +1,128 @@
+package com.moviefeaster.benchmark;
+
+import com.moviefeaster.model.Movie;
+import com.moviefeaster.utils.MovieSorter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks of every sort in {@link MovieSorter}. The synthetic catalog is in ID order,
+ * which is unrelated to any sort key.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MovieSorterBenchmark {
+
+    /** Number of movies taken by {@link #getTopN}. */
+    private static final int TOP_N = 50;
+
+    /**
+     * Sort by title, A to Z.
+     *
+     * @param fixture the catalog
+     * @return the sorted movies
+     */
+    @Benchmark
+    public List<Movie> sortByTitle(final CatalogFixture fixture) {
+        return MovieSorter.sortByTitle(fixture.getMovies());
+    }
+
+    /**
+     * Sort by title, Z to A.
+     *
+     * @param fixture the catalog
+     * @return the sorted movies
+     */
+    @Benchmark
+    public List<Movie> sortByTitleDescending(final CatalogFixture fixture) {
+        return MovieSorter.sortByTitleDescending(fixture.getMovies());
+    }
+
+    /**
+     * Sort by popularity, highest first.
+     *
+     * @param fixture the catalog
+     * @return the sorted movies
+     */
+    @Benchmark
+    public List<Movie> sortByRating(final CatalogFixture fixture) {
+        return MovieSorter.sortByRating(fixture.getMovies());
+    }
+
+    /**
+     * Sort by popularity, lowest first.
+     *
+     * @param fixture the catalog
+     * @return the sorted movies
+     */
+    @Benchmark
+    public List<Movie> sortByRatingAscending(final CatalogFixture fixture) {
+        return MovieSorter.sortByRatingAscending(fixture.getMovies());
+    }
+
+    /**
+     * Sort by release year, newest first.
+     *
+     * @param fixture the catalog
+     * @return the sorted movies
+     */
+    @Benchmark
+    public List<Movie> sortByYear(final CatalogFixture fixture) {
+        return MovieSorter.sortByYear(fixture.getMovies());
+    }
+
+    /**
+     * Sort by release year, oldest first.
+     *
+     * @param fixture the catalog
+     * @return the sorted movies
+     */
+    @Benchmark
+    public List<Movie> sortByYearAscending(final CatalogFixture fixture) {
+        return MovieSorter.sortByYearAscending(fixture.getMovies());
+    }
+
+    /**
+     * Sort by average in-app rating, highest first.
+     *
+     * @param fixture the catalog
+     * @return the sorted movies
+     */
+    @Benchmark
+    public List<Movie> sortByInAppRating(final CatalogFixture fixture) {
+        return MovieSorter.sortByInAppRating(fixture.getMovies());
+    }
+
+    /**
+     * Sort by average in-app rating, lowest first.
+     *
+     * @param fixture the catalog
+     * @return the sorted movies
+     */
+    @Benchmark
+    public List<Movie> sortByInAppRatingAscending(final CatalogFixture fixture) {
+        return MovieSorter.sortByInAppRatingAscending(fixture.getMovies());
+    }
+
+    /**
+     * Take the first page of a catalog.
+     *
+     * @param fixture the catalog
+     * @return the first movies
+     */
+    @Benchmark
+    public List<Movie> getTopN(final CatalogFixture fixture) {
+        return MovieSorter.getTopN(fixture.getMovies(), TOP_N);
+    }
+}
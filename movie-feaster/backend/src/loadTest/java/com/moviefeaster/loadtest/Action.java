@@ -0,0 +1,163 @@
+package com.moviefeaster.loadtest;
+
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * A user action of the frontend and the requests it sends, in order.
+ */
+enum Action {
+    /** Opening the home page: the genre list and the full movie list. */
+    HOME,
+
+    /** Submitting the home page search form with one to three filters. */
+    SEARCH,
+
+    /** Opening the movie list page with a sort selected: a search followed by a sort of the same filters. */
+    SEARCH_AND_SORT,
+
+    /** Opening a movie's detail page. */
+    DETAIL,
+
+    /** Downloading the displayed list, with its filters and sort, as JSON, XML or CSV. */
+    EXPORT;
+
+    /** Sort types offered by the movie list page. */
+    private static final String[] SORT_TYPES = {
+        "title_asc", "title_desc", "year_asc", "year_desc", "rating_asc", "rating_desc",
+    };
+
+    /** Formats offered by the download button. */
+    private static final String[] EXPORT_FORMATS = {"json", "xml", "csv"};
+
+    /**
+     * Build the requests of one occurrence of the action.
+     *
+     * @param sample values of the catalog under test
+     * @param random the random source
+     * @return the requests, sent one after another
+     */
+    List<Call> calls(final CatalogSample sample, final SplittableRandom random) {
+        final List<Call> calls = new ArrayList<>(2);
+        switch (this) {
+            case HOME -> {
+                calls.add(new Call("genres", "/api/movies/genres"));
+                calls.add(new Call("list", "/api/movies"));
+            }
+            case SEARCH -> calls.add(new Call("search", "/api/movies/search?" + searchQuery(sample, random)));
+            case SEARCH_AND_SORT -> {
+                final String query = searchQuery(sample, random);
+                calls.add(new Call("search", "/api/movies/search?" + query));
+                calls.add(new Call("sort", "/api/movies/sort?" + withParam(query, "sortType", sortType(random))));
+            }
+            case DETAIL -> calls.add(new Call("detail", "/api/movies/" + sample.movieId(random)));
+            case EXPORT -> {
+                final String query = withParam(searchQuery(sample, random), "sortType", sortType(random));
+                calls.add(new Call("export", "/api/movies/export?"
+                        + withParam(query, "format", EXPORT_FORMATS[random.nextInt(EXPORT_FORMATS.length)])));
+            }
+            default -> throw new IllegalStateException("Unexpected action: " + this);
+        }
+        return calls;
+    }
+
+    /**
+     * Build a search query the way the home page form does: genre and year are the most used filters.
+     *
+     * @param sample values of the catalog under test
+     * @param random the random source
+     * @return the query string
+     */
+    private static String searchQuery(final CatalogSample sample, final SplittableRandom random) {
+        final List<String> params = new ArrayList<>(3);
+        if (random.nextDouble() < 0.6) {
+            params.add("genre=" + sample.genre(random));
+        }
+        if (random.nextDouble() < 0.4) {
+            params.add("year=" + sample.year(random));
+        }
+        final double text = random.nextDouble();
+        if (text < 0.3) {
+            params.add("title=" + encode(sample.titleWord(random)));
+        } else if (text < 0.4) {
+            params.add("director=" + encode(sample.director(random)));
+        } else if (text < 0.5) {
+            params.add("cast=" + encode(sample.actor(random)));
+        }
+        return String.join("&", params);
+    }
+
+    /**
+     * Pick a sort type offered by the movie list page.
+     *
+     * @param random the random source
+     * @return the sort type
+     */
+    private static String sortType(final SplittableRandom random) {
+        return SORT_TYPES[random.nextInt(SORT_TYPES.length)];
+    }
+
+    /**
+     * Append a parameter to a query string.
+     *
+     * @param query the query string, possibly empty
+     * @param name  the parameter name
+     * @param value the parameter value, already encoded
+     * @return the extended query string
+     */
+    private static String withParam(final String query, final String name, final String value) {
+        return (query.isEmpty() ? "" : query + "&") + name + "=" + value;
+    }
+
+    /**
+     * URL-encode a query value.
+     *
+     * @param value the value
+     * @return the encoded value
+     */
+    private static String encode(final String value) {
+        return URLEncoder.encode(value, StandardCharsets.UTF_8);
+    }
+
+    /** One HTTP GET of an action. */
+    static final class Call {
+
+        /** Name the latency is reported under. */
+        private final String endpoint;
+
+        /** Path and query, relative to the app's base URL. */
+        private final String path;
+
+        /**
+         * Create a call.
+         *
+         * @param endpoint name the latency is reported under
+         * @param path     path and query, relative to the app's base URL
+         */
+        Call(final String endpoint, final String path) {
+            this.endpoint = endpoint;
+            this.path = path;
+        }
+
+        /**
+         * Gets the name the latency is reported under.
+         *
+         * @return the endpoint name
+         */
+        String getEndpoint() {
+            return endpoint;
+        }
+
+        /**
+         * Gets the path and query.
+         *
+         * @return the path and query
+         */
+        String getPath() {
+            return path;
+        }
+    }
+}
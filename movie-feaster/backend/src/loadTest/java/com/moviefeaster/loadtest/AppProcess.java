@@ -0,0 +1,153 @@
+package com.moviefeaster.loadtest;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The app under test, started from its boot jar in a separate JVM with a synthetic catalog,
+ * on a free port and without snapshots.
+ */
+final class AppProcess implements AutoCloseable {
+
+    /** Milliseconds between readiness checks. */
+    private static final long POLL_MILLIS = 250;
+
+    /** Seconds to wait for the process to exit before killing it. */
+    private static final long STOP_SECONDS = 10;
+
+    /** The app's JVM. */
+    private final Process process;
+
+    /** Root URL of the app, e.g. {@code http://127.0.0.1:53124}. */
+    private final String baseUrl;
+
+    /**
+     * Wrap a started process.
+     *
+     * @param process the app's JVM
+     * @param baseUrl root URL of the app
+     */
+    private AppProcess(final Process process, final String baseUrl) {
+        this.process = process;
+        this.baseUrl = baseUrl;
+    }
+
+    /**
+     * Start the app and wait until its catalog is loaded.
+     *
+     * @param jar            the boot jar
+     * @param catalogSize    number of synthetic movies
+     * @param seed           seed of the synthetic catalog
+     * @param jvmArgs        extra JVM arguments, e.g. a heap size, separated by spaces
+     * @param log            file receiving the app's output
+     * @param startupTimeout how long to wait for the catalog
+     * @return the running app
+     * @throws IOException          if the app cannot be started or does not become ready in time
+     * @throws InterruptedException if interrupted while waiting for the app
+     */
+    static AppProcess start(final Path jar, final int catalogSize, final long seed, final String jvmArgs,
+                            final Path log, final Duration startupTimeout)
+            throws IOException, InterruptedException {
+        final int port = freePort();
+        final ProcessBuilder builder = new ProcessBuilder();
+        builder.command().add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+        for (final String arg : jvmArgs.trim().split("\\s+")) {
+            if (!arg.isEmpty()) {
+                builder.command().add(arg);
+            }
+        }
+        builder.command().add("-jar");
+        builder.command().add(jar.toString());
+        builder.command().add("--server.port=" + port);
+
+        final Map<String, String> env = builder.environment();
+        env.put("MOVIE_SOURCE", "synthetic");
+        env.put("SYNTHETIC_SIZE", String.valueOf(catalogSize));
+        env.put("SYNTHETIC_SEED", String.valueOf(seed));
+        env.put("SNAPSHOT_PATH", "");
+        builder.redirectErrorStream(true).redirectOutput(log.toFile());
+
+        final AppProcess app = new AppProcess(builder.start(), "http://127.0.0.1:" + port);
+        try {
+            app.awaitReady(startupTimeout);
+        } catch (IOException | InterruptedException | RuntimeException e) {
+            app.close();
+            throw e;
+        }
+        return app;
+    }
+
+    /**
+     * Gets the root URL of the app.
+     *
+     * @return the root URL
+     */
+    String getBaseUrl() {
+        return baseUrl;
+    }
+
+    /**
+     * Poll the status endpoint until it reports the catalog as loaded.
+     *
+     * @param timeout how long to wait
+     * @throws IOException          if the app exits or does not become ready in time
+     * @throws InterruptedException if interrupted while waiting
+     */
+    private void awaitReady(final Duration timeout) throws IOException, InterruptedException {
+        final HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(1)).build();
+        final HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + "/api/movies/status"))
+                .timeout(Duration.ofSeconds(2)).build();
+        final long deadline = System.nanoTime() + timeout.toNanos();
+
+        while (System.nanoTime() < deadline) {
+            if (!process.isAlive()) {
+                throw new IOException("App exited with code " + process.exitValue() + " during startup");
+            }
+            try {
+                if (client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() == 200) {
+                    return;
+                }
+            } catch (IOException e) {
+                // not listening yet
+            }
+            Thread.sleep(POLL_MILLIS);
+        }
+        throw new IOException("App did not load its catalog within " + timeout.toSeconds() + " s");
+    }
+
+    /**
+     * Find a free local port.
+     *
+     * @return the port
+     * @throws IOException if no port can be bound
+     */
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+
+    /**
+     * Stop the app, killing it if it does not exit in time.
+     */
+    @Override
+    public void close() {
+        process.destroy();
+        try {
+            if (!process.waitFor(STOP_SECONDS, TimeUnit.SECONDS)) {
+                process.destroyForcibly();
+            }
+        } catch (InterruptedException e) {
+            process.destroyForcibly();
+            Thread.currentThread().interrupt();
+        }
+    }
+}
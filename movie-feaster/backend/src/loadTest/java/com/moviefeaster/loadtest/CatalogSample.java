@@ -0,0 +1,119 @@
+package com.moviefeaster.loadtest;
+
+import com.moviefeaster.model.Genre;
+import com.moviefeaster.model.Movie;
+import com.moviefeaster.utils.SyntheticCatalogGenerator;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Request values drawn from the synthetic catalog the app under test serves, so searches and lookups
+ * hit real movies, directors and actors. Movies are regenerated from the same seed, one index at a time,
+ * so sampling a catalog of millions does not require generating all of it.
+ */
+final class CatalogSample {
+
+    /** Number of movies sampled. */
+    private static final int SAMPLE_SIZE = 1000;
+
+    /** Movie IDs. */
+    private final int[] movieIds;
+
+    /** Single words of titles. */
+    private final List<String> titleWords = new ArrayList<>();
+
+    /** Director names. */
+    private final List<String> directors = new ArrayList<>();
+
+    /** Actor names. */
+    private final List<String> actors = new ArrayList<>();
+
+    /** Release years. */
+    private final int[] years;
+
+    /**
+     * Sample a synthetic catalog.
+     *
+     * @param catalogSize number of movies in the catalog
+     * @param seed        seed of the catalog
+     */
+    CatalogSample(final int catalogSize, final long seed) {
+        final SyntheticCatalogGenerator generator = new SyntheticCatalogGenerator(seed);
+        final SplittableRandom random = new SplittableRandom(seed);
+        final int size = Math.min(SAMPLE_SIZE, catalogSize);
+        movieIds = new int[size];
+        years = new int[size];
+
+        for (int i = 0; i < size; i++) {
+            final Movie movie = generator.generateMovie(random.nextInt(catalogSize));
+            movieIds[i] = movie.getMovieId();
+            years[i] = movie.getYear();
+            titleWords.add(movie.getTitle().split(" ")[movie.getTitle().startsWith("The ") ? 1 : 0]);
+            directors.add(movie.getDirectors().get(0));
+            actors.add(movie.getCastings().get(0));
+        }
+    }
+
+    /**
+     * Pick a movie ID.
+     *
+     * @param random the random source
+     * @return a movie ID in the catalog
+     */
+    int movieId(final SplittableRandom random) {
+        return movieIds[random.nextInt(movieIds.length)];
+    }
+
+    /**
+     * Pick a title keyword.
+     *
+     * @param random the random source
+     * @return a word that appears in some titles
+     */
+    String titleWord(final SplittableRandom random) {
+        return titleWords.get(random.nextInt(titleWords.size()));
+    }
+
+    /**
+     * Pick a director.
+     *
+     * @param random the random source
+     * @return a director of some movies
+     */
+    String director(final SplittableRandom random) {
+        return directors.get(random.nextInt(directors.size()));
+    }
+
+    /**
+     * Pick an actor.
+     *
+     * @param random the random source
+     * @return an actor in some movies
+     */
+    String actor(final SplittableRandom random) {
+        return actors.get(random.nextInt(actors.size()));
+    }
+
+    /**
+     * Pick a release year.
+     *
+     * @param random the random source
+     * @return a year some movies were released in
+     */
+    int year(final SplittableRandom random) {
+        return years[random.nextInt(years.length)];
+    }
+
+    /**
+     * Pick a genre.
+     *
+     * @param random the random source
+     * @return a genre name as the search endpoint expects it
+     */
+    String genre(final SplittableRandom random) {
+        final Genre[] genres = Genre.values();
+        return genres[random.nextInt(genres.length)].name();
+    }
+}
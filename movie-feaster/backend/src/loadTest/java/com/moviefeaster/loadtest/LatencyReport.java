@@ -0,0 +1,168 @@
+package com.moviefeaster.loadtest;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latencies of one load step, recorded per endpoint into HdrHistograms in microseconds.
+ * Recording is thread-safe; the report is read once the step has finished.
+ */
+final class LatencyReport {
+
+    /** Significant decimal digits kept by the histograms. */
+    private static final int SIGNIFICANT_DIGITS = 3;
+
+    /** Microseconds per millisecond, for printing. */
+    private static final double MICROS_PER_MILLI = 1000.0;
+
+    /** Percentiles printed in the summary. */
+    private static final double[] PERCENTILES = {50, 90, 99, 99.9};
+
+    /** Recorders by endpoint name. */
+    private final Map<String, Recorder> recorders = new ConcurrentHashMap<>();
+
+    /** Failed requests by endpoint name. */
+    private final Map<String, LongAdder> errors = new ConcurrentHashMap<>();
+
+    /** Actions not started because too many were in flight. */
+    private final LongAdder dropped = new LongAdder();
+
+    /**
+     * Record a completed request.
+     *
+     * @param endpoint      the endpoint name
+     * @param latencyMicros time from the intended send to the last byte of the response
+     * @param success       whether the response had a 2xx status
+     */
+    void record(final String endpoint, final long latencyMicros, final boolean success) {
+        recorders.computeIfAbsent(endpoint, name -> new Recorder(SIGNIFICANT_DIGITS)).recordValue(latencyMicros);
+        if (!success) {
+            errors.computeIfAbsent(endpoint, name -> new LongAdder()).increment();
+        }
+    }
+
+    /**
+     * Record a request that failed without a response.
+     *
+     * @param endpoint the endpoint name
+     */
+    void recordFailure(final String endpoint) {
+        errors.computeIfAbsent(endpoint, name -> new LongAdder()).increment();
+    }
+
+    /**
+     * Record an action that was not started.
+     */
+    void recordDropped() {
+        dropped.increment();
+    }
+
+    /**
+     * Take the histograms of all endpoints. Call once, after the step has finished.
+     *
+     * @return histograms by endpoint name, in name order
+     */
+    Map<String, Histogram> histograms() {
+        final Map<String, Histogram> histograms = new TreeMap<>();
+        recorders.forEach((name, recorder) -> histograms.put(name, recorder.getIntervalHistogram()));
+        return histograms;
+    }
+
+    /**
+     * Gets the number of failed requests of an endpoint.
+     *
+     * @param endpoint the endpoint name
+     * @return the number of failures
+     */
+    long errors(final String endpoint) {
+        final LongAdder count = errors.get(endpoint);
+        return count == null ? 0 : count.sum();
+    }
+
+    /**
+     * Gets the number of failed requests of all endpoints.
+     *
+     * @return the number of failures
+     */
+    long totalErrors() {
+        return errors.values().stream().mapToLong(LongAdder::sum).sum();
+    }
+
+    /**
+     * Gets the number of actions not started.
+     *
+     * @return the number of dropped actions
+     */
+    long dropped() {
+        return dropped.sum();
+    }
+
+    /**
+     * Print one summary line per endpoint and one for all of them together.
+     *
+     * @param histograms histograms by endpoint name
+     * @param seconds    length of the measured step
+     * @param out        where to print
+     * @return the histogram of all endpoints together
+     */
+    Histogram print(final Map<String, Histogram> histograms, final double seconds, final PrintStream out) {
+        out.printf("  %-8s %8s %8s %7s %9s %9s %9s %9s %9s%n",
+                "endpoint", "count", "req/s", "errors", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms");
+        final Histogram all = new Histogram(SIGNIFICANT_DIGITS);
+        histograms.forEach((name, histogram) -> {
+            printLine(name, histogram, errors(name), seconds, out);
+            all.add(histogram);
+        });
+        printLine("all", all, totalErrors(), seconds, out);
+        return all;
+    }
+
+    /**
+     * Print the summary line of one histogram.
+     *
+     * @param name      the endpoint name
+     * @param histogram its latencies
+     * @param failures  its failed requests
+     * @param seconds   length of the measured step
+     * @param out       where to print
+     */
+    private static void printLine(final String name, final Histogram histogram, final long failures,
+                                  final double seconds, final PrintStream out) {
+        final StringBuilder line = new StringBuilder(String.format("  %-8s %8d %8.1f %7d",
+                name, histogram.getTotalCount(), histogram.getTotalCount() / seconds, failures));
+        for (final double percentile : PERCENTILES) {
+            line.append(String.format(" %9.2f", histogram.getValueAtPercentile(percentile) / MICROS_PER_MILLI));
+        }
+        line.append(String.format(" %9.2f", histogram.getMaxValue() / MICROS_PER_MILLI));
+        out.println(line);
+    }
+
+    /**
+     * Write the full percentile distribution of each endpoint in HdrHistogram's {@code .hgrm} format,
+     * in milliseconds, so it can be plotted with the HdrHistogram plotter.
+     *
+     * @param histograms histograms by endpoint name
+     * @param dir        output directory
+     * @param prefix     file name prefix, e.g. the profile and rate
+     * @throws IOException if a file cannot be written
+     */
+    static void writeDistributions(final Map<String, Histogram> histograms, final Path dir, final String prefix)
+            throws IOException {
+        Files.createDirectories(dir);
+        for (final Map.Entry<String, Histogram> entry : histograms.entrySet()) {
+            final Path file = dir.resolve(prefix + "-" + entry.getKey() + ".hgrm");
+            try (PrintStream out = new PrintStream(Files.newOutputStream(file), false, "UTF-8")) {
+                entry.getValue().outputPercentileDistribution(out, MICROS_PER_MILLI);
+            }
+        }
+    }
+}
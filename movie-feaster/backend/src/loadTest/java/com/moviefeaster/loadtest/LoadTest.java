@@ -0,0 +1,262 @@
+package com.moviefeaster.loadtest;
+
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Phaser;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Open-loop HTTP load generator for the movie endpoints.
+ * Actions of a {@link WorkloadProfile} arrive as a Poisson process at each configured rate, whether or not
+ * earlier requests have completed, so a slow server cannot slow the load down and hide its own latency.
+ * The first request of an action is timed from its scheduled arrival, which includes any queueing delay.
+ * Each rate step prints per-endpoint percentiles and writes HdrHistogram distributions; the steps together
+ * give the throughput/latency curve, also written as CSV.
+ *
+ * <p>Configured through system properties, which the Gradle {@code loadTest} task forwards from
+ * {@code -PloadTest.<name>=<value>}:
+ * <ul>
+ *     <li>{@code url}: app to load; blank starts {@code appJar} with a synthetic catalog</li>
+ *     <li>{@code appJar}, {@code appJvmArgs}: boot jar and JVM arguments of the started app</li>
+ *     <li>{@code catalogSize}, {@code seed}: synthetic catalog, also used to pick request values</li>
+ *     <li>{@code profile}: browse, search, export or mixed</li>
+ *     <li>{@code rates}: comma separated actions per second, one step each</li>
+ *     <li>{@code warmup}, {@code duration}: seconds of unrecorded and recorded load per step</li>
+ *     <li>{@code maxInFlight}: actions in flight beyond which new arrivals are dropped and counted</li>
+ *     <li>{@code resultsDir}: where distributions and the summary are written</li>
+ * </ul>
+ */
+public final class LoadTest {
+
+    /** Prefix of the configuration properties. */
+    private static final String PREFIX = "loadTest.";
+
+    /** Timeout of a single request. */
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+
+    /** How long the started app may take to load its catalog. */
+    private static final Duration STARTUP_TIMEOUT = Duration.ofMinutes(5);
+
+    /** Seconds to wait for in-flight actions at the end of a step. */
+    private static final long DRAIN_SECONDS = 60;
+
+    /** Microseconds per millisecond, for printing. */
+    private static final double MICROS_PER_MILLI = 1000.0;
+
+    /** Private constructor preventing instantiation. */
+    private LoadTest() {
+        // Prevent instantiation
+    }
+
+    /**
+     * Run the load test.
+     *
+     * @param args unused; see the class description for the configuration
+     * @throws IOException          if the app cannot be started or results cannot be written
+     * @throws InterruptedException if interrupted while waiting for requests
+     */
+    public static void main(final String[] args) throws IOException, InterruptedException {
+        final WorkloadProfile profile = WorkloadProfile.fromValue(property("profile", "mixed"));
+        if (profile == null) {
+            throw new IllegalArgumentException("Unknown profile " + property("profile", "")
+                    + "; use browse, search, export or mixed");
+        }
+        final int catalogSize = Integer.parseInt(property("catalogSize", "10000"));
+        final long seed = Long.parseLong(property("seed", "42"));
+        final Duration warmup = Duration.ofSeconds(Long.parseLong(property("warmup", "10")));
+        final Duration duration = Duration.ofSeconds(Long.parseLong(property("duration", "30")));
+        final int maxInFlight = Integer.parseInt(property("maxInFlight", "512"));
+        final Path resultsDir = Path.of(property("resultsDir", "build/results/loadtest"));
+        final List<Double> rates = new ArrayList<>();
+        for (final String rate : property("rates", "25,50,100,200").split(",")) {
+            rates.add(Double.parseDouble(rate.trim()));
+        }
+
+        Files.createDirectories(resultsDir);
+        final String url = property("url", "");
+        final AppProcess app = url.isBlank()
+                ? AppProcess.start(Path.of(property("appJar", "")), catalogSize, seed,
+                        property("appJvmArgs", "-Xmx2g"), resultsDir.resolve("app.log"), STARTUP_TIMEOUT)
+                : null;
+
+        try {
+            final String baseUrl = app == null ? url.replaceAll("/+$", "") : app.getBaseUrl();
+            final CatalogSample sample = new CatalogSample(catalogSize, seed);
+            final HttpClient client = HttpClient.newBuilder()
+                    .version(HttpClient.Version.HTTP_1_1)
+                    .connectTimeout(Duration.ofSeconds(5))
+                    .build();
+            final SplittableRandom random = new SplittableRandom(seed);
+            final List<String> curve = new ArrayList<>();
+            curve.add("profile,target_rps,achieved_rps,requests,errors,dropped,p50_ms,p90_ms,p99_ms,p999_ms,max_ms");
+
+            System.out.printf("Load testing %s with the %s profile, %d movies%n",
+                    baseUrl, profile.getValue(), catalogSize);
+            for (final double rate : rates) {
+                if (!warmup.isZero()) {
+                    runStep(client, baseUrl, profile, sample, random, rate, warmup, maxInFlight, new LatencyReport());
+                }
+                final LatencyReport report = new LatencyReport();
+                runStep(client, baseUrl, profile, sample, random, rate, duration, maxInFlight, report);
+
+                System.out.printf("%n%.0f actions/s for %d s (%d dropped)%n", rate, duration.toSeconds(),
+                        report.dropped());
+                final Map<String, Histogram> histograms = report.histograms();
+                final Histogram all = report.print(histograms, duration.toSeconds(), System.out);
+                final String prefix = String.format(Locale.ROOT, "%s-%.0frps", profile.getValue(), rate);
+                LatencyReport.writeDistributions(histograms, resultsDir, prefix);
+                curve.add(String.format(Locale.ROOT, "%s,%.0f,%.1f,%d,%d,%d,%.2f,%.2f,%.2f,%.2f,%.2f",
+                        profile.getValue(), rate, all.getTotalCount() / (double) duration.toSeconds(),
+                        all.getTotalCount(), report.totalErrors(), report.dropped(),
+                        millis(all, 50), millis(all, 90), millis(all, 99), millis(all, 99.9),
+                        all.getMaxValue() / MICROS_PER_MILLI));
+            }
+
+            final Path summary = resultsDir.resolve(profile.getValue() + "-curve.csv");
+            Files.write(summary, curve, StandardCharsets.UTF_8);
+            System.out.printf("%nThroughput/latency curve written to %s%n", summary);
+        } finally {
+            if (app != null) {
+                app.close();
+            }
+        }
+    }
+
+    /**
+     * Offer actions at the given rate for the given time, then wait for those in flight.
+     *
+     * @param client      the HTTP client
+     * @param baseUrl     root URL of the app
+     * @param profile     the action mix
+     * @param sample      values of the catalog under test
+     * @param random      the random source of arrivals and actions
+     * @param rate        mean actions per second
+     * @param duration    how long to offer actions
+     * @param maxInFlight actions in flight beyond which new arrivals are dropped
+     * @param report      receives the latencies
+     * @throws InterruptedException if interrupted while waiting
+     */
+    private static void runStep(final HttpClient client, final String baseUrl, final WorkloadProfile profile,
+                                final CatalogSample sample, final SplittableRandom random, final double rate,
+                                final Duration duration, final int maxInFlight, final LatencyReport report)
+            throws InterruptedException {
+        final Semaphore slots = new Semaphore(maxInFlight);
+        final Phaser inFlight = new Phaser(1);
+        final double meanIntervalNanos = TimeUnit.SECONDS.toNanos(1) / rate;
+        long arrival = System.nanoTime();
+        final long end = arrival + duration.toNanos();
+
+        while (arrival < end) {
+            parkUntil(arrival);
+            final List<Action.Call> calls = profile.next(random).calls(sample, random);
+            if (slots.tryAcquire()) {
+                inFlight.register();
+                send(client, baseUrl, calls, 0, arrival, report).whenComplete((done, error) -> {
+                    slots.release();
+                    inFlight.arriveAndDeregister();
+                });
+            } else {
+                report.recordDropped();
+            }
+            arrival += (long) (-Math.log(1 - random.nextDouble()) * meanIntervalNanos);
+        }
+
+        try {
+            inFlight.awaitAdvanceInterruptibly(inFlight.arrive(), DRAIN_SECONDS, TimeUnit.SECONDS);
+        } catch (TimeoutException e) {
+            System.out.printf("%d actions still in flight after %d s%n",
+                    inFlight.getUnarrivedParties(), DRAIN_SECONDS);
+        }
+    }
+
+    /**
+     * Send the calls of an action one after another, stopping at the first failure as the frontend does.
+     *
+     * @param client      the HTTP client
+     * @param baseUrl     root URL of the app
+     * @param calls       the calls of the action
+     * @param index       the call to send next
+     * @param startNanos  when the call was due to be sent
+     * @param report      receives the latencies
+     * @return completes when the action has finished
+     */
+    private static CompletableFuture<Void> send(final HttpClient client, final String baseUrl,
+                                                final List<Action.Call> calls, final int index,
+                                                final long startNanos, final LatencyReport report) {
+        if (index == calls.size()) {
+            return CompletableFuture.completedFuture(null);
+        }
+        final Action.Call call = calls.get(index);
+        final HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + call.getPath()))
+                .timeout(REQUEST_TIMEOUT)
+                .GET()
+                .build();
+
+        return client.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+                .handle((response, error) -> {
+                    final boolean success = error == null && response.statusCode() / 100 == 2;
+                    if (error == null) {
+                        report.record(call.getEndpoint(), (System.nanoTime() - startNanos) / 1000, success);
+                    } else {
+                        report.recordFailure(call.getEndpoint());
+                    }
+                    return success;
+                })
+                .thenCompose(success -> success
+                        ? send(client, baseUrl, calls, index + 1, System.nanoTime(), report)
+                        : CompletableFuture.completedFuture(null));
+    }
+
+    /**
+     * Sleep until a point in time.
+     *
+     * @param deadline the {@link System#nanoTime()} to wake at
+     */
+    private static void parkUntil(final long deadline) {
+        long remaining = deadline - System.nanoTime();
+        while (remaining > 0) {
+            LockSupport.parkNanos(remaining);
+            remaining = deadline - System.nanoTime();
+        }
+    }
+
+    /**
+     * A percentile in milliseconds.
+     *
+     * @param histogram  latencies in microseconds
+     * @param percentile the percentile
+     * @return the latency at the percentile, in milliseconds
+     */
+    private static double millis(final Histogram histogram, final double percentile) {
+        return histogram.getValueAtPercentile(percentile) / MICROS_PER_MILLI;
+    }
+
+    /**
+     * Read a configuration property.
+     *
+     * @param name         the name without the {@code loadTest.} prefix
+     * @param defaultValue value used when the property is not set
+     * @return the value
+     */
+    private static String property(final String name, final String defaultValue) {
+        return System.getProperty(PREFIX + name, defaultValue).trim();
+    }
+}
@@ -0,0 +1,94 @@
+package com.moviefeaster.loadtest;
+
+import java.util.SplittableRandom;
+
+/**
+ * Mixes of user actions. The weights follow how the frontend is used: most visits browse and open
+ * detail pages, fewer refine searches, and downloads are rare.
+ */
+public enum WorkloadProfile {
+    /** Home page and detail pages only. */
+    BROWSE("browse", new double[]{40, 0, 0, 60, 0}),
+
+    /** Searching and sorting the movie list. */
+    SEARCH("search", new double[]{0, 60, 40, 0, 0}),
+
+    /** Downloading lists. */
+    EXPORT("export", new double[]{0, 0, 0, 0, 100}),
+
+    /** The typical mix of all actions. */
+    MIXED("mixed", new double[]{20, 25, 15, 37, 3});
+
+    /**
+     * The string representation of the profile.
+     */
+    private final String value;
+
+    /** Cumulative weights, in the order of {@link Action#values()}. */
+    private final double[] cumulative;
+
+    /**
+     * Constructs an enum constant with the associated string value.
+     *
+     * @param value   the string identifier for the profile
+     * @param weights relative weight of each action, in the order of {@link Action#values()}
+     */
+    WorkloadProfile(final String value, final double[] weights) {
+        this.value = value;
+        this.cumulative = new double[weights.length];
+        double total = 0;
+        for (final double weight : weights) {
+            total += weight;
+        }
+        double running = 0;
+        for (int i = 0; i < weights.length; i++) {
+            running += weights[i];
+            cumulative[i] = running / total;
+        }
+    }
+
+    /**
+     * Returns the string value associated with this profile.
+     *
+     * @return the string representation (e.g., "mixed")
+     */
+    public String getValue() {
+        return value;
+    }
+
+    /**
+     * Pick the next action.
+     *
+     * @param random the random source
+     * @return an action, drawn by weight
+     */
+    Action next(final SplittableRandom random) {
+        final double draw = random.nextDouble();
+        final Action[] actions = Action.values();
+        Action result = actions[actions.length - 1];
+        for (int i = 0; i < cumulative.length; i++) {
+            if (draw < cumulative[i]) {
+                result = actions[i];
+                break;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Get the enum constant from the string value.
+     *
+     * @param value the string representation like "browse"
+     * @return matching WorkloadProfile or null if not found
+     */
+    public static WorkloadProfile fromValue(final String value) {
+        WorkloadProfile result = null;
+        for (final WorkloadProfile profile : values()) {
+            if (profile.value.equalsIgnoreCase(value)) {
+                result = profile;
+                break;
+            }
+        }
+        return result;
+    }
+}
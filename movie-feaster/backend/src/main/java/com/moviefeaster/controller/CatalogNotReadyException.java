@@ -0,0 +1,20 @@
+package com.moviefeaster.controller;
+
+/**
+ * Thrown when a request needs movie data before the catalog has finished loading.
+ * Translated into a 503 response with a Retry-After header by {@link MovieController}.
+ */
+public class CatalogNotReadyException extends RuntimeException {
+
+    /** Serialization version. */
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Constructs the exception with a message.
+     *
+     * @param message the detail message
+     */
+    public CatalogNotReadyException(final String message) {
+        super(message);
+    }
+}
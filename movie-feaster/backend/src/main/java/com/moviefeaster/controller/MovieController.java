@@ -2,7 +2,10 @@ package com.moviefeaster.controller;
 
 import com.moviefeaster.model.*;
 import com.moviefeaster.service.MovieModel;
+import com.moviefeaster.utils.AppMetrics;
 import com.moviefeaster.utils.DataFormatter;
+import com.moviefeaster.utils.EnvConfig;
+import com.moviefeaster.utils.HttpClientProvider;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
@@ -32,6 +35,16 @@ public class MovieController implements MovieControllerInterface {
      */
     private static final Logger LOGGER = LoggerFactory.getLogger(MovieController.class);
 
+    /**
+     * Seconds clients are asked to wait before retrying while the catalog is still loading.
+     */
+    private static final long RETRY_AFTER_SECONDS = EnvConfig.getLong("RETRY_AFTER_SECONDS", 5);
+
+    /**
+     * Largest number of comments returned in one page.
+     */
+    private static final int MAX_COMMENT_PAGE_SIZE = 100;
+
     /**
      * The main model responsible for managing and processing movie data.
      */
@@ -60,12 +73,52 @@ public class MovieController implements MovieControllerInterface {
     @Override
     @GetMapping("/search")
     public List<Movie> handleMultiFilterSearch(
+            @RequestParam(required = false) final String title,
+            @RequestParam(required = false) final String director,
+            @RequestParam(required = false) final String cast,
+            @RequestParam(required = false) final String year,
+            @RequestParam(required = false) final String genre,
+            @RequestParam(required = false) final String sortType
+    ) {
+        final Map<MovieFilterType, Object> filterStrategy = buildFilterStrategy(title, director, cast, year, genre);
+        requireCatalog();
+        return model.searchByFilter(filterStrategy, MovieSorterType.fromValue(sortType));
+    }
+
+    /**
+     * Handles sort request. Only one sort type can be applied on; the filters of the search being sorted
+     * are passed again, since no results are kept between requests.
+     */
+    @Override
+    @GetMapping("/sort")
+    public List<Movie> handleSort(
+            @RequestParam(required = false) final String sortType,
             @RequestParam(required = false) final String title,
             @RequestParam(required = false) final String director,
             @RequestParam(required = false) final String cast,
             @RequestParam(required = false) final String year,
             @RequestParam(required = false) final String genre
     ) {
+        final MovieSorterType toSortOn = MovieSorterType.fromValue(sortType);
+        final Map<MovieFilterType, Object> filterStrategy = buildFilterStrategy(title, director, cast, year, genre);
+        requireCatalog();
+        return model.searchByFilter(filterStrategy, toSortOn);
+    }
+
+    /**
+     * Parse and validate the optional search fields into a filter strategy.
+     * Blank fields are left out.
+     *
+     * @param title    optional title keyword
+     * @param director optional director name
+     * @param cast     optional cast member
+     * @param year     optional release year
+     * @param genre    optional genre
+     * @return the filter strategy, empty if no field is given
+     */
+    private Map<MovieFilterType, Object> buildFilterStrategy(final String title, final String director,
+                                                             final String cast, final String year,
+                                                             final String genre) {
         final String parsedTitle = inputProcessor.optionalParseTitle(title);
         final String parsedDirector = inputProcessor.optionalParseDirector(director);
         final String parsedCast = inputProcessor.optionalParseCast(cast);
@@ -88,20 +141,7 @@ public class MovieController implements MovieControllerInterface {
         if (parsedGenre != null) {
             filterStrategy.put(MovieFilterType.GENRE, parsedGenre.toString());
         }
-
-        model.searchByFilter(filterStrategy);
-        return model.getProcessedMovies();
-    }
-
-    /**
-     * Handles sort request. Only one sort type can be applied on.
-     */
-    @Override
-    @GetMapping("/sort")
-    public List<Movie> handleSort(@RequestParam(required = false) final String sortType) {
-        final MovieSorterType toSortOn = MovieSorterType.fromValue(sortType);
-        model.sortMovieList(toSortOn);
-        return model.getProcessedMovies();
+        return filterStrategy;
     }
 
     /**
@@ -158,6 +198,7 @@ public class MovieController implements MovieControllerInterface {
      */
     @GetMapping("")
     public List<Movie> getAllMovies() {
+        requireCatalog();
         return model.getMovies();
     }
 
@@ -169,18 +210,66 @@ public class MovieController implements MovieControllerInterface {
      */
     @GetMapping("/{movieId}")
     public Movie getMovieById(@PathVariable final int movieId) {
+        requireCatalog();
         return model.getMovieById(movieId);
     }
 
     /**
-     * Exports movies in the specified format.
+     * Retrieves a page of a movie's comments, newest first. The movie itself carries only its newest comments;
+     * older ones are loaded by passing the sequence number of the oldest comment shown as {@code before}.
      *
-     * @param format The format to export the movies in (PRETTY, JSON, XML, CSV)
+     * @param movieId The ID of the movie
+     * @param before  Optional exclusive upper bound of the sequence numbers; the newest comments if absent
+     * @param limit   Maximum number of comments, at most 100
+     * @return the comments, the total number of comments and the {@code before} value of the next page
+     *         (null after the oldest comment), or 404 if there is no such movie
+     */
+    @GetMapping("/{movieId}/comments")
+    public ResponseEntity<Map<String, Object>> getComments(
+            @PathVariable final int movieId,
+            @RequestParam(required = false) final Long before,
+            @RequestParam(defaultValue = "20") final int limit) {
+        requireCatalog();
+        final Movie movie = model.getMovieById(movieId);
+        if (movie == null) {
+            return new ResponseEntity<>(HttpStatus.NOT_FOUND);
+        }
+
+        final int pageSize = Math.max(1, Math.min(limit, MAX_COMMENT_PAGE_SIZE));
+        final List<Comment> comments = movie.getCommentLog()
+                .before(before == null ? Long.MAX_VALUE : before, pageSize);
+        final long oldest = comments.isEmpty() ? 0 : comments.get(comments.size() - 1).getSequence();
+
+        final Map<String, Object> body = new LinkedHashMap<>();
+        body.put("comments", comments);
+        body.put("total", movie.getCommentCount());
+        body.put("nextBefore", comments.size() == pageSize && oldest > 0 ? oldest : null);
+        return new ResponseEntity<>(body, HttpStatus.OK);
+    }
+
+    /**
+     * Exports the movies matching the given search in the specified format.
+     *
+     * @param format   The format to export the movies in (PRETTY, JSON, XML, CSV)
+     * @param sortType Optional sort type, e.g. rating_desc
+     * @param title    Optional title keyword
+     * @param director Optional director name
+     * @param cast     Optional cast member
+     * @param year     Optional release year
+     * @param genre    Optional genre
      * @return ResponseEntity containing the exported movie data
      */
     @GetMapping("/export")
     public ResponseEntity<byte[]> exportMovies(
-            @RequestParam(defaultValue = "PRETTY") final String format) {
+            @RequestParam(defaultValue = "PRETTY") final String format,
+            @RequestParam(required = false) final String sortType,
+            @RequestParam(required = false) final String title,
+            @RequestParam(required = false) final String director,
+            @RequestParam(required = false) final String cast,
+            @RequestParam(required = false) final String year,
+            @RequestParam(required = false) final String genre) {
+        final Map<MovieFilterType, Object> filterStrategy = buildFilterStrategy(title, director, cast, year, genre);
+        requireCatalog();
         final HttpHeaders headers = new HttpHeaders();
         try {
             Format outputFormat = Format.containsValues(format);
@@ -189,8 +278,7 @@ public class MovieController implements MovieControllerInterface {
             }
 
             final ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
-            final List<Movie> movies =
-                    model.getProcessedMovies() != null ? model.getProcessedMovies() : model.getMovies();
+            final List<Movie> movies = model.searchByFilter(filterStrategy, MovieSorterType.fromValue(sortType));
             DataFormatter.write(movies, outputFormat, outputStream);
 
             String contentType;
@@ -223,4 +311,48 @@ public class MovieController implements MovieControllerInterface {
             return new ResponseEntity<>(headers, HttpStatus.INTERNAL_SERVER_ERROR);
         }
     }
+
+    /**
+     * Reports whether the catalog has been loaded, for orchestrator readiness probes.
+     * Responds 200 once the catalog is ready and 503 while it is loading or failed.
+     *
+     * @return the catalog state, the number of movies served, upstream call counters and circuit states
+     */
+    @GetMapping("/status")
+    public ResponseEntity<Map<String, Object>> getCatalogStatus() {
+        final CatalogState state = model.getCatalogState();
+        final Map<String, Object> body = new LinkedHashMap<>();
+        body.put("state", state);
+        body.put("movies", model.getMovies().size());
+        body.put("upstream", HttpClientProvider.metrics());
+        body.put("circuits", HttpClientProvider.guard().getStates());
+        final HttpStatus status = state == CatalogState.READY ? HttpStatus.OK : HttpStatus.SERVICE_UNAVAILABLE;
+        return new ResponseEntity<>(body, status);
+    }
+
+    /**
+     * Translates a request made before the catalog is loaded into 503 with Retry-After.
+     *
+     * @param e the exception raised by {@link #requireCatalog()}
+     * @return the 503 response
+     */
+    @ExceptionHandler(CatalogNotReadyException.class)
+    public ResponseEntity<String> handleCatalogNotReady(final CatalogNotReadyException e) {
+        final HttpHeaders headers = new HttpHeaders();
+        headers.set(HttpHeaders.RETRY_AFTER, String.valueOf(RETRY_AFTER_SECONDS));
+        return new ResponseEntity<>(e.getMessage(), headers, HttpStatus.SERVICE_UNAVAILABLE);
+    }
+
+    /**
+     * Ensures there is movie data to serve. Whatever is already loaded is served even while a load
+     * is still running; only an empty, not-yet-ready catalog is rejected.
+     *
+     * @throws CatalogNotReadyException if the catalog is still empty and not ready
+     */
+    private void requireCatalog() {
+        if (model.getCatalogState() != CatalogState.READY && model.getMovies().isEmpty()) {
+            AppMetrics.countCatalogUnavailable();
+            throw new CatalogNotReadyException("Movie catalog is still loading.");
+        }
+    }
 }
@@ -16,10 +16,11 @@ public interface MovieControllerInterface {
      * Handles a search request based on multiple optional filters.
      *
      * @param title     Optional movie title input (can be null or blank)
-     * @param director Optional director name input (can be null or blank)
+     * @param director  Optional director name input (can be null or blank)
      * @param cast      The casts
-     * @param year     Optional year input as a string (can be null or blank)
+     * @param year      Optional year input as a string (can be null or blank)
      * @param genre     Optional type/genre input (can be null or blank)
+     * @param sortType  Optional sort type, the default title order if null or unknown
      * @return filtered movies
      */
     List<Movie> handleMultiFilterSearch(
@@ -27,15 +28,29 @@ public interface MovieControllerInterface {
             @RequestParam(required = false) String director,
             @RequestParam(required = false) String cast,
             @RequestParam(required = false) String year,
-            @RequestParam(required = false) String genre
+            @RequestParam(required = false) String genre,
+            @RequestParam(required = false) String sortType
     );
 
     /**
-     * Handles a sorting request based on user selected sortBy type.
-     * @param sortType
+     * Handles a sorting request based on user selected sortBy type, over the movies matching the given filters.
+     *
+     * @param sortType  The sort type
+     * @param title     Optional movie title input (can be null or blank)
+     * @param director  Optional director name input (can be null or blank)
+     * @param cast      The casts
+     * @param year      Optional year input as a string (can be null or blank)
+     * @param genre     Optional type/genre input (can be null or blank)
      * @return  List<Movie>     sored movies
      */
-    List<Movie> handleSort(@RequestParam(required = false) String sortType);
+    List<Movie> handleSort(
+            @RequestParam(required = false) String sortType,
+            @RequestParam(required = false) String title,
+            @RequestParam(required = false) String director,
+            @RequestParam(required = false) String cast,
+            @RequestParam(required = false) String year,
+            @RequestParam(required = false) String genre
+    );
 
     /**
      * Updates the comment for a given movie.
@@ -0,0 +1,50 @@
+package com.moviefeaster.jfr;
+
+import com.moviefeaster.model.Format;
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight Recorder event for one export of a movie list.
+ */
+@Name("com.moviefeaster.Export")
+@Label("Movie Export")
+@Category({"Movie Feaster", "Export"})
+@Description("Movie list written in an export format")
+@StackTrace(false)
+public final class ExportEvent extends jdk.jfr.Event {
+
+    /** The export format. */
+    @Label("Format")
+    private String format;
+
+    /** Number of movies written. */
+    @Label("Movies")
+    private int movies;
+
+    /** Number of bytes written. */
+    @Label("Bytes")
+    @DataAmount
+    private long bytes;
+
+    /**
+     * End the event and commit it if it is enabled and above its threshold.
+     *
+     * @param exportFormat the export format
+     * @param count        number of movies written
+     * @param written      number of bytes written
+     */
+    public void complete(final Format exportFormat, final int count, final long written) {
+        end();
+        if (shouldCommit()) {
+            this.format = exportFormat.name();
+            this.movies = count;
+            this.bytes = written;
+            commit();
+        }
+    }
+}
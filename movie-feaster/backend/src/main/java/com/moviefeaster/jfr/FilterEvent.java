@@ -0,0 +1,57 @@
+package com.moviefeaster.jfr;
+
+import com.moviefeaster.model.MovieFilterType;
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+import java.util.Collection;
+import java.util.Locale;
+import java.util.stream.Collectors;
+
+/**
+ * Flight Recorder event for one search: the filters applied and how much of the list they kept.
+ */
+@Name("com.moviefeaster.Filter")
+@Label("Movie Filter")
+@Category({"Movie Feaster", "Search"})
+@Description("Filters applied to a movie list")
+@StackTrace(false)
+@Threshold("1 ms")
+public final class FilterEvent extends jdk.jfr.Event {
+
+    /** The applied filter types, comma separated. */
+    @Label("Filter Types")
+    private String filterTypes;
+
+    /** Number of movies before filtering. */
+    @Label("Input Size")
+    private int inputSize;
+
+    /** Number of movies left after filtering. */
+    @Label("Output Size")
+    private int outputSize;
+
+    /**
+     * End the event and commit it if it is enabled and above its threshold.
+     * The filter types are only joined for committed events.
+     *
+     * @param types  the applied filter types
+     * @param input  number of movies before filtering
+     * @param output number of movies left after filtering
+     */
+    public void complete(final Collection<MovieFilterType> types, final int input, final int output) {
+        end();
+        if (shouldCommit()) {
+            this.filterTypes = types.stream()
+                    .map(type -> type.name().toLowerCase(Locale.ROOT))
+                    .collect(Collectors.joining(","));
+            this.inputSize = input;
+            this.outputSize = output;
+            commit();
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package com.moviefeaster.jfr;
+
+import com.moviefeaster.model.MovieSorterType;
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+/**
+ * Flight Recorder event for one sort of a movie list.
+ */
+@Name("com.moviefeaster.Sort")
+@Label("Movie Sort")
+@Category({"Movie Feaster", "Search"})
+@Description("Sort of a movie list")
+@StackTrace(false)
+@Threshold("1 ms")
+public final class SortEvent extends jdk.jfr.Event {
+
+    /** The sort type, e.g. {@code rating_desc}. */
+    @Label("Sort Type")
+    private String sortType;
+
+    /** Number of movies sorted. */
+    @Label("Size")
+    private int size;
+
+    /**
+     * End the event and commit it if it is enabled and above its threshold.
+     *
+     * @param type  the sort type
+     * @param count number of movies sorted
+     */
+    public void complete(final MovieSorterType type, final int count) {
+        end();
+        if (shouldCommit()) {
+            this.sortType = type.getValue();
+            this.size = count;
+            commit();
+        }
+    }
+}
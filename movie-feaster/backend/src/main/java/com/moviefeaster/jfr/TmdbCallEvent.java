@@ -0,0 +1,51 @@
+package com.moviefeaster.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight Recorder event for one TMDB call, including retries and rate limiter waits.
+ * Asynchronous calls are committed on the thread that handles the response.
+ */
+@Name("com.moviefeaster.TmdbCall")
+@Label("TMDB Call")
+@Category({"Movie Feaster", "TMDB"})
+@Description("Call to the TMDB API")
+@StackTrace(false)
+public final class TmdbCallEvent extends jdk.jfr.Event {
+
+    /** Status code when no response was received. */
+    public static final int NO_RESPONSE = -1;
+
+    /** The endpoint class, e.g. {@code discover} or {@code details}. */
+    @Label("Endpoint")
+    private String endpoint;
+
+    /** The HTTP status code, or {@link #NO_RESPONSE}. */
+    @Label("Status")
+    private int status;
+
+    /** {@code success}, {@code error} or {@code rejected}. */
+    @Label("Outcome")
+    private String outcome;
+
+    /**
+     * End the event and commit it if it is enabled and above its threshold.
+     *
+     * @param endpointClass the endpoint class
+     * @param statusCode    the HTTP status code, or {@link #NO_RESPONSE}
+     * @param result        {@code success}, {@code error} or {@code rejected}
+     */
+    public void complete(final String endpointClass, final int statusCode, final String result) {
+        end();
+        if (shouldCommit()) {
+            this.endpoint = endpointClass;
+            this.status = statusCode;
+            this.outcome = result;
+            commit();
+        }
+    }
+}
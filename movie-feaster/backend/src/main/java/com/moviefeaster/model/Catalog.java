@@ -0,0 +1,107 @@
+package com.moviefeaster.model;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Versioned view of the movie catalog. The movie list of a published catalog never changes: writers build the
+ * next version with {@link #next(List)} from freshly fetched movies and publish it in one reference swap, so
+ * readers always see one consistent list without locking. The catalog data of a published movie is not modified
+ * either. Its user data is: comments and in-app ratings are concurrent structures updated in place on the
+ * published movie, see {@link CommentLog} and {@link RatingAggregate}, and handed on to the next version.
+ */
+public final class Catalog {
+
+    /** The empty catalog published before the first load. */
+    private static final Catalog EMPTY = new Catalog(0, List.of(), MovieIndex.of(List.of()));
+
+    /** Version number, incremented by every change. */
+    private final long version;
+
+    /** Unmodifiable list of all movies, in catalog order. */
+    private final List<Movie> movies;
+
+    /** Position of each movie in {@link #movies} by movie ID. */
+    private final MovieIndex positions;
+
+    /**
+     * Create a catalog.
+     *
+     * @param version   the version number
+     * @param movies    the unmodifiable movie list
+     * @param positions the position of each movie by ID
+     */
+    private Catalog(final long version, final List<Movie> movies, final MovieIndex positions) {
+        this.version = version;
+        this.movies = movies;
+        this.positions = positions;
+    }
+
+    /**
+     * Get the empty catalog, version 0.
+     *
+     * @return the empty catalog
+     */
+    public static Catalog empty() {
+        return EMPTY;
+    }
+
+    /**
+     * Build the next version holding the given movies. The list is copied, so the caller may keep changing it.
+     *
+     * @param nextMovies the movies of the next version
+     * @return the next version
+     */
+    public Catalog next(final List<Movie> nextMovies) {
+        final List<Movie> copy = new ArrayList<>(nextMovies);
+        return new Catalog(version + 1, Collections.unmodifiableList(copy), MovieIndex.of(copy));
+    }
+
+    /**
+     * Get the version number.
+     *
+     * @return the version number, 0 for the empty catalog
+     */
+    public long getVersion() {
+        return version;
+    }
+
+    /**
+     * Get all movies.
+     *
+     * @return the unmodifiable movie list
+     */
+    public List<Movie> getMovies() {
+        return movies;
+    }
+
+    /**
+     * Look up a movie by ID in constant time.
+     *
+     * @param movieId the movie ID
+     * @return the movie, or null if it is not in the catalog
+     */
+    public Movie getMovie(final int movieId) {
+        final int position = positions.positionOf(movieId);
+        return position == MovieIndex.ABSENT ? null : movies.get(position);
+    }
+
+    /**
+     * Get the number of movies.
+     *
+     * @return the number of movies
+     */
+    public int size() {
+        return movies.size();
+    }
+
+    /**
+     * Whether the catalog holds no movies.
+     *
+     * @return true if there are no movies
+     */
+    public boolean isEmpty() {
+        return movies.isEmpty();
+    }
+}
@@ -0,0 +1,15 @@
+package com.moviefeaster.model;
+
+/**
+ * Enum representing the lifecycle state of the in-memory movie catalog.
+ */
+public enum CatalogState {
+    /** The catalog is being loaded in the background. */
+    LOADING,
+
+    /** The catalog has been populated and can serve requests. */
+    READY,
+
+    /** The last load attempt produced no movies; another attempt is scheduled. */
+    FAILED
+}
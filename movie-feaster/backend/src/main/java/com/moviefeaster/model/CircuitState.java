@@ -0,0 +1,15 @@
+package com.moviefeaster.model;
+
+/**
+ * Enum representing the state of a circuit breaker guarding an upstream endpoint.
+ */
+public enum CircuitState {
+    /** Calls flow normally; consecutive failures are counted. */
+    CLOSED,
+
+    /** Calls are rejected immediately until the open interval has passed. */
+    OPEN,
+
+    /** A single probe call is let through to test whether the endpoint has recovered. */
+    HALF_OPEN
+}
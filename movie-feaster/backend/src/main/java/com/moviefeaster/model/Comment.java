@@ -0,0 +1,47 @@
+package com.moviefeaster.model;
+
+/**
+ * One user comment together with its position in the movie's comment log.
+ */
+public final class Comment {
+
+    /** Sequence number in the movie's comment log; the first comment is 0. */
+    private final long sequence;
+
+    /** The comment text. */
+    private final String text;
+
+    /**
+     * Create a comment.
+     *
+     * @param sequence sequence number in the movie's comment log
+     * @param text     the comment text
+     */
+    public Comment(final long sequence, final String text) {
+        this.sequence = sequence;
+        this.text = text;
+    }
+
+    /**
+     * Gets the sequence number; later comments have higher numbers.
+     *
+     * @return the sequence number
+     */
+    public long getSequence() {
+        return sequence;
+    }
+
+    /**
+     * Gets the comment text.
+     *
+     * @return the text
+     */
+    public String getText() {
+        return text;
+    }
+
+    @Override
+    public String toString() {
+        return "Comment{sequence=" + sequence + ", text='" + text + "'}";
+    }
+}
@@ -0,0 +1,228 @@
+package com.moviefeaster.model;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLongFieldUpdater;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+/**
+ * Append-only log of a movie's user comments, appended to by any number of threads without a lock.
+ * Every comment gets the next sequence number, starting at 0, and is stored in fixed-size chunks, so appending
+ * never copies earlier comments and readers can page backwards from the newest comment without walking the rest.
+ * A comment whose append is still in flight may be missing from a read made at the same moment.
+ */
+public final class CommentLog {
+
+    /** Comments per chunk. */
+    static final int CHUNK_SIZE = 64;
+
+    /** Chunk directory of a log without comments, shared so movies without comments stay small. */
+    private static final Chunk[] NO_CHUNKS = new Chunk[0];
+
+    /** Hands out sequence numbers. */
+    private static final AtomicLongFieldUpdater<CommentLog> NEXT =
+            AtomicLongFieldUpdater.newUpdater(CommentLog.class, "next");
+
+    /** Publishes a grown chunk directory. */
+    private static final AtomicReferenceFieldUpdater<CommentLog, Chunk[]> CHUNKS =
+            AtomicReferenceFieldUpdater.newUpdater(CommentLog.class, Chunk[].class, "chunks");
+
+    /** Sequence number of the next comment, i.e. the number of comments appended or being appended. */
+    private volatile long next;
+
+    /** The chunks by index; chunk {@code i} holds sequence numbers {@code i * CHUNK_SIZE} onwards. */
+    private volatile Chunk[] chunks;
+
+    /** Create an empty log. */
+    public CommentLog() {
+        this.chunks = NO_CHUNKS;
+    }
+
+    /**
+     * Create a log of the given comments, numbered in iteration order.
+     *
+     * @param comments the comments; null is treated as empty
+     * @return the log
+     */
+    public static CommentLog of(final Collection<String> comments) {
+        final CommentLog log = new CommentLog();
+        if (comments != null) {
+            for (final String comment : comments) {
+                log.append(comment);
+            }
+        }
+        return log;
+    }
+
+    /**
+     * Append a comment. Safe to call from any number of threads at once.
+     *
+     * @param comment the comment text
+     * @return the comment's sequence number
+     * @throws NullPointerException if the comment is null
+     */
+    public long append(final String comment) {
+        Objects.requireNonNull(comment, "comment");
+        final long sequence = NEXT.getAndIncrement(this);
+        chunkFor(sequence).slots.set(offset(sequence), comment);
+        return sequence;
+    }
+
+    /**
+     * Get the number of comments.
+     *
+     * @return the number of comments, including any still being appended
+     */
+    public long size() {
+        return next;
+    }
+
+    /**
+     * Get the newest comments.
+     *
+     * @param limit maximum number of comments
+     * @return up to {@code limit} comments, newest first
+     */
+    public List<Comment> latest(final int limit) {
+        return before(Long.MAX_VALUE, limit);
+    }
+
+    /**
+     * Get a page of comments older than a sequence number, e.g. the oldest one of the previous page.
+     *
+     * @param before exclusive upper bound of the sequence numbers
+     * @param limit  maximum number of comments
+     * @return up to {@code limit} comments, newest first
+     */
+    public List<Comment> before(final long before, final int limit) {
+        final List<Comment> page = new ArrayList<>(Math.max(0, Math.min(limit, CHUNK_SIZE)));
+        for (long sequence = Math.min(before, next) - 1; sequence >= 0 && page.size() < limit; sequence--) {
+            final String text = get(sequence);
+            if (text != null) {
+                page.add(new Comment(sequence, text));
+            }
+        }
+        return page;
+    }
+
+    /**
+     * Get every comment, oldest first. The list stops before the first comment still being appended, so
+     * the position of each comment in it is its sequence number, and a log rebuilt from it with {@link #of}
+     * numbers its comments as this one does. Comments published after that gap are left out until it is filled.
+     *
+     * @return a new list of the comment texts
+     */
+    public List<String> getAll() {
+        final List<String> all = new ArrayList<>((int) Math.min(next, Integer.MAX_VALUE));
+        forEach(all::add);
+        return all;
+    }
+
+    /**
+     * Visit every comment, oldest first, without copying the comments, e.g. to stream them into an export.
+     * Like {@link #getAll()}, this stops before the first comment still being appended.
+     *
+     * @param action the action applied to each comment text
+     */
+    public void forEach(final Consumer<String> action) {
+        final long size = next;
+        for (long sequence = 0; sequence < size; sequence++) {
+            final String text = get(sequence);
+            if (text == null) {
+                return;
+            }
+            action.accept(text);
+        }
+    }
+
+    /**
+     * Whether any comment matches, without copying the comments.
+     *
+     * @param predicate the test applied to each comment text, oldest first
+     * @return true if a comment matches
+     */
+    public boolean anyMatch(final Predicate<String> predicate) {
+        final long size = next;
+        for (long sequence = 0; sequence < size; sequence++) {
+            final String text = get(sequence);
+            if (text != null && predicate.test(text)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Read one comment.
+     *
+     * @param sequence the sequence number
+     * @return the text, or null if the comment is still being appended
+     */
+    private String get(final long sequence) {
+        final Chunk[] current = chunks;
+        final int index = chunkIndex(sequence);
+        return index < current.length && current[index] != null ? current[index].slots.get(offset(sequence)) : null;
+    }
+
+    /**
+     * Get the chunk holding a sequence number, growing the directory if needed. The directory is only ever
+     * replaced by a copy of itself with more chunks, so a chunk once published is never dropped.
+     *
+     * @param sequence the sequence number
+     * @return the chunk
+     */
+    private Chunk chunkFor(final long sequence) {
+        final int index = chunkIndex(sequence);
+        Chunk[] current = chunks;
+        while (index >= current.length || current[index] == null) {
+            final int length = index < current.length ? current.length : Math.max(index + 1, current.length * 2);
+            final Chunk[] grown = Arrays.copyOf(current, length);
+            for (int i = 0; i <= index; i++) {
+                if (grown[i] == null) {
+                    grown[i] = new Chunk();
+                }
+            }
+            CHUNKS.compareAndSet(this, current, grown);
+            current = chunks;
+        }
+        return current[index];
+    }
+
+    /**
+     * Get the chunk index of a sequence number.
+     *
+     * @param sequence the sequence number
+     * @return the chunk index
+     */
+    private static int chunkIndex(final long sequence) {
+        return (int) (sequence / CHUNK_SIZE);
+    }
+
+    /**
+     * Get the offset of a sequence number within its chunk.
+     *
+     * @param sequence the sequence number
+     * @return the offset
+     */
+    private static int offset(final long sequence) {
+        return (int) (sequence % CHUNK_SIZE);
+    }
+
+    @Override
+    public String toString() {
+        return getAll().toString();
+    }
+
+    /** A fixed-size block of comment slots. */
+    private static final class Chunk {
+
+        /** The comments, null while an append is in flight. */
+        private final AtomicReferenceArray<String> slots = new AtomicReferenceArray<>(CHUNK_SIZE);
+    }
+}
@@ -0,0 +1,52 @@
+package com.moviefeaster.model;
+
+/**
+ * Enum representing how per-movie details are pulled from TMDB after discovery.
+ */
+public enum IngestionMode {
+    /** One /movie/{id}/credits call per movie; other fields come from the discover summary. */
+    CREDITS("credits"),
+
+    /** One /movie/{id}?append_to_response=credits,... call per movie carrying details and credits together. */
+    APPEND("append");
+
+    /**
+     * The string representation of the ingestion mode.
+     */
+    private final String value;
+
+    /**
+     * Constructs an enum constant with the associated string value.
+     *
+     * @param value the string identifier for the ingestion mode
+     */
+    IngestionMode(final String value) {
+        this.value = value;
+    }
+
+    /**
+     * Returns the string value associated with this ingestion mode.
+     *
+     * @return the string representation (e.g., "append")
+     */
+    public String getValue() {
+        return value;
+    }
+
+    /**
+     * Get the enum constant from the string value.
+     *
+     * @param value the string representation like "credits"
+     * @return matching IngestionMode or null if not found
+     */
+    public static IngestionMode fromValue(final String value) {
+        IngestionMode result = null;
+        for (final IngestionMode mode : values()) {
+            if (mode.value.equalsIgnoreCase(value)) {
+                result = mode;
+                break;
+            }
+        }
+        return result;
+    }
+}
@@ -1,5 +1,7 @@
 package com.moviefeaster.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
 import java.util.ArrayList;
 import java.util.List;
 
@@ -32,11 +34,14 @@ public final class Movie {
     /** List of actors or actresses in the movie. */
     private List<String> castings;
 
+    /** Number of newest comments included with the movie, e.g. in the detail view; older ones are paged. */
+    public static final int RECENT_COMMENTS = 10;
+
     /** User-submitted comments about the movie. */
-    private List<String> comments;
+    private CommentLog comments;
 
-    /** In-App rating information provided by users. */
-    private List<Double> inAppRating;
+    /** In-App ratings provided by users. */
+    private RatingAggregate inAppRatings;
 
     /** URL movie's poster. */
     private String imgUrl;
@@ -57,8 +62,8 @@ public final class Movie {
         this.overview = builder.overview != null && !builder.overview.isBlank() ? builder.overview : "No Overview";
         this.castings = builder.castings != null ? builder.castings : new ArrayList<>();
         this.imgUrl = builder.imgUrl != null ? builder.imgUrl : "";
-        this.comments = new ArrayList<>();
-        this.inAppRating = new ArrayList<>();
+        this.comments = new CommentLog();
+        this.inAppRatings = new RatingAggregate();
     }
 
     /**
@@ -355,65 +360,126 @@ public final class Movie {
     }
 
     /**
-     * Gets user-submitted comments.
+     * Gets every user-submitted comment, oldest first, e.g. for persisting the catalog.
      *
-     * @return A list of comments.
+     * @return A new list of comments.
      */
+    @JsonIgnore
     public List<String> getComments() {
+        return comments.getAll();
+    }
+
+    /**
+     * Gets the newest user-submitted comments; older ones are paged through {@link #getCommentLog()}.
+     *
+     * @return Up to {@link #RECENT_COMMENTS} comments, newest first.
+     */
+    public List<Comment> getRecentComments() {
+        return comments.latest(RECENT_COMMENTS);
+    }
+
+    /**
+     * Gets the number of user-submitted comments.
+     *
+     * @return The number of comments.
+     */
+    public long getCommentCount() {
+        return comments.size();
+    }
+
+    /**
+     * Gets the comment log, e.g. to page through older comments.
+     *
+     * @return The comment log.
+     */
+    @JsonIgnore
+    public CommentLog getCommentLog() {
         return comments;
     }
 
     /**
      * Reset the list of user comments.
      *
-     * @param comments A list of comments. Null list will be replaced with an empty list.
+     * @param comments A list of comments. Null list is treated as no comments.
      */
     public void setComments(final List<String> comments) {
-        this.comments = comments != null ? comments : new ArrayList<>();
+        this.comments = CommentLog.of(comments);
+    }
+
+    /**
+     * Share the comment log of another version of this movie, e.g. when a reload replaces it,
+     * so comments added to either version are kept.
+     *
+     * @param comments The comment log.
+     */
+    public void setCommentLog(final CommentLog comments) {
+        this.comments = comments;
     }
 
     /**
-     * Add a single comment to the user comments.
+     * Add a single comment to the user comments. Safe to call concurrently; no comment is lost.
      *
      * @param comment comment to add.
      */
     public void addComment(final String comment) {
-        this.comments.add(comment);
+        this.comments.append(comment);
     }
 
     /**
-     * Gets the list of in-app ratings.
+     * Gets the average in-app rating, kept up to date as ratings are added.
      *
-     * @return A list of in-app ratings.
+     * @return The average in-app rating, or 0.0 if there are none.
      */
     public double getInAppRating() {
-        double average = 0.0;
-        if (!inAppRating.isEmpty()) {
-            double sum = 0.0;
-            for (final Double rating : inAppRating) {
-                sum += rating;
-            }
-            average = sum / inAppRating.size();
-        }
-        return average;
+        return inAppRatings.getAverage();
+    }
+
+    /**
+     * Gets the number of in-app ratings.
+     *
+     * @return The number of in-app ratings.
+     */
+    @JsonIgnore
+    public long getInAppRatingCount() {
+        return inAppRatings.getCount();
     }
 
     /**
-     * Resets the list of in-app ratings.
+     * Gets the running aggregate of in-app ratings, e.g. for the rating histogram or persisting the catalog.
      *
-     * @param ratings A list of in-app ratings. Null list will be replaced with an empty list.
+     * @return The in-app rating aggregate.
+     */
+    @JsonIgnore
+    public RatingAggregate getInAppRatings() {
+        return inAppRatings;
+    }
+
+    /**
+     * Resets the in-app ratings.
+     *
+     * @param ratings A list of in-app ratings. Null list is treated as no ratings.
      */
     public void setInAppRating(final List<Double> ratings) {
-        this.inAppRating = ratings != null ? ratings : new ArrayList<>();
+        this.inAppRatings = RatingAggregate.of(ratings);
+    }
+
+    /**
+     * Share the in-app ratings of another version of this movie, e.g. when a reload replaces it,
+     * so ratings added to either version are kept.
+     *
+     * @param ratings The in-app rating aggregate.
+     */
+    public void setInAppRatings(final RatingAggregate ratings) {
+        this.inAppRatings = ratings;
     }
 
     /**
-     * Add single rating to the list of in-app ratings.
+     * Add single rating to the in-app ratings. Safe to call concurrently; no rating is lost.
      *
      * @param rating Rating to add.
      */
     public void addInAppRating(final Double rating) {
-        this.inAppRating.add(rating);
+        this.inAppRatings.add(rating);
     }
 
     /**
@@ -445,7 +511,7 @@ public final class Movie {
                 + ", genres=" + genres
                 + ", castings=" + castings
                 + ", comments=" + comments
-                + ", inAppRating=" + inAppRating
+                + ", inAppRating=" + inAppRatings
                 + ", updatedAverageInAppRating=" + getInAppRating()
                 + ", imgUrl='" + imgUrl + '\''
                 + '}';
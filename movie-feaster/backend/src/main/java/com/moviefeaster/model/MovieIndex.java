@@ -0,0 +1,102 @@
+package com.moviefeaster.model;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Immutable hash index from movie ID to the movie's position in a catalog list, on primitive arrays so lookups
+ * neither box IDs nor chase entry objects. Open addressing with linear probing; the table is kept at most half
+ * full, so a lookup inspects one or two slots on average.
+ */
+final class MovieIndex {
+
+    /** Position stored in empty slots; also returned for unknown IDs. */
+    static final int ABSENT = -1;
+
+    /** Multiplier spreading sequential IDs over the table (2^32 divided by the golden ratio). */
+    private static final int HASH_MULTIPLIER = 0x9E3779B9;
+
+    /** Movie IDs by slot. */
+    private final int[] keys;
+
+    /** Positions by slot, {@link #ABSENT} for empty slots. */
+    private final int[] positions;
+
+    /** Table size minus one; the table size is a power of two. */
+    private final int mask;
+
+    /**
+     * Create an empty table with room for the given number of movies.
+     *
+     * @param expected number of movies
+     */
+    private MovieIndex(final int expected) {
+        int capacity = 2;
+        while (capacity < expected * 2) {
+            capacity <<= 1;
+        }
+        this.keys = new int[capacity];
+        this.positions = new int[capacity];
+        this.mask = capacity - 1;
+        Arrays.fill(this.positions, ABSENT);
+    }
+
+    /**
+     * Index a movie list. If an ID occurs more than once, its first position is kept.
+     *
+     * @param movies the movies
+     * @return the index
+     */
+    static MovieIndex of(final List<Movie> movies) {
+        final MovieIndex index = new MovieIndex(movies.size());
+        for (int i = 0; i < movies.size(); i++) {
+            index.putIfAbsent(movies.get(i).getMovieId(), i);
+        }
+        return index;
+    }
+
+    /**
+     * Store a position unless the ID is already indexed.
+     *
+     * @param movieId  the movie ID
+     * @param position the position in the catalog list
+     */
+    private void putIfAbsent(final int movieId, final int position) {
+        int slot = slot(movieId);
+        while (positions[slot] != ABSENT) {
+            if (keys[slot] == movieId) {
+                return;
+            }
+            slot = (slot + 1) & mask;
+        }
+        keys[slot] = movieId;
+        positions[slot] = position;
+    }
+
+    /**
+     * Look up the position of a movie.
+     *
+     * @param movieId the movie ID
+     * @return the position in the catalog list, or {@link #ABSENT} if the ID is not indexed
+     */
+    int positionOf(final int movieId) {
+        int slot = slot(movieId);
+        int position = positions[slot];
+        while (position != ABSENT && keys[slot] != movieId) {
+            slot = (slot + 1) & mask;
+            position = positions[slot];
+        }
+        return position;
+    }
+
+    /**
+     * Get the home slot of an ID.
+     *
+     * @param movieId the movie ID
+     * @return the slot
+     */
+    private int slot(final int movieId) {
+        final int hash = movieId * HASH_MULTIPLIER;
+        return (hash ^ (hash >>> 16)) & mask;
+    }
+}
@@ -0,0 +1,61 @@
+package com.moviefeaster.model;
+
+/**
+ * Enum representing where the movie catalog is ingested from.
+ */
+public enum MovieSourceType {
+    /** The live TMDB API. */
+    TMDB("tmdb"),
+
+    /** TMDB daily ID export and mirrored detail files on local disk. */
+    EXPORT("export"),
+
+    /** Recorded TMDB response bodies replayed from a local directory. */
+    FIXTURE("fixture"),
+
+    /** An embedded local HTTP server imitating TMDB with synthetic data, latency and errors. */
+    STUB("stub"),
+
+    /** A seeded, generated catalog of any size for scale testing. */
+    SYNTHETIC("synthetic");
+
+    /**
+     * The string representation of the source type.
+     */
+    private final String value;
+
+    /**
+     * Constructs an enum constant with the associated string value.
+     *
+     * @param value the string identifier for the source type
+     */
+    MovieSourceType(final String value) {
+        this.value = value;
+    }
+
+    /**
+     * Returns the string value associated with this source type.
+     *
+     * @return the string representation (e.g., "stub")
+     */
+    public String getValue() {
+        return value;
+    }
+
+    /**
+     * Get the enum constant from the string value.
+     *
+     * @param value the string representation like "tmdb"
+     * @return matching MovieSourceType or null if not found
+     */
+    public static MovieSourceType fromValue(final String value) {
+        MovieSourceType result = null;
+        for (final MovieSourceType type : values()) {
+            if (type.value.equalsIgnoreCase(value)) {
+                result = type;
+                break;
+            }
+        }
+        return result;
+    }
+}
@@ -0,0 +1,186 @@
+package com.moviefeaster.model;
+
+import java.util.Collection;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
+import java.util.concurrent.atomic.DoubleAdder;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Running aggregate of a movie's in-app ratings, updated in place by any number of threads without a lock.
+ * The count, sum and half-star histogram are striped accumulators ({@link LongAdder}, {@link DoubleAdder}):
+ * concurrent raters of one popular movie add to separate cells instead of retrying on one shared value,
+ * so no rating is lost and throughput grows with the number of cores. The average is O(1). A rating is counted
+ * before it is summed and the sum is read before the count, so while ratings are being added the average may
+ * miss one still in flight but never sums a rating it has not counted. Individual ratings are not kept: the
+ * count, sum and histogram are all the average and the snapshot need, so a rating costs no memory and adds no
+ * shared write beyond the striped cells. The accumulators are created with the first rating, so unrated movies
+ * stay small.
+ */
+public final class RatingAggregate {
+
+    /** Number of histogram buckets: 0, 0.5, 1, ... 5 stars. */
+    public static final int BUCKETS = 11;
+
+    /** Buckets per star. */
+    private static final int BUCKETS_PER_STAR = 2;
+
+    /** Installs the accumulators exactly once, even when the first ratings arrive concurrently. */
+    private static final AtomicReferenceFieldUpdater<RatingAggregate, Accumulators> ACCUMULATORS =
+            AtomicReferenceFieldUpdater.newUpdater(RatingAggregate.class, Accumulators.class, "accumulators");
+
+    /** The accumulators, or null until the first rating. */
+    private volatile Accumulators accumulators;
+
+    /** Create an empty aggregate. */
+    public RatingAggregate() {
+        // The accumulators are created with the first rating
+    }
+
+    /**
+     * Create an aggregate of the given ratings.
+     *
+     * @param ratings the ratings, in submission order; null is treated as empty
+     * @return the aggregate
+     */
+    public static RatingAggregate of(final Collection<Double> ratings) {
+        final RatingAggregate aggregate = new RatingAggregate();
+        if (ratings != null) {
+            for (final Double rating : ratings) {
+                aggregate.add(rating);
+            }
+        }
+        return aggregate;
+    }
+
+    /**
+     * Recreate an aggregate from its persisted totals, see {@link #getCount()}, {@link #getSum()} and
+     * {@link #getHistogram()}.
+     *
+     * @param count     number of ratings
+     * @param sum       sum of the ratings
+     * @param histogram ratings per half-star bucket, {@link #BUCKETS} entries long
+     * @return the aggregate
+     * @throws IllegalArgumentException if the histogram does not have {@link #BUCKETS} entries
+     */
+    public static RatingAggregate restore(final long count, final double sum, final long[] histogram) {
+        if (histogram.length != BUCKETS) {
+            throw new IllegalArgumentException("Expected " + BUCKETS + " histogram buckets, got " + histogram.length);
+        }
+        final RatingAggregate aggregate = new RatingAggregate();
+        if (count > 0) {
+            final Accumulators restored = new Accumulators();
+            for (int i = 0; i < BUCKETS; i++) {
+                restored.histogram[i].add(histogram[i]);
+            }
+            restored.count.add(count);
+            restored.sum.add(sum);
+            aggregate.accumulators = restored;
+        }
+        return aggregate;
+    }
+
+    /**
+     * Add one rating. Safe to call from any number of threads at once.
+     *
+     * @param rating the rating
+     */
+    public void add(final double rating) {
+        Accumulators current = accumulators;
+        if (current == null) {
+            ACCUMULATORS.compareAndSet(this, null, new Accumulators());
+            current = accumulators;
+        }
+        current.histogram[bucketOf(rating)].increment();
+        current.count.increment();
+        current.sum.add(rating);
+    }
+
+    /**
+     * Get the average rating.
+     *
+     * @return the average, or 0.0 if there are no ratings
+     */
+    public double getAverage() {
+        final Accumulators current = accumulators;
+        double average = 0.0;
+        if (current != null) {
+            final double sum = current.sum.sum();
+            final long count = current.count.sum();
+            average = count == 0 ? 0.0 : sum / count;
+        }
+        return average;
+    }
+
+    /**
+     * Get the number of ratings.
+     *
+     * @return the number of ratings
+     */
+    public long getCount() {
+        final Accumulators current = accumulators;
+        return current == null ? 0 : current.count.sum();
+    }
+
+    /**
+     * Get the number of ratings per half-star bucket; bucket {@code i} counts ratings that round to {@code i / 2}
+     * stars. Ratings outside 0 to 5 stars are counted in the first or last bucket.
+     *
+     * @return a copy of the histogram, {@link #BUCKETS} entries long
+     */
+    public long[] getHistogram() {
+        final long[] copy = new long[BUCKETS];
+        final Accumulators current = accumulators;
+        if (current != null) {
+            for (int i = 0; i < BUCKETS; i++) {
+                copy[i] = current.histogram[i].sum();
+            }
+        }
+        return copy;
+    }
+
+    /**
+     * Get the sum of the ratings.
+     *
+     * @return the sum, or 0.0 if there are no ratings
+     */
+    public double getSum() {
+        final Accumulators current = accumulators;
+        return current == null ? 0.0 : current.sum.sum();
+    }
+
+    /**
+     * Get the histogram bucket of a rating.
+     *
+     * @param rating the rating
+     * @return the bucket index
+     */
+    private static int bucketOf(final double rating) {
+        final long bucket = Math.round(rating * BUCKETS_PER_STAR);
+        return (int) Math.max(0, Math.min(BUCKETS - 1, bucket));
+    }
+
+    @Override
+    public String toString() {
+        return "RatingAggregate{count=" + getCount() + ", average=" + getAverage() + '}';
+    }
+
+    /** The striped accumulators of one aggregate. */
+    private static final class Accumulators {
+
+        /** Number of ratings. */
+        private final LongAdder count = new LongAdder();
+
+        /** Sum of the ratings. */
+        private final DoubleAdder sum = new DoubleAdder();
+
+        /** Number of ratings per half-star bucket. */
+        private final LongAdder[] histogram = new LongAdder[BUCKETS];
+
+        /** Create empty accumulators. */
+        private Accumulators() {
+            for (int i = 0; i < BUCKETS; i++) {
+                histogram[i] = new LongAdder();
+            }
+        }
+    }
+}
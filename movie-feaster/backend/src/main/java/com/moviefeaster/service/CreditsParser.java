@@ -0,0 +1,197 @@
+package com.moviefeaster.service;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Token-based parser for TMDB credits payloads. Only director names and cast names are kept;
+ * every other field is skipped without building a JSON tree.
+ */
+final class CreditsParser {
+
+    /** Shared, thread-safe factory for streaming parsers. */
+    private static final JsonFactory FACTORY = new JsonFactory();
+
+    /** The crew job that marks a director. */
+    private static final String DIRECTOR_JOB = "Director";
+
+    /** Private constructor to prevent instantiation. */
+    private CreditsParser() { }
+
+    /**
+     * Parse a standalone credits body ({@code /movie/{id}/credits}).
+     *
+     * @param body    the credits body
+     * @param maxCast maximum number of cast names to keep, or 0 or less for all
+     * @return the extracted credits
+     * @throws IOException if the body is not valid JSON
+     */
+    static Credits parse(final InputStream body, final int maxCast) throws IOException {
+        try (JsonParser parser = FACTORY.createParser(body)) {
+            final Credits credits = new Credits();
+            if (parser.nextToken() == JsonToken.START_OBJECT) {
+                readCreditsObject(parser, maxCast, credits);
+            }
+            return credits;
+        }
+    }
+
+    /**
+     * Parse a credits object the parser is currently positioned on, e.g. the appended
+     * "credits" block of a details payload. On return the parser is on the matching END_OBJECT.
+     *
+     * @param parser  parser positioned on the credits START_OBJECT
+     * @param maxCast maximum number of cast names to keep, or 0 or less for all
+     * @return the extracted credits
+     * @throws IOException if the payload is not valid JSON
+     */
+    static Credits parse(final JsonParser parser, final int maxCast) throws IOException {
+        final Credits credits = new Credits();
+        if (parser.currentToken() == JsonToken.START_OBJECT) {
+            readCreditsObject(parser, maxCast, credits);
+        } else {
+            parser.skipChildren();
+        }
+        return credits;
+    }
+
+    /**
+     * Walk the fields of a credits object, dispatching the crew and cast arrays.
+     *
+     * @param parser  parser positioned on the credits START_OBJECT
+     * @param maxCast maximum number of cast names to keep, or 0 or less for all
+     * @param credits the credits to fill
+     * @throws IOException if the payload is not valid JSON
+     */
+    private static void readCreditsObject(final JsonParser parser, final int maxCast, final Credits credits)
+            throws IOException {
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            final String field = parser.currentName();
+            final JsonToken value = parser.nextToken();
+            if ("crew".equals(field) && value == JsonToken.START_ARRAY) {
+                readCrew(parser, credits.directors);
+            } else if ("cast".equals(field) && value == JsonToken.START_ARRAY) {
+                readCast(parser, maxCast, credits.castings);
+            } else {
+                parser.skipChildren();
+            }
+        }
+    }
+
+    /**
+     * Keep the names of crew members whose job is Director.
+     *
+     * @param parser    parser positioned on the crew START_ARRAY
+     * @param directors list receiving director names
+     * @throws IOException if the payload is not valid JSON
+     */
+    private static void readCrew(final JsonParser parser, final List<String> directors) throws IOException {
+        JsonToken token = parser.nextToken();
+        while (token != JsonToken.END_ARRAY && token != null) {
+            if (token == JsonToken.START_OBJECT) {
+                String name = null;
+                boolean isDirector = false;
+                while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                    final String field = parser.currentName();
+                    parser.nextToken();
+                    if ("job".equals(field)) {
+                        isDirector = DIRECTOR_JOB.equals(parser.getValueAsString());
+                    } else if ("name".equals(field)) {
+                        name = textValue(parser);
+                    } else {
+                        parser.skipChildren();
+                    }
+                }
+                if (isDirector && name != null) {
+                    directors.add(name);
+                }
+            } else {
+                parser.skipChildren();
+            }
+            token = parser.nextToken();
+        }
+    }
+
+    /**
+     * Keep cast names in billing order, skipping entries without a name and entries past the cap.
+     *
+     * @param parser   parser positioned on the cast START_ARRAY
+     * @param maxCast  maximum number of cast names to keep, or 0 or less for all
+     * @param castings list receiving cast names
+     * @throws IOException if the payload is not valid JSON
+     */
+    private static void readCast(final JsonParser parser, final int maxCast, final List<String> castings)
+            throws IOException {
+        JsonToken token = parser.nextToken();
+        while (token != JsonToken.END_ARRAY && token != null) {
+            if (token == JsonToken.START_OBJECT && (maxCast <= 0 || castings.size() < maxCast)) {
+                String name = null;
+                while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                    final String field = parser.currentName();
+                    parser.nextToken();
+                    if ("name".equals(field)) {
+                        name = textValue(parser);
+                    } else {
+                        parser.skipChildren();
+                    }
+                }
+                if (name != null) {
+                    castings.add(name);
+                }
+            } else {
+                parser.skipChildren();
+            }
+            token = parser.nextToken();
+        }
+    }
+
+    /**
+     * Read the current value as a name: a non-blank string, anything else (null, a number, an object) is no name.
+     *
+     * @param parser parser positioned on the value
+     * @return the name, or null
+     * @throws IOException if the payload is not valid JSON
+     */
+    private static String textValue(final JsonParser parser) throws IOException {
+        if (parser.currentToken() != JsonToken.VALUE_STRING) {
+            parser.skipChildren();
+            return null;
+        }
+        final String text = parser.getText();
+        return text.isBlank() ? null : text;
+    }
+
+    /** Directors and cast names extracted from a credits payload. */
+    static final class Credits {
+
+        /** Names of the directors. */
+        private final List<String> directors = new ArrayList<>();
+
+        /** Names of the cast members. */
+        private final List<String> castings = new ArrayList<>();
+
+        /**
+         * Gets the director names.
+         *
+         * @return the director names
+         */
+        List<String> getDirectors() {
+            return directors;
+        }
+
+        /**
+         * Gets the cast names.
+         *
+         * @return the cast names
+         */
+        List<String> getCastings() {
+            return castings;
+        }
+    }
+}
@@ -0,0 +1,264 @@
+package com.moviefeaster.service;
+
+import com.moviefeaster.model.Movie;
+import com.moviefeaster.utils.AppMetrics;
+import com.moviefeaster.utils.EnvConfig;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * Builds a catalog from local files instead of the live discover API:
+ * TMDB's gzipped, newline-delimited daily ID export (e.g. {@code movie_ids_05_15_2024.json.gz})
+ * and, optionally, a directory of mirrored detail payloads named {@code <id>.json} or {@code <id>.json.gz}
+ * in the {@code append_to_response=credits} shape.
+ * The export is streamed once; detail files are parsed in parallel. A title without a readable detail file
+ * is kept with the fields the export provides (ID, original title, popularity), so one bad file never costs
+ * more than its own details; the catalog is either read completely or not at all.
+ */
+public final class ExportCatalogReader {
+
+    /** Logger instance for this class. */
+    private static final Logger LOGGER = LoggerFactory.getLogger(ExportCatalogReader.class);
+
+    /** Shared, thread-safe factory for streaming parsers. */
+    private static final JsonFactory FACTORY = new JsonFactory();
+
+    /** Number of threads parsing detail files. */
+    private static final int READ_THREADS = EnvConfig.getInt("EXPORT_READ_THREADS",
+            Runtime.getRuntime().availableProcessors());
+
+    /** Buffer size used for file streams. */
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    /** Counter used to name reader threads. */
+    private static final AtomicInteger READER_THREAD_IDS = new AtomicInteger();
+
+    /** Private constructor to prevent instantiation. */
+    private ExportCatalogReader() { }
+
+    /**
+     * Read the catalog from an ID export and an optional details directory.
+     *
+     * @param exportFile the gzipped newline-delimited ID export
+     * @param detailsDir directory of mirrored detail payloads, or null to use the export alone
+     * @param limit      maximum number of movies, most popular first, or 0 or less for all
+     * @return the movies in popularity order
+     * @throws IOException if the export cannot be read or the detail files could not all be processed
+     */
+    public static List<Movie> readCatalog(final Path exportFile, final Path detailsDir, final int limit)
+            throws IOException {
+        final long exportStarted = System.nanoTime();
+        final List<ExportEntry> entries = readExport(exportFile, limit);
+        AppMetrics.recordIngestStage("export", exportStarted);
+        LOGGER.info("Read {} titles from {}", entries.size(), exportFile);
+
+        final long detailsStarted = System.nanoTime();
+        final List<Movie> movies = detailsDir == null
+                ? toMovies(entries, 0, entries.size(), null) : readInParallel(entries, detailsDir);
+        AppMetrics.recordIngestStage("detail_files", detailsStarted);
+        return movies;
+    }
+
+    /**
+     * Stream the ID export. Each line is one JSON object; adult titles and videos are skipped.
+     *
+     * @param exportFile the gzipped export
+     * @param limit      maximum number of entries, most popular first, or 0 or less for all
+     * @return the entries sorted by popularity, highest first
+     * @throws IOException if the file cannot be read or is not valid JSON
+     */
+    static List<ExportEntry> readExport(final Path exportFile, final int limit) throws IOException {
+        final List<ExportEntry> entries = new ArrayList<>();
+
+        try (InputStream in = open(exportFile); JsonParser parser = FACTORY.createParser(in)) {
+            while (parser.nextToken() == JsonToken.START_OBJECT) {
+                final ExportEntry entry = readEntry(parser);
+                if (entry != null) {
+                    entries.add(entry);
+                }
+            }
+        }
+
+        entries.sort(Comparator.comparingDouble((ExportEntry entry) -> entry.popularity).reversed());
+        return limit > 0 && entries.size() > limit ? new ArrayList<>(entries.subList(0, limit)) : entries;
+    }
+
+    /**
+     * Read one export line the parser is positioned on.
+     *
+     * @param parser parser positioned on the line's START_OBJECT
+     * @return the entry, or null if the title is adult or a video
+     * @throws IOException if the line is not valid JSON
+     */
+    private static ExportEntry readEntry(final JsonParser parser) throws IOException {
+        final ExportEntry entry = new ExportEntry();
+        boolean skip = false;
+
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            final String field = parser.currentName();
+            parser.nextToken();
+            switch (field) {
+                case "id" -> entry.movieId = parser.getValueAsInt();
+                case "original_title" -> entry.title = parser.getValueAsString("");
+                case "popularity" -> entry.popularity = parser.getValueAsDouble();
+                case "adult", "video" -> skip |= parser.getValueAsBoolean();
+                default -> parser.skipChildren();
+            }
+        }
+        return skip || entry.movieId <= 0 ? null : entry;
+    }
+
+    /**
+     * Parse the detail files of all entries on a bounded pool. Each thread handles one contiguous slice,
+     * so results are concatenated back in popularity order without sorting.
+     *
+     * @param entries    the export entries
+     * @param detailsDir the details directory
+     * @return the movies in the order of the entries
+     * @throws IOException if a slice failed or the read was interrupted; a partial catalog is never returned
+     */
+    private static List<Movie> readInParallel(final List<ExportEntry> entries, final Path detailsDir)
+            throws IOException {
+        final int threads = Math.max(1, Math.min(READ_THREADS, entries.size()));
+        final int sliceSize = (entries.size() + threads - 1) / threads;
+        final List<Movie> movies = new ArrayList<>(entries.size());
+        final ExecutorService executor = Executors.newFixedThreadPool(threads, ExportCatalogReader::newReaderThread);
+
+        try {
+            final List<Future<List<Movie>>> slices = new ArrayList<>(threads);
+            for (int from = 0; from < entries.size(); from += sliceSize) {
+                final int start = from;
+                final int end = Math.min(entries.size(), from + sliceSize);
+                slices.add(executor.submit(() -> toMovies(entries, start, end, detailsDir)));
+            }
+
+            for (final Future<List<Movie>> slice : slices) {
+                movies.addAll(slice.get());
+            }
+        } catch (ExecutionException e) {
+            throw new IOException("Failed to read detail files from " + detailsDir, e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while reading detail files from " + detailsDir);
+        } finally {
+            executor.shutdownNow();
+        }
+        return movies;
+    }
+
+    /**
+     * Build the movies of a slice of entries.
+     *
+     * @param entries    the export entries
+     * @param from       first index, inclusive
+     * @param to         last index, exclusive
+     * @param detailsDir the details directory, or null to use the export alone
+     * @return the movies of the slice
+     */
+    private static List<Movie> toMovies(final List<ExportEntry> entries, final int from, final int to,
+                                        final Path detailsDir) {
+        final List<Movie> movies = new ArrayList<>(to - from);
+        for (int i = from; i < to; i++) {
+            final ExportEntry entry = entries.get(i);
+            Movie movie = detailsDir == null ? null : readDetailFile(detailsDir, entry.movieId);
+            if (movie == null) {
+                movie = new Movie.Builder()
+                        .movieId(entry.movieId)
+                        .title(entry.title)
+                        .rating(entry.popularity)
+                        .build();
+            }
+            movies.add(movie);
+        }
+        return movies;
+    }
+
+    /**
+     * Parse the mirrored detail payload of a movie, if there is one.
+     *
+     * @param detailsDir the details directory
+     * @param movieId    the movie ID
+     * @return the movie, or null if there is no detail file or it cannot be read or parsed
+     */
+    static Movie readDetailFile(final Path detailsDir, final int movieId) {
+        Path file = detailsDir.resolve(movieId + ".json");
+        if (!Files.isRegularFile(file)) {
+            file = detailsDir.resolve(movieId + ".json.gz");
+        }
+
+        Movie movie = null;
+        if (Files.isRegularFile(file)) {
+            try (InputStream in = open(file)) {
+                movie = MovieParser.readDetails(in);
+            } catch (IOException | RuntimeException e) {
+                LOGGER.warn("Skipping unreadable detail file {}: {}", file, e.toString());
+            }
+        }
+        return movie;
+    }
+
+    /**
+     * Open a file for buffered reading, decompressing it when its name ends with {@code .gz}.
+     *
+     * @param file the file
+     * @return the stream
+     * @throws IOException if the file cannot be opened
+     */
+    private static InputStream open(final Path file) throws IOException {
+        final InputStream in = new BufferedInputStream(Files.newInputStream(file), BUFFER_SIZE);
+        return file.getFileName().toString().endsWith(".gz") ? new GZIPInputStream(in, BUFFER_SIZE) : in;
+    }
+
+    /**
+     * Create a daemon reader thread so a stuck read never blocks JVM shutdown.
+     *
+     * @param task the worker body
+     * @return the new thread
+     */
+    private static Thread newReaderThread(final Runnable task) {
+        final Thread thread = new Thread(task, "export-read-" + READER_THREAD_IDS.incrementAndGet());
+        thread.setDaemon(true);
+        return thread;
+    }
+
+    /** One line of the ID export. */
+    static final class ExportEntry {
+
+        /** The TMDB movie ID. */
+        private int movieId;
+
+        /** The original title. */
+        private String title = "";
+
+        /** The TMDB popularity score. */
+        private double popularity;
+
+        /**
+         * Gets the movie ID.
+         *
+         * @return the movie ID
+         */
+        int getMovieId() {
+            return movieId;
+        }
+    }
+}
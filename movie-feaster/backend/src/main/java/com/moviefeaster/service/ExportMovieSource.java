@@ -0,0 +1,46 @@
+package com.moviefeaster.service;
+
+import com.moviefeaster.model.Movie;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * Ingests the catalog from a TMDB daily ID export and mirrored detail files on local disk.
+ */
+public class ExportMovieSource implements MovieSource {
+
+    /** The gzipped newline-delimited ID export. */
+    private final Path exportFile;
+
+    /** Directory of mirrored detail payloads, or null to use the export alone. */
+    private final Path detailsDir;
+
+    /** Maximum number of movies, most popular first, or 0 or less for all. */
+    private final int limit;
+
+    /**
+     * Create the source.
+     *
+     * @param exportFile the gzipped newline-delimited ID export
+     * @param detailsDir directory of mirrored detail payloads, or null to use the export alone
+     * @param limit      maximum number of movies, most popular first, or 0 or less for all
+     */
+    public ExportMovieSource(final Path exportFile, final Path detailsDir, final int limit) {
+        this.exportFile = exportFile;
+        this.detailsDir = detailsDir;
+        this.limit = limit;
+    }
+
+    /**
+     * Read the catalog from the export files.
+     *
+     * @return the movies
+     * @throws IOException if the export or the detail files cannot be read
+     */
+    @Override
+    public List<Movie> fetchMovies() throws IOException {
+        return ExportCatalogReader.readCatalog(exportFile, detailsDir, limit);
+    }
+}
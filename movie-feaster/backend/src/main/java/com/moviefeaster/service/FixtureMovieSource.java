@@ -0,0 +1,69 @@
+package com.moviefeaster.service;
+
+import com.moviefeaster.model.Movie;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Replays recorded TMDB response bodies from a local directory, so ingestion runs without network access.
+ * The directory holds discover pages named {@code discover-<page>.json}, replayed in name order, and
+ * optionally detail payloads named {@code <id>.json} in the {@code append_to_response=credits} shape.
+ * A movie without a detail payload is built from its discover summary alone.
+ */
+public class FixtureMovieSource implements MovieSource {
+
+    /** The fixture directory. */
+    private final Path directory;
+
+    /**
+     * Create the source.
+     *
+     * @param directory the fixture directory
+     */
+    public FixtureMovieSource(final Path directory) {
+        this.directory = directory;
+    }
+
+    /**
+     * Replay the recorded discover pages and detail payloads.
+     *
+     * @return the movies in discover order
+     * @throws IOException if the fixture directory or a discover page cannot be read
+     */
+    @Override
+    public List<Movie> fetchMovies() throws IOException {
+        final List<Movie> movies = new ArrayList<>();
+        for (final Path page : discoverPages()) {
+            try (InputStream in = Files.newInputStream(page)) {
+                for (final MovieParser.MovieSummary summary : MovieParser.readResults(in)) {
+                    final Movie movie = ExportCatalogReader.readDetailFile(directory, summary.getMovieID());
+                    movies.add(movie != null ? movie : MovieParser.toMovie(summary, new ArrayList<>(),
+                            new ArrayList<>()));
+                }
+            }
+        }
+        return movies;
+    }
+
+    /**
+     * List the recorded discover pages in name order.
+     *
+     * @return the page files
+     * @throws IOException if the directory cannot be listed
+     */
+    private List<Path> discoverPages() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(file -> {
+                final String name = file.getFileName().toString();
+                return name.startsWith("discover-") && name.endsWith(".json");
+            }).sorted().collect(Collectors.toList());
+        }
+    }
+}
@@ -1,7 +1,9 @@
 package com.moviefeaster.service;
 
+import com.moviefeaster.jfr.SortEvent;
 import com.moviefeaster.utils.*;
 import com.moviefeaster.model.*;
+import jakarta.annotation.PreDestroy;
 import org.springframework.stereotype.Service;
 
 import org.slf4j.Logger;
@@ -10,14 +12,28 @@ import org.slf4j.LoggerFactory;
 import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.OutputStream;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
 import java.util.Locale;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
 
 /**
  * Service class that implements MovieModelInterface to provide movie filtering,
  * sorting, and persistence functionalities.
+ * The catalog is an immutable, versioned {@link Catalog} behind an atomic reference. Loads, refreshes and user
+ * comments and ratings build the next version and publish it with a compare-and-set, retrying if another writer
+ * got there first; readers take the current version without locking and see it whole.
+ * Searches read it once and return new lists, so concurrent requests never share results.
  */
 @Service
 public class MovieModel implements MovieModelInterface {
@@ -25,78 +41,389 @@ public class MovieModel implements MovieModelInterface {
     /** Logger instance for this class. */
     private static final Logger LOGGER = LoggerFactory.getLogger(MovieModel.class);
 
-    /** List of all movies. */
-    private List<Movie> movies;
+    /** Seconds to wait before retrying a load that produced no movies. */
+    private static final long LOAD_RETRY_SECONDS = EnvConfig.getLong("CATALOG_RETRY_SECONDS", 30);
 
-    /** List of filtered movies. */
-    private List<Movie> processedMovies;
+    /** Snapshot file used to warm-start the catalog when none is configured. */
+    private static final String DEFAULT_SNAPSHOT_PATH = "catalog.snapshot";
 
-    /** Default sorting type for movies. */
-    private MovieSorterType defaultSortType;
+    /** Seconds between periodic snapshot writes; 0 or less only writes after loads and on shutdown. */
+    private static final long SNAPSHOT_INTERVAL_SECONDS = EnvConfig.getLong("SNAPSHOT_INTERVAL_SECONDS", 300);
+
+    /** Minutes between incremental refreshes from the TMDB change feed; 0 or less disables them. */
+    private static final long REFRESH_INTERVAL_MINUTES = EnvConfig.getLong("REFRESH_INTERVAL_MINUTES", 60);
+
+    /** Hours between full re-ingests, which also pick up newly popular movies; 0 or less disables them. */
+    private static final long FULL_REFRESH_HOURS = EnvConfig.getLong("FULL_REFRESH_HOURS", 24);
+
+    /** Longest date range, in days, TMDB accepts for one change feed query. */
+    private static final int MAX_CHANGES_DAYS = 14;
+
+    /** Counter used to name loader threads. */
+    private static final AtomicInteger LOADER_THREAD_IDS = new AtomicInteger();
+
+    /** Sort applied to search results when the request names none. */
+    private static final MovieSorterType DEFAULT_SORT_TYPE = MovieSorterType.TITLE_ASC;
+
+    /** The published catalog. */
+    private final AtomicReference<Catalog> catalog = new AtomicReference<>(Catalog.empty());
+
+    /** Current lifecycle state of the catalog. */
+    private volatile CatalogState catalogState;
+
+    /** Where the catalog is ingested from. */
+    private final MovieSource source;
+
+    /** Snapshot file used to warm-start the catalog, or null if snapshots are disabled. */
+    private final Path snapshotPath;
+
+    /** Background worker that loads the catalog without blocking startup. */
+    private final ScheduledExecutorService loader;
+
+    /** UTC day up to which TMDB changes are merged; null until the catalog has been loaded. */
+    private LocalDate changesMergedThrough;
 
     /**
-     * Public constructor initializes movie lists and default sort type.
+     * Public constructor initializes movie lists and default sort type, then starts loading
+     * the catalog in the background so the web server can bind its port immediately.
+     * A local snapshot, if present, is served first while TMDB is refreshed.
+     * The movie source is selected through `.env`, see {@link MovieSourceFactory}.
      */
     public MovieModel() {
-        this.movies = new ArrayList<>();
-        this.processedMovies = new ArrayList<>();
-        this.defaultSortType = MovieSorterType.TITLE_ASC;
-        fetchMovies();
+        this(MovieSourceFactory.fromEnv());
     }
 
     /**
-     * Fetch movie's data from TMDB API and ingest into a movie list.
+     * Constructor ingesting the catalog from the given source.
+     *
+     * @param source where the catalog is ingested from
+     */
+    public MovieModel(final MovieSource source) {
+        this(source, configuredSnapshotPath());
+    }
+
+    /**
+     * Constructor ingesting the catalog from the given source and warm-starting from the given snapshot.
+     *
+     * @param source       where the catalog is ingested from
+     * @param snapshotPath snapshot file, or null to neither read nor write snapshots
+     */
+    public MovieModel(final MovieSource source, final Path snapshotPath) {
+        this.source = source;
+        this.snapshotPath = snapshotPath;
+        this.catalogState = CatalogState.LOADING;
+        this.loader = Executors.newSingleThreadScheduledExecutor(MovieModel::newLoaderThread);
+        this.loader.execute(this::startUp);
+    }
+
+    /**
+     * Fetch movie's data from the movie source and ingest into a movie list.
+     * Comments and in-app ratings of movies already in the catalog are carried over.
+     * When the source reports the fetch as failed, e.g. because too many discover pages failed or a TMDB
+     * circuit is open, the last good catalog is kept; a complete fetch replaces it, even with fewer movies.
      */
     @Override
     public void fetchMovies() {
-        this.movies = MovieParser.getMoviesFromApi();
+        ingest();
     }
 
     /**
-     * Get the original movies fetched from the TMDB API.
+     * Fetch the catalog from the movie source and publish it as the next version, unless the source reports
+     * the fetch as failed or has no movies at all.
      *
-     * @return list of original movies
+     * @return true if the fetched movies were published
      */
-    public List<Movie> getMovies() {
-        return this.movies;
+    private boolean ingest() {
+        final long started = System.nanoTime();
+        final List<Movie> fetched;
+        try {
+            fetched = source.fetchMovies();
+        } catch (IOException e) {
+            LOGGER.warn("Could not ingest the catalog, keeping the current one: {}", e.getMessage());
+            return false;
+        }
+        AppMetrics.recordIngestStage("total", started);
+        LOGGER.info("Ingested {} movies in {} ms.", fetched.size(),
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started));
+        if (fetched.isEmpty()) {
+            LOGGER.warn("The movie source returned no movies, keeping the current catalog.");
+            return false;
+        }
+
+        Catalog current;
+        do {
+            current = this.catalog.get();
+            carryOverUserData(current.getMovies(), fetched);
+        } while (!this.catalog.compareAndSet(current, current.next(fetched)));
+        return true;
     }
 
     /**
-     * Retrieve a single movie by ID.
+     * Let the freshly fetched movies share the comment logs and in-app ratings of the previous catalog,
+     * so a comment or rating submitted while the new catalog is being published is kept.
+     * A fresh movie whose credits could not be fetched keeps the previously known directors and cast.
+     * Only the fetched movies are changed, and running it again against a newer catalog overwrites the result,
+     * so it is safe to repeat when a compare-and-set is retried.
      *
-     * @param movieId the movie ID
-     * @return movie with matching ID or null if not found
+     * @param previous the catalog being replaced
+     * @param fetched  the freshly fetched movies
      */
-    public Movie getMovieById(final int movieId) {
-        Movie result = null;
-        for (final Movie movie : this.movies) {
-            if (movie.getMovieId() == movieId) {
-                result = movie;
-                break;
+    private static void carryOverUserData(final List<Movie> previous, final List<Movie> fetched) {
+        if (previous.isEmpty()) {
+            return;
+        }
+        final Map<Integer, Movie> previousById = new HashMap<>();
+        for (final Movie movie : previous) {
+            previousById.put(movie.getMovieId(), movie);
+        }
+        for (final Movie movie : fetched) {
+            final Movie old = previousById.get(movie.getMovieId());
+            if (old != null) {
+                movie.setCommentLog(old.getCommentLog());
+                movie.setInAppRatings(old.getInAppRatings());
+                if (movie.getDirectors().isEmpty() && movie.getCastings().isEmpty()) {
+                    movie.setDirectors(old.getDirectors());
+                    movie.setCastings(old.getCastings());
+                }
             }
         }
-        return result;
     }
 
     /**
-     * Get the filtered and/or sorted list of movies.
+     * Replace the movies TMDB reports as changed with their fresh versions, keeping the order of the catalog
+     * and the comments and in-app ratings of every movie.
      *
-     * @return list of processed movies
+     * @param current the live catalog
+     * @param changed the freshly fetched versions of changed movies
+     * @return a new catalog list; the current list is left untouched
      */
-    public List<Movie> getProcessedMovies() {
-        return this.processedMovies;
+    static List<Movie> mergeChanges(final List<Movie> current, final List<Movie> changed) {
+        carryOverUserData(current, changed);
+        final Map<Integer, Movie> changedById = new HashMap<>();
+        for (final Movie movie : changed) {
+            changedById.put(movie.getMovieId(), movie);
+        }
+        final List<Movie> merged = new ArrayList<>(current.size());
+        for (final Movie movie : current) {
+            merged.add(changedById.getOrDefault(movie.getMovieId(), movie));
+        }
+        return merged;
     }
 
     /**
-     * Write movies to a local file in specified format.
+     * Read the snapshot file from {@code SNAPSHOT_PATH}. An unset key uses the default file;
+     * a key set to an empty value disables snapshots.
      *
-     * @param useProcessedMovie whether to use a processed or original list
-     * @param format            output file format
+     * @return the snapshot file, or null if snapshots are disabled
+     */
+    private static Path configuredSnapshotPath() {
+        final String configured = EnvConfig.get("SNAPSHOT_PATH");
+        final String path = configured == null ? DEFAULT_SNAPSHOT_PATH : configured.trim();
+        return path.isEmpty() ? null : Path.of(path);
+    }
+
+    /**
+     * Warm-start from the local snapshot, then refresh from TMDB and schedule the periodic work:
+     * incremental refreshes, full re-ingests and snapshot writes, all on the loader thread.
+     */
+    private void startUp() {
+        restoreSnapshot();
+        loadCatalog();
+        if (REFRESH_INTERVAL_MINUTES > 0 && source.hasChangeFeed()) {
+            this.loader.scheduleWithFixedDelay(this::refreshChanges,
+                    REFRESH_INTERVAL_MINUTES, REFRESH_INTERVAL_MINUTES, TimeUnit.MINUTES);
+        }
+        if (FULL_REFRESH_HOURS > 0) {
+            this.loader.scheduleWithFixedDelay(this::loadCatalog,
+                    FULL_REFRESH_HOURS, FULL_REFRESH_HOURS, TimeUnit.HOURS);
+        }
+        if (this.snapshotPath != null && SNAPSHOT_INTERVAL_SECONDS > 0) {
+            this.loader.scheduleWithFixedDelay(this::writeSnapshot,
+                    SNAPSHOT_INTERVAL_SECONDS, SNAPSHOT_INTERVAL_SECONDS, TimeUnit.SECONDS);
+        }
+    }
+
+    /**
+     * Refresh only the catalog movies that the source's change feed lists as edited since the last merge,
+     * then publish the merged catalog in one step. Comments and in-app ratings are preserved.
+     * Runs on the loader thread, so it never overlaps a full load.
+     */
+    void refreshChanges() {
+        final Catalog current = this.catalog.get();
+        if (current.isEmpty()) {
+            return;
+        }
+
+        final long started = System.nanoTime();
+        final LocalDate today = LocalDate.now(ZoneOffset.UTC);
+        final LocalDate earliest = today.minusDays(MAX_CHANGES_DAYS - 1);
+        final LocalDate start = this.changesMergedThrough == null || this.changesMergedThrough.isBefore(earliest)
+                ? earliest : this.changesMergedThrough;
+
+        try {
+            final Set<Integer> changedIds = source.fetchChangedIds(start, today);
+            if (changedIds == null) {
+                LOGGER.warn("Could not read the change feed, keeping the current catalog.");
+                return;
+            }
+
+            changedIds.removeIf(movieId -> current.getMovie(movieId) == null);
+
+            if (!changedIds.isEmpty()) {
+                final List<Movie> changed = source.fetchMoviesByIds(changedIds);
+                Catalog base;
+                do {
+                    base = this.catalog.get();
+                } while (!this.catalog.compareAndSet(base, base.next(mergeChanges(base.getMovies(), changed))));
+                LOGGER.info("Refreshed {} of {} changed movies.", changed.size(), changedIds.size());
+                writeSnapshot();
+            }
+            this.changesMergedThrough = today;
+            AppMetrics.recordIngestStage("refresh", started);
+        } catch (RuntimeException e) {
+            LOGGER.error("Incremental catalog refresh failed: {}", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Serve the catalog from the local snapshot, if one exists. An unreadable or corrupt snapshot is ignored,
+     * so the catalog is still loaded from the source.
+     */
+    private void restoreSnapshot() {
+        if (this.snapshotPath == null) {
+            return;
+        }
+        try {
+            final List<Movie> restored = CatalogSnapshot.read(this.snapshotPath);
+            if (!restored.isEmpty() && this.catalog.compareAndSet(Catalog.empty(), Catalog.empty().next(restored))) {
+                this.catalogState = CatalogState.READY;
+                LOGGER.info("Restored {} movies from snapshot {}.", restored.size(), this.snapshotPath);
+            }
+        } catch (IOException | RuntimeException e) {
+            LOGGER.warn("Ignoring unreadable catalog snapshot {}: {}", this.snapshotPath, e.getMessage());
+        }
+    }
+
+    /**
+     * Write the current catalog, including comments and in-app ratings, to the local snapshot.
+     */
+    private void writeSnapshot() {
+        final List<Movie> current = getMovies();
+        if (this.snapshotPath == null || current.isEmpty()) {
+            return;
+        }
+        try {
+            CatalogSnapshot.write(current, this.snapshotPath);
+        } catch (IOException e) {
+            LOGGER.warn("Failed to write catalog snapshot {}: {}", this.snapshotPath, e.getMessage());
+        }
+    }
+
+    /**
+     * Load the catalog on the background worker and flip the readiness state.
+     * A load that yields no movies is retried after {@link #LOAD_RETRY_SECONDS}.
+     */
+    private void loadCatalog() {
+        final LocalDate today = LocalDate.now(ZoneOffset.UTC);
+        boolean published = false;
+        try {
+            published = ingest();
+        } catch (RuntimeException e) {
+            LOGGER.error("Failed to load movie catalog: {}", e.getMessage(), e);
+        }
+
+        if (getMovies().isEmpty()) {
+            this.catalogState = CatalogState.FAILED;
+            LOGGER.warn("Movie catalog is empty, retrying in {} seconds.", LOAD_RETRY_SECONDS);
+            this.loader.schedule(this::loadCatalog, LOAD_RETRY_SECONDS, TimeUnit.SECONDS);
+        } else {
+            this.catalogState = CatalogState.READY;
+            LOGGER.info("Movie catalog ready with {} movies.", getMovies().size());
+            if (published) {
+                this.changesMergedThrough = today;
+            }
+            writeSnapshot();
+        }
+    }
+
+    /**
+     * Get the lifecycle state of the catalog.
+     *
+     * @return the catalog state
      */
     @Override
-    public void writeFile(final boolean useProcessedMovie, final Format format) {
-        final List<Movie> moviesToWrite = useProcessedMovie ? this.processedMovies : this.movies;
+    public CatalogState getCatalogState() {
+        return this.catalogState;
+    }
 
+    /**
+     * Whether the catalog has been populated.
+     *
+     * @return true once the catalog is ready
+     */
+    public boolean isReady() {
+        return this.catalogState == CatalogState.READY;
+    }
+
+    /**
+     * Stop the background worker, write a final snapshot and release the movie source when the application
+     * shuts down.
+     */
+    @PreDestroy
+    public void shutdown() {
+        this.loader.shutdownNow();
+        writeSnapshot();
+        this.source.close();
+    }
+
+    /**
+     * Create the daemon loader thread so a stuck TMDB call never blocks JVM shutdown.
+     *
+     * @param task the worker body
+     * @return the new thread
+     */
+    private static Thread newLoaderThread(final Runnable task) {
+        final Thread thread = new Thread(task, "catalog-loader-" + LOADER_THREAD_IDS.incrementAndGet());
+        thread.setDaemon(true);
+        return thread;
+    }
+
+    /**
+     * Get the current version of the catalog, for reads that must see one consistent version.
+     *
+     * @return the published catalog
+     */
+    public Catalog getCatalog() {
+        return this.catalog.get();
+    }
+
+    /**
+     * Get the original movies fetched from the TMDB API.
+     *
+     * @return unmodifiable list of original movies
+     */
+    public List<Movie> getMovies() {
+        return this.catalog.get().getMovies();
+    }
+
+    /**
+     * Retrieve a single movie by ID.
+     *
+     * @param movieId the movie ID
+     * @return movie with matching ID or null if not found
+     */
+    public Movie getMovieById(final int movieId) {
+        return this.catalog.get().getMovie(movieId);
+    }
+
+    /**
+     * Write movies to a local file in specified format.
+     *
+     * @param moviesToWrite the movies to write, e.g. the result of {@link #searchByFilter}
+     * @param format        output file format
+     */
+    @Override
+    public void writeFile(final List<Movie> moviesToWrite, final Format format) {
         try (OutputStream out = new FileOutputStream("output." + format.toString().toLowerCase(Locale.ROOT))) {
             DataFormatter.write(moviesToWrite, format, out);
             LOGGER.info("Movie data written successfully in {} format.", format);
@@ -106,34 +433,38 @@ public class MovieModel implements MovieModelInterface {
     }
 
     /**
-     * Apply filters to the movie list.
+     * Filter and sort the current catalog. The catalog is read once, so a reload running at the same time
+     * is either fully seen or not at all; the returned list is new and owned by the caller.
      *
-     * @param filtersStrategy map of filter types to values
+     * @param filtersStrategy map of filter types to values, or null or empty for all movies
+     * @param sortType        sorting strategy to apply, or null for the default title order
+     * @return the matching movies in sort order
      */
     @Override
-    public void searchByFilter(final Map<MovieFilterType, Object> filtersStrategy) {
-        if (filtersStrategy == null || filtersStrategy.isEmpty()) {
-            this.processedMovies = this.movies;
-            sortMovieList(this.defaultSortType);
-            return;
-        }
-
-        final List<Movie> moviesToFilter = this.movies;
-        this.processedMovies = MovieFilterFacilitator.filter(moviesToFilter, filtersStrategy);
-        sortMovieList(this.defaultSortType);
+    public List<Movie> searchByFilter(final Map<MovieFilterType, Object> filtersStrategy,
+                                      final MovieSorterType sortType) {
+        final List<Movie> current = getMovies();
+        final List<Movie> filtered = filtersStrategy == null || filtersStrategy.isEmpty()
+                ? current : MovieFilterFacilitator.filter(current, filtersStrategy);
+        return sortMovies(filtered, sortType == null ? DEFAULT_SORT_TYPE : sortType);
     }
+
     /**
-     * Sort the current processed movie list by the specified sort type.
+     * Sort a movie list by the specified sort type.
      *
-     * @param sortType sorting strategy to apply
+     * @param moviesToSort the movies to sort; left untouched
+     * @param sortType     sorting strategy to apply, or null to keep the order
+     * @return a new sorted list, or the given list if no sort type is given
      */
-    public void sortMovieList(final MovieSorterType sortType) {
+    public List<Movie> sortMovies(final List<Movie> moviesToSort, final MovieSorterType sortType) {
         if (sortType == null) {
-            return;
+            return moviesToSort;
         }
 
-        final List<Movie> moviesToSort = this.processedMovies;
-        this.processedMovies = switch (sortType) {
+        final SortEvent event = new SortEvent();
+        event.begin();
+        final long started = System.nanoTime();
+        final List<Movie> sorted = switch (sortType) {
             case TITLE_ASC -> MovieSorter.sortByTitle(moviesToSort);
             case TITLE_DESC -> MovieSorter.sortByTitleDescending(moviesToSort);
             case YEAR_ASC -> MovieSorter.sortByYearAscending(moviesToSort);
@@ -143,46 +474,38 @@ public class MovieModel implements MovieModelInterface {
             case INAPP_RATING_ASC -> MovieSorter.sortByInAppRatingAscending(moviesToSort);
             case INAPP_RATING_DESC -> MovieSorter.sortByInAppRating(moviesToSort);
         };
+        AppMetrics.recordSort(sortType, started);
+        event.complete(sortType, moviesToSort.size());
+        return sorted;
     }
 
     /**
-     * Set the default sorting strategy.
-     *
-     * @param defaultSortType default sorting type to use
-     */
-    public void setDefaultSortType(final MovieSorterType defaultSortType) {
-        this.defaultSortType = defaultSortType;
-    }
-
-    /**
-     * Add a user comment to a specific movie.
+     * Add a user comment to a specific movie. The comment is appended to the movie's comment log in place,
+     * so concurrent commenters neither block each other nor republish the catalog.
      *
      * @param movieId the movie's ID
      * @param comment the user's comment
      */
     @Override
     public void updateComments(final int movieId, final String comment) {
-        for (final Movie movie : this.movies) {
-            if (movie.getMovieId() == movieId) {
-                movie.addComment(comment);
-                break;
-            }
+        final Movie movie = this.catalog.get().getMovie(movieId);
+        if (movie != null) {
+            movie.addComment(comment);
         }
     }
 
     /**
-     * Add a user in-app rating to a specific movie.
+     * Add a user in-app rating to a specific movie. The rating goes straight into the movie's striped
+     * accumulators, so concurrent raters of one movie neither block each other nor republish the catalog.
      *
      * @param movieId the movie's ID
      * @param rating  the user's rating
      */
     @Override
     public void updateRating(final int movieId, final double rating) {
-        for (final Movie movie : this.movies) {
-            if (movie.getMovieId() == movieId) {
-                movie.addInAppRating(rating);
-                break;
-            }
+        final Movie movie = this.catalog.get().getMovie(movieId);
+        if (movie != null) {
+            movie.addInAppRating(rating);
         }
     }
 }
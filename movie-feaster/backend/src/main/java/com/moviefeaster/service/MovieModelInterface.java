@@ -2,6 +2,7 @@ package com.moviefeaster.service;
 
 import com.moviefeaster.model.*;
 
+import java.util.List;
 import java.util.Map;
 
 /**
@@ -17,19 +18,29 @@ public interface MovieModelInterface {
     void fetchMovies();
 
     /**
-     * Write the movie data stored in the model to the file.
+     * Get the lifecycle state of the catalog, used for readiness checks.
      *
-     * @param useProcessedMovie Whether to use processed movies or all movies
+     * @return the catalog state
+     */
+    CatalogState getCatalogState();
+
+    /**
+     * Write the given movies to the file.
+     *
+     * @param moviesToWrite The movies to write
      * @param format The format to write the movies in
      */
-    void writeFile(boolean useProcessedMovie, Format format);
+    void writeFile(List<Movie> moviesToWrite, Format format);
 
     /**
-     * Filter the movie that conforms with user's input.
+     * Filter the movies that conform with user's input and sort them.
+     * Results are computed per call and never shared between callers.
      *
      * @param filtersStrategy The filtering strategy to apply
+     * @param sortType The sorting strategy to apply, or null for the default order
+     * @return the matching movies in sort order
      */
-    void searchByFilter(Map<MovieFilterType, Object> filtersStrategy);
+    List<Movie> searchByFilter(Map<MovieFilterType, Object> filtersStrategy, MovieSorterType sortType);
 
     /**
      * Update comments with user-given comment.
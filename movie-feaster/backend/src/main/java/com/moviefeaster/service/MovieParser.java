@@ -4,6 +4,8 @@ import com.moviefeaster.model.*;
 import com.moviefeaster.utils.*;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.springframework.stereotype.Service;
@@ -12,8 +14,14 @@ import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
 import java.io.InputStream;
-import java.time.LocalDate;
 import java.util.*;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * Utility class to parse movies from a JSON InputStream.
@@ -24,124 +32,499 @@ public final class MovieParser {
     /** Logger instance for logging events and errors. */
     private static final Logger LOGGER = LoggerFactory.getLogger(MovieParser.class);
 
-    /** The deserialized and cleaned list of Movies. */
-    private static final List<Movie> MOVIES = new ArrayList<>();
-
-    /** The placeholder class for original JSON structure. */
-    private static List<MovieSummary> moviesSummary;
+    /** Shared, thread-safe mapper used for all TMDB payloads. */
+    private static final ObjectMapper MAPPER = new ObjectMapper();
 
     /** The number of movies we're trying to parse. */
-    private static final int NUMBER_OF_MOVIES = 200;
+    private static final int NUMBER_OF_MOVIES = EnvConfig.getInt("NUMBER_OF_MOVIES", 200);
 
     /** The root image URL to TMDB poster. */
     private static final String IMAGE_BASE_URL = "https://image.tmdb.org/t/p/w500";
 
+    /** Maximum number of credits requests in flight at once. */
+    private static final int CREDITS_CONCURRENCY = EnvConfig.getInt("CREDITS_CONCURRENCY", 16);
+
+    /** Seconds to wait for a single credits request before ingesting the movie without crew. */
+    private static final long CREDITS_TIMEOUT_SECONDS = EnvConfig.getLong("CREDITS_TIMEOUT_SECONDS", 10);
+
+    /** {@link #CREDITS_TIMEOUT_SECONDS} in nanoseconds. */
+    private static final long CREDITS_TIMEOUT_NANOS = TimeUnit.SECONDS.toNanos(CREDITS_TIMEOUT_SECONDS);
+
+    /** Maximum number of cast names kept per movie, or 0 for the full cast. */
+    private static final int CAST_LIMIT = EnvConfig.getInt("CAST_LIMIT", 0);
+
+    /** Whether movies are ingested with a credits call or a combined details call. */
+    private static final IngestionMode INGESTION_MODE = resolveIngestionMode();
+
+    /** Sub-resources {@link #readDetails} reads from a combined details payload. */
+    private static final Set<String> PARSED_APPENDS = Set.of("credits", "release_dates");
+
+    /** Sub-resources appended to the details call in {@link IngestionMode#APPEND} mode. */
+    private static final String APPENDS = resolveAppends();
+
+    /** Counter used to name credits worker threads. */
+    private static final AtomicInteger CREDITS_THREAD_IDS = new AtomicInteger();
+
     /** Private constructor to prevent instantiation. */
     private MovieParser() { }
 
     /**
      * Get the TOP 50 movie list of the month from TMDB api.
      *
-     * @return List of parsed movies
+     * @return List of parsed movies, or an empty list if the discover listing could not be read
      */
     public static List<Movie> getMoviesFromApi() {
+        List<Movie> movies = new ArrayList<>();
         try {
-            parseMovies();
-            cleanMovieSummary();
+            movies = fetchCatalog();
         } catch (IOException e) {
-            LOGGER.error("Failed to parse movies from API", e);
+            LOGGER.error("Failed to ingest movies: {}", e.getMessage());
         }
-        return MOVIES;
+        return movies;
+    }
+
+    /**
+     * Ingest the catalog from TMDB, failing when the discover listing is too incomplete to stand for it.
+     * Reading the discover pages and fetching the per-movie data are timed as separate ingestion stages.
+     *
+     * @return the movies in popularity order
+     * @throws IOException if too many discover pages failed, e.g. because the discover circuit is open
+     */
+    public static List<Movie> fetchCatalog() throws IOException {
+        final long discoverStarted = System.nanoTime();
+        final List<MovieSummary> summaries = parseMovies();
+        AppMetrics.recordIngestStage("discover", discoverStarted);
+
+        final long detailsStarted = System.nanoTime();
+        final List<Movie> movies = cleanMovieSummary(summaries);
+        AppMetrics.recordIngestStage("details", detailsStarted);
+        return movies;
     }
 
     /**
      * Getter for the parsed movies with original form.
      *
-     * @return Collection of movie summaries
+     * @return Collection of movie summaries, or an empty collection if the discover listing could not be read
      */
     public static Collection<MovieSummary> getParsedMoviesSummary() {
-        parseMovies();
-        return moviesSummary == null ? Collections.emptyList() : moviesSummary;
+        Collection<MovieSummary> summaries = new ArrayList<>();
+        try {
+            summaries = parseMovies();
+        } catch (IOException e) {
+            LOGGER.error("Failed to read the discover listing: {}", e.getMessage());
+        }
+        return summaries;
     }
 
     /**
      * Parses the top N movies JSON into a list of MovieSummary objects.
+     * Each discover page is streamed straight into summaries as it arrives.
+     *
+     * @return the summaries in popularity order
+     * @throws IOException if too many discover pages failed
      */
-    private static void parseMovies() {
-        try (InputStream jsonStream = NetUtil.getTop50MoviesJson()) {
-            final ObjectMapper mapper = new ObjectMapper();
-            final JsonNode root = mapper.readTree(jsonStream);
-
-            if (root.isArray()) {
-                moviesSummary = mapper.readerForListOf(MovieSummary.class).readValue(root);
-            } else {
-                final JsonNode results = root.path("results");
-                moviesSummary = mapper.readerForListOf(MovieSummary.class).readValue(results);
+    private static List<MovieSummary> parseMovies() throws IOException {
+        return NetUtil.fetchDiscoverPages(MovieParser::readResults);
+    }
+
+    /**
+     * Stream the "results" array of one discover page into MovieSummary objects
+     * without building a tree of the whole page.
+     *
+     * @param body the discover page body
+     * @return the summaries of the page
+     * @throws IOException if the body is not valid JSON
+     */
+    static List<MovieSummary> readResults(final InputStream body) throws IOException {
+        final List<MovieSummary> summaries = new ArrayList<>();
+        try (JsonParser parser = MAPPER.getFactory().createParser(body)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                return summaries;
+            }
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                final String field = parser.currentName();
+                final JsonToken value = parser.nextToken();
+                if ("results".equals(field) && value == JsonToken.START_ARRAY) {
+                    while (parser.nextToken() == JsonToken.START_OBJECT) {
+                        summaries.add(MAPPER.readValue(parser, MovieSummary.class));
+                    }
+                } else {
+                    parser.skipChildren();
+                }
             }
-        } catch (IOException e) {
-            LOGGER.error("Error while parsing movie summary", e);
-            moviesSummary = Collections.emptyList();
         }
+        return summaries;
     }
 
     /**
      * Transfer a movie type from the original JSON form to a conform movie type.
+     * Credits (or combined details, see {@link IngestionMode}) are fetched concurrently on a bounded pool,
+     * then reassembled in the original popularity order.
+     * A call that fails or exceeds {@link #CREDITS_TIMEOUT_SECONDS} leaves the movie without crew, and the whole
+     * fan-out shares one deadline (see {@link #deadlineFor}), so a slow call never delays the others.
+     * Every call builds a new list, so concurrent or repeated ingestions never share state.
+     *
+     * @param moviesSummary the summaries to convert
+     * @return the deserialized and cleaned list of Movies
+     */
+    private static List<Movie> cleanMovieSummary(final List<MovieSummary> moviesSummary) {
+        final int limit = Math.min(moviesSummary.size(), NUMBER_OF_MOVIES);
+        final List<MovieSummary> toIngest = moviesSummary.subList(0, limit);
+        final List<Movie> movies = new ArrayList<>(limit);
+        final ExecutorService executor = newCreditsPool(limit);
+        final long deadline = deadlineFor(limit);
+
+        try {
+            final List<Future<Movie>> futures = new ArrayList<>(limit);
+            for (final MovieSummary movie : toIngest) {
+                futures.add(executor.submit(() -> fetchMovie(movie, callDeadline(deadline))));
+            }
+
+            for (int i = 0; i < limit; i++) {
+                final Movie movieToAdd = awaitMovie(toIngest.get(i), futures.get(i), deadline);
+                if (movieToAdd != null) {
+                    movies.add(movieToAdd);
+                }
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        return movies;
+    }
+
+    /**
+     * Fetch the current details and credits of specific movies, e.g. the ones the TMDB change feed
+     * reports as edited, bypassing the response cache. The calls run concurrently on the same bounded pool as a
+     * full ingestion.
+     * A movie whose call fails or exceeds {@link #CREDITS_TIMEOUT_SECONDS} is left out; the calls share one
+     * deadline like a full ingestion.
      *
-     * @throws IOException If the NetUtil unable to connect TMDB api to acquire a crew list by ID
+     * @param movieIds the TMDB movie IDs to fetch
+     * @return the fetched movies, in the order of the IDs
      */
-    private static void cleanMovieSummary() throws IOException {
-        for (final MovieSummary movie : moviesSummary) {
-            final int movieId = movie.getMovieID();
-            final String title = movie.getTitle();
-
-            final String releaseDate = movie.getReleaseDate();
-            final LocalDate date = LocalDate.parse(releaseDate);
-            final int year = date.getYear();
-
-            final List<Genre> genre = convertGenreIds(movie.getGenreID());
-            final String overview = movie.getOverview();
-            final List<String> directors = new ArrayList<>();
-            final List<String> castings = new ArrayList<>();
-            final double rating = movie.getRating();
-            final String imgUrl = IMAGE_BASE_URL + movie.getPosterPath();
-
-            try (InputStream crewJson = NetUtil.getCrewJsonStream(movie.getMovieID())) {
-                if (crewJson != null) {
-                    final ObjectMapper mapper = new ObjectMapper();
-                    final JsonNode root = mapper.readTree(crewJson);
-
-                    final JsonNode crewArray = root.get("crew");
-                    for (final JsonNode member : crewArray) {
-                        if ("Director".equals(member.get("job").asText())) {
-                            directors.add(member.get("name").asText());
-                        }
+    public static List<Movie> getMoviesByIds(final Collection<Integer> movieIds) {
+        final List<Integer> ids = new ArrayList<>(movieIds);
+        final List<Movie> movies = new ArrayList<>(ids.size());
+        if (ids.isEmpty()) {
+            return movies;
+        }
+        final ExecutorService executor = newCreditsPool(ids.size());
+        final long deadline = deadlineFor(ids.size());
+
+        try {
+            final List<Future<Movie>> futures = new ArrayList<>(ids.size());
+            for (final int movieId : ids) {
+                futures.add(executor.submit(() -> NetUtil.getFreshMovieDetails(movieId, APPENDS,
+                        callDeadline(deadline), MovieParser::readDetails)));
+            }
+
+            for (int i = 0; i < ids.size(); i++) {
+                final Future<Movie> future = futures.get(i);
+                try {
+                    final Movie movie = future.get(remainingNanos(deadline), TimeUnit.NANOSECONDS);
+                    if (movie != null) {
+                        movies.add(movie);
                     }
+                } catch (TimeoutException e) {
+                    future.cancel(true);
+                    LOGGER.warn("Timed out fetching details for movie ID {}", ids.get(i));
+                } catch (ExecutionException e) {
+                    LOGGER.error("Failed to fetch details for movie ID {}", ids.get(i), e.getCause());
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    break;
+                }
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        return movies;
+    }
+
+    /**
+     * Get the deadline of a fan-out: every wave of {@link #CREDITS_CONCURRENCY} calls gets
+     * {@link #CREDITS_TIMEOUT_SECONDS}, so the fan-out takes at most as long as its slowest calls.
+     *
+     * @param tasks number of calls
+     * @return the deadline, in {@link System#nanoTime()} terms
+     */
+    private static long deadlineFor(final int tasks) {
+        final int threads = Math.max(1, Math.min(CREDITS_CONCURRENCY, tasks));
+        final int waves = (tasks + threads - 1) / threads;
+        return System.nanoTime() + CREDITS_TIMEOUT_NANOS * Math.max(1, waves);
+    }
+
+    /**
+     * Get the deadline of a call starting now: {@link #CREDITS_TIMEOUT_SECONDS} from now, but never past the
+     * deadline of the fan-out it belongs to.
+     *
+     * @param deadline the deadline of the fan-out
+     * @return the deadline of the call, in {@link System#nanoTime()} terms
+     */
+    private static long callDeadline(final long deadline) {
+        final long now = System.nanoTime();
+        return now + Math.min(CREDITS_TIMEOUT_NANOS, deadline - now);
+    }
+
+    /**
+     * Get the time left until a deadline.
+     *
+     * @param deadline the deadline, in {@link System#nanoTime()} terms
+     * @return the nanoseconds left, or 0 if the deadline has passed
+     */
+    private static long remainingNanos(final long deadline) {
+        return Math.max(0, deadline - System.nanoTime());
+    }
+
+    /**
+     * Wait for a single credits task, falling back to a crew-less movie when it fails or misses the deadline.
+     * The HTTP call of a task still running at the deadline is cancelled by its own call deadline.
+     *
+     * @param movie    the summary the task was started for
+     * @param future   the pending credits task
+     * @param deadline the deadline of the fan-out
+     * @return the ingested movie, or null if the wait was interrupted
+     */
+    private static Movie awaitMovie(final MovieSummary movie, final Future<Movie> future, final long deadline) {
+        Movie result = null;
+        try {
+            result = future.get(remainingNanos(deadline), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            LOGGER.warn("Timed out fetching crew for movie ID {}", movie.getMovieID());
+            result = toMovie(movie, new ArrayList<>(), new ArrayList<>());
+        } catch (ExecutionException e) {
+            LOGGER.error("Failed to fetch crew for movie ID {}, keeping it without crew", movie.getMovieID(),
+                    e.getCause());
+            result = toMovie(movie, new ArrayList<>(), new ArrayList<>());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            future.cancel(true);
+        }
+        return result;
+    }
 
-                    final JsonNode castArray = root.get("cast");
-                    for (final JsonNode actor : castArray) {
-                        final String actorName = actor.get("name").asText();
-                        castings.add(actorName);
+    /**
+     * Fetch the per-movie data according to the ingestion mode and build the conform movie type.
+     *
+     * @param movie    the summary to convert
+     * @param deadline when the HTTP calls for the movie are cancelled
+     * @return the ingested movie
+     */
+    private static Movie fetchMovie(final MovieSummary movie, final long deadline) {
+        Movie result = null;
+        if (INGESTION_MODE == IngestionMode.APPEND) {
+            result = NetUtil.getMovieDetails(movie.getMovieID(), APPENDS, deadline, MovieParser::readDetails);
+        }
+        return result != null ? result : toMovieWithCredits(movie, deadline);
+    }
+
+    /**
+     * Fetch the credits of a movie and build the conform movie type.
+     *
+     * @param movie    the summary to convert
+     * @param deadline when the credits call is cancelled
+     * @return the movie with directors and castings populated
+     */
+    private static Movie toMovieWithCredits(final MovieSummary movie, final long deadline) {
+        CreditsParser.Credits credits = NetUtil.getCredits(movie.getMovieID(), deadline,
+                body -> CreditsParser.parse(body, CAST_LIMIT));
+        if (credits == null) {
+            credits = new CreditsParser.Credits();
+        }
+        return toMovie(movie, credits.getDirectors(), credits.getCastings());
+    }
+
+    /**
+     * Build a movie directly from a combined details payload
+     * ({@code /movie/{id}?append_to_response=credits,...}).
+     * The payload is walked token by token; only the fields a Movie needs are kept.
+     *
+     * @param body the combined details body
+     * @return the movie with details and credits populated
+     * @throws IOException if the body is not valid JSON
+     */
+    static Movie readDetails(final InputStream body) throws IOException {
+        final Movie.Builder builder = new Movie.Builder();
+        final List<Genre> genres = new ArrayList<>();
+        String releaseDate = "";
+        String fallbackDate = "";
+        int movieId = 0;
+
+        try (JsonParser parser = MAPPER.getFactory().createParser(body)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw new IOException("Details payload is not a JSON object");
+            }
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                final String field = parser.currentName();
+                parser.nextToken();
+                switch (field) {
+                    case "id" -> movieId = parser.getValueAsInt();
+                    case "title" -> builder.title(parser.getValueAsString());
+                    case "overview" -> builder.overview(parser.getValueAsString());
+                    case "popularity" -> builder.rating(parser.getValueAsDouble());
+                    case "release_date" -> releaseDate = parser.getValueAsString("");
+                    case "poster_path" -> {
+                        final String posterPath = parser.getValueAsString("");
+                        builder.imgUrl(posterPath.isEmpty() ? "" : IMAGE_BASE_URL + posterPath);
                     }
+                    case "genres" -> readGenres(parser, genres);
+                    case "credits" -> {
+                        final CreditsParser.Credits credits = CreditsParser.parse(parser, CAST_LIMIT);
+                        builder.directors(credits.getDirectors()).castings(credits.getCastings());
+                    }
+                    case "release_dates" -> fallbackDate = firstReleaseDate(MAPPER.readTree(parser));
+                    default -> parser.skipChildren();
                 }
             }
+        }
 
-            Movie movieToAdd = new Movie.Builder()
-                    .movieId(movieId)
-                    .title(title)
-                    .directors(directors)
-                    .year(year)
-                    .rating(rating)
-                    .genres(genre)
-                    .overview(overview)
-                    .castings(castings)
-                    .imgUrl(imgUrl)
-                    .build();
-            MOVIES.add(movieToAdd);
-
-            if (MOVIES.size() >= NUMBER_OF_MOVIES) {
+        return builder.movieId(movieId)
+                .year(yearFrom(releaseDate.isBlank() ? fallbackDate : releaseDate, movieId))
+                .genres(genres)
+                .build();
+    }
+
+    /**
+     * Read the ids of a details "genres" array into Genre enums.
+     *
+     * @param parser parser positioned on the genres START_ARRAY
+     * @param genres list receiving the converted genres
+     * @throws IOException if the payload is not valid JSON
+     */
+    private static void readGenres(final JsonParser parser, final List<Genre> genres) throws IOException {
+        if (parser.currentToken() != JsonToken.START_ARRAY) {
+            parser.skipChildren();
+            return;
+        }
+        while (parser.nextToken() == JsonToken.START_OBJECT) {
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                final String field = parser.currentName();
+                parser.nextToken();
+                if ("id".equals(field)) {
+                    final Genre genre = Genre.fromId(parser.getValueAsInt());
+                    if (genre != null) {
+                        genres.add(genre);
+                    }
+                } else {
+                    parser.skipChildren();
+                }
+            }
+        }
+    }
+
+    /**
+     * Get the first release date of the appended release_dates block.
+     *
+     * @param releaseDates the release_dates node
+     * @return the first non-blank release date, or an empty string
+     */
+    private static String firstReleaseDate(final JsonNode releaseDates) {
+        String date = "";
+        for (final JsonNode country : releaseDates.path("results")) {
+            date = country.path("release_dates").path(0).path("release_date").asText("");
+            if (!date.isBlank()) {
                 break;
             }
         }
+        return date;
+    }
+
+    /**
+     * Get the year of a TMDB date string.
+     *
+     * @param date    a date such as 2010-07-15 or 2010-07-15T00:00:00.000Z, or null
+     * @param movieId the movie ID, for logging
+     * @return the release year, or 0 if unknown
+     */
+    private static int yearFrom(final String date, final int movieId) {
+        final int yearLength = 4;
+        int year = 0;
+        if (date != null && date.length() >= yearLength) {
+            try {
+                year = Integer.parseInt(date.substring(0, yearLength));
+            } catch (NumberFormatException e) {
+                LOGGER.warn("Unparseable release date {} for movie ID {}", date, movieId);
+            }
+        }
+        return year;
+    }
+
+    /**
+     * Build the conform movie type from a summary and its credits. A missing or malformed release date leaves
+     * the year unknown instead of failing.
+     *
+     * @param movie     the summary to convert
+     * @param directors the directors of the movie
+     * @param castings  the cast of the movie
+     * @return the built movie
+     */
+    static Movie toMovie(final MovieSummary movie, final List<String> directors,
+                                 final List<String> castings) {
+        return new Movie.Builder()
+                .movieId(movie.getMovieID())
+                .title(movie.getTitle())
+                .directors(directors)
+                .year(yearFrom(movie.getReleaseDate(), movie.getMovieID()))
+                .rating(movie.getRating())
+                .genres(convertGenreIds(movie.getGenreID()))
+                .overview(movie.getOverview())
+                .castings(castings)
+                .imgUrl(IMAGE_BASE_URL + movie.getPosterPath())
+                .build();
+    }
+
+    /**
+     * Read the ingestion mode from `.env`, defaulting to {@link IngestionMode#CREDITS}.
+     *
+     * @return the configured ingestion mode
+     */
+    private static IngestionMode resolveIngestionMode() {
+        final IngestionMode mode = IngestionMode.fromValue(EnvConfig.get("INGESTION_MODE", "credits"));
+        return mode != null ? mode : IngestionMode.CREDITS;
+    }
+
+    /**
+     * Read the appended sub-resources from `.env`, making sure credits are always included. Only the sub-resources
+     * {@link #readDetails} parses are kept; anything else would be downloaded on every movie and then skipped.
+     *
+     * @return comma separated sub-resources
+     */
+    private static String resolveAppends() {
+        final Set<String> appends = new LinkedHashSet<>();
+        appends.add("credits");
+        for (final String append : EnvConfig.get("TMDB_APPEND", "credits").split(",")) {
+            final String name = append.trim();
+            if (PARSED_APPENDS.contains(name)) {
+                appends.add(name);
+            } else if (!name.isEmpty()) {
+                LOGGER.warn("Ignoring TMDB_APPEND entry {}; only {} are read", name, PARSED_APPENDS);
+            }
+        }
+        return String.join(",", appends);
+    }
+
+    /**
+     * Create the bounded pool that runs per-movie calls.
+     *
+     * @param tasks number of calls that will be submitted
+     * @return a pool of at most {@link #CREDITS_CONCURRENCY} threads
+     */
+    private static ExecutorService newCreditsPool(final int tasks) {
+        return Executors.newFixedThreadPool(Math.max(1, Math.min(CREDITS_CONCURRENCY, tasks)),
+                MovieParser::newCreditsThread);
+    }
+
+    /**
+     * Create a daemon worker thread for the credits pool so a stuck call never blocks JVM shutdown.
+     *
+     * @param task the worker body
+     * @return the new thread
+     */
+    private static Thread newCreditsThread(final Runnable task) {
+        final Thread thread = new Thread(task, "credits-fetch-" + CREDITS_THREAD_IDS.incrementAndGet());
+        thread.setDaemon(true);
+        return thread;
     }
 
     /**
@@ -0,0 +1,65 @@
+package com.moviefeaster.service;
+
+import com.moviefeaster.model.Movie;
+
+import java.io.IOException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Where the movie catalog is ingested from. {@link MovieModel} asks its source for a full catalog on startup
+ * and on every full refresh; sources that expose a change feed also serve incremental refreshes.
+ */
+public interface MovieSource extends AutoCloseable {
+
+    /**
+     * Ingest the full catalog. A source that cannot vouch for the result, e.g. because part of it failed or its
+     * upstream circuit is open, throws instead of returning what it got, so the last good catalog is kept.
+     *
+     * @return the movies, or an empty list if the source has none
+     * @throws IOException if the catalog could not be ingested
+     */
+    List<Movie> fetchMovies() throws IOException;
+
+    /**
+     * Whether this source can list changed movies for incremental refreshes.
+     *
+     * @return true if {@link #fetchChangedIds} and {@link #fetchMoviesByIds} are supported
+     */
+    default boolean hasChangeFeed() {
+        return false;
+    }
+
+    /**
+     * List the IDs of movies changed between two days (inclusive).
+     *
+     * @param startDate first day of the range
+     * @param endDate   last day of the range
+     * @return the changed movie IDs, or null if the feed could not be read
+     */
+    default Set<Integer> fetchChangedIds(final LocalDate startDate, final LocalDate endDate) {
+        return new HashSet<>();
+    }
+
+    /**
+     * Ingest specific movies.
+     *
+     * @param movieIds the movie IDs
+     * @return the movies that could be ingested
+     */
+    default List<Movie> fetchMoviesByIds(final Collection<Integer> movieIds) {
+        return new ArrayList<>();
+    }
+
+    /**
+     * Release resources held by the source.
+     */
+    @Override
+    default void close() {
+        // Nothing to release by default
+    }
+}
@@ -0,0 +1,51 @@
+package com.moviefeaster.service;
+
+import com.moviefeaster.model.MovieSourceType;
+import com.moviefeaster.utils.EnvConfig;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.nio.file.Path;
+
+/**
+ * Creates the {@link MovieSource} selected through `.env`.
+ */
+public final class MovieSourceFactory {
+
+    /** Logger instance for this class. */
+    private static final Logger LOGGER = LoggerFactory.getLogger(MovieSourceFactory.class);
+
+    /** Private constructor to prevent instantiation. */
+    private MovieSourceFactory() { }
+
+    /**
+     * Create the source named by {@code MOVIE_SOURCE} (tmdb, export, fixture, stub or synthetic).
+     * Without it, the export source is used when {@code TMDB_EXPORT_FILE} is set and the live API otherwise.
+     *
+     * @return the configured source
+     */
+    public static MovieSource fromEnv() {
+        final String exportFile = EnvConfig.get("TMDB_EXPORT_FILE", "");
+        final String configured = EnvConfig.get("MOVIE_SOURCE", exportFile.isBlank() ? "tmdb" : "export");
+        MovieSourceType type = MovieSourceType.fromValue(configured);
+        if (type == null) {
+            LOGGER.warn("Unknown MOVIE_SOURCE '{}', using the TMDB API", configured);
+            type = MovieSourceType.TMDB;
+        }
+
+        LOGGER.info("Ingesting movies from the {} source", type.getValue());
+        return switch (type) {
+            case EXPORT -> {
+                final String detailsDir = EnvConfig.get("TMDB_DETAILS_DIR", "");
+                yield new ExportMovieSource(Path.of(exportFile), detailsDir.isBlank() ? null : Path.of(detailsDir),
+                        EnvConfig.getInt("EXPORT_LIMIT", 0));
+            }
+            case FIXTURE -> new FixtureMovieSource(Path.of(EnvConfig.get("FIXTURE_DIR", "fixtures")));
+            case STUB -> new StubMovieSource();
+            case SYNTHETIC -> new SyntheticMovieSource(EnvConfig.getInt("SYNTHETIC_SIZE", 10_000),
+                    EnvConfig.getLong("SYNTHETIC_SEED", 42));
+            case TMDB -> new TmdbMovieSource();
+        };
+    }
+}
@@ -0,0 +1,52 @@
+package com.moviefeaster.service;
+
+import com.moviefeaster.utils.NetUtil;
+import com.moviefeaster.utils.StubTmdbServer;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+/**
+ * Runs the regular TMDB ingestion against an embedded {@link StubTmdbServer}, so ingest throughput and
+ * tail latency can be measured on a laptop without an API token. All TMDB calls of the process are
+ * pointed at the stub for as long as this source is open.
+ */
+public class StubMovieSource extends TmdbMovieSource {
+
+    /** The embedded server. */
+    private final StubTmdbServer server;
+
+    /** API root in use before the stub was started. */
+    private final String previousBaseUrl;
+
+    /**
+     * Start the stub server configured through `.env` and point TMDB calls at it.
+     */
+    public StubMovieSource() {
+        try {
+            this.server = StubTmdbServer.fromEnv();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to start the stub TMDB server", e);
+        }
+        this.previousBaseUrl = NetUtil.getBaseUrl();
+        NetUtil.setBaseUrl(server.getBaseUrl());
+    }
+
+    /**
+     * Get the embedded server, e.g. to read its request counters.
+     *
+     * @return the server
+     */
+    public StubTmdbServer getServer() {
+        return server;
+    }
+
+    /**
+     * Stop the stub server and restore the previous API root.
+     */
+    @Override
+    public void close() {
+        NetUtil.setBaseUrl(previousBaseUrl);
+        server.close();
+    }
+}
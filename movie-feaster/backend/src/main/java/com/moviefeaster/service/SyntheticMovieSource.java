@@ -0,0 +1,49 @@
+package com.moviefeaster.service;
+
+import com.moviefeaster.model.Movie;
+import com.moviefeaster.utils.SyntheticCatalogGenerator;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.List;
+
+/**
+ * Ingests a generated catalog of any size for scale testing, without network or files.
+ * The same size and seed always produce the same movies.
+ */
+public class SyntheticMovieSource implements MovieSource {
+
+    /** Logger instance for this class. */
+    private static final Logger LOGGER = LoggerFactory.getLogger(SyntheticMovieSource.class);
+
+    /** Number of movies to generate. */
+    private final int size;
+
+    /** Generator of the catalog. */
+    private final SyntheticCatalogGenerator generator;
+
+    /**
+     * Create the source.
+     *
+     * @param size number of movies to generate
+     * @param seed seed of the catalog
+     */
+    public SyntheticMovieSource(final int size, final long seed) {
+        this.size = size;
+        this.generator = new SyntheticCatalogGenerator(seed);
+    }
+
+    /**
+     * Generate the catalog.
+     *
+     * @return the movies with IDs 1 to the configured size
+     */
+    @Override
+    public List<Movie> fetchMovies() {
+        final long start = System.nanoTime();
+        final List<Movie> movies = generator.generate(Math.max(0, size));
+        LOGGER.info("Generated {} synthetic movies in {} ms", movies.size(), (System.nanoTime() - start) / 1_000_000);
+        return movies;
+    }
+}
@@ -0,0 +1,61 @@
+package com.moviefeaster.service;
+
+import com.moviefeaster.model.Movie;
+import com.moviefeaster.utils.NetUtil;
+
+import java.io.IOException;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Ingests the catalog from the TMDB API: the most popular movies from the discover listing, and
+ * changed movies from the change feed.
+ */
+public class TmdbMovieSource implements MovieSource {
+
+    /**
+     * Ingest the most popular movies.
+     *
+     * @return the movies
+     * @throws IOException if too many discover pages failed, e.g. because the discover circuit is open
+     */
+    @Override
+    public List<Movie> fetchMovies() throws IOException {
+        return MovieParser.fetchCatalog();
+    }
+
+    /**
+     * TMDB has a change feed.
+     *
+     * @return true
+     */
+    @Override
+    public boolean hasChangeFeed() {
+        return true;
+    }
+
+    /**
+     * List changed movies from TMDB's change feed.
+     *
+     * @param startDate first day of the range
+     * @param endDate   last day of the range
+     * @return the changed movie IDs, or null if the feed could not be read
+     */
+    @Override
+    public Set<Integer> fetchChangedIds(final LocalDate startDate, final LocalDate endDate) {
+        return NetUtil.getChangedMovieIds(startDate, endDate);
+    }
+
+    /**
+     * Ingest specific movies through the details and credits call.
+     *
+     * @param movieIds the movie IDs
+     * @return the movies that could be ingested
+     */
+    @Override
+    public List<Movie> fetchMoviesByIds(final Collection<Integer> movieIds) {
+        return MovieParser.getMoviesByIds(movieIds);
+    }
+}
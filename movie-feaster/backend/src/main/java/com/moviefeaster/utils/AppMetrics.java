@@ -0,0 +1,232 @@
+package com.moviefeaster.utils;
+
+import com.moviefeaster.model.CircuitState;
+import com.moviefeaster.model.Format;
+import com.moviefeaster.model.MovieFilterType;
+import com.moviefeaster.model.MovieSorterType;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
+
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Meters of the movie pipeline, registered with Micrometer's global registry so the static utilities can
+ * record without a Spring context. Spring Boot adds its Prometheus registry to the global one, so everything
+ * recorded here is scraped from {@code /actuator/prometheus}; in plain unit tests the global registry is
+ * empty and recording costs next to nothing. Meters are looked up once, not on every call: the enum-tagged ones
+ * are built with the class, the others on first use of a tag value. Registries added to the global one later,
+ * such as Spring Boot's, still receive them.
+ * The TMDB client's retry, rate limiter, circuit and bulkhead counters are bound once by
+ * {@link HttpClientProvider} and read whenever the registry is scraped.
+ * Request counts and latencies of the REST endpoints come from Spring Boot's own
+ * {@code http.server.requests} timer.
+ */
+public final class AppMetrics {
+
+    /** Prefix of all meter names. */
+    private static final String PREFIX = "moviefeaster.";
+
+    /** Registry every meter is registered with. */
+    private static final MeterRegistry REGISTRY = Metrics.globalRegistry;
+
+    /** Filter timers by filter type, built once so a search does not look meters up. */
+    private static final Map<MovieFilterType, Timer> FILTER_TIMERS = new EnumMap<>(MovieFilterType.class);
+
+    /** Sort timers by sort type. */
+    private static final Map<MovieSorterType, Timer> SORT_TIMERS = new EnumMap<>(MovieSorterType.class);
+
+    /** Export timers by format. */
+    private static final Map<Format, Timer> EXPORT_TIMERS = new EnumMap<>(Format.class);
+
+    /** Export size summaries by format. */
+    private static final Map<Format, DistributionSummary> EXPORT_SIZES = new EnumMap<>(Format.class);
+
+    /** Ingestion stage timers by stage name, registered on first use. */
+    private static final Map<String, Timer> INGEST_TIMERS = new ConcurrentHashMap<>();
+
+    /** TMDB call timers by endpoint and outcome, registered on first use. */
+    private static final Map<String, Timer> TMDB_TIMERS = new ConcurrentHashMap<>();
+
+    /** Requests rejected because the catalog is still loading. */
+    private static final Counter CATALOG_UNAVAILABLE = Counter.builder(PREFIX + "catalog.unavailable")
+            .description("Requests rejected because the catalog is still loading")
+            .register(REGISTRY);
+
+    static {
+        for (final MovieFilterType type : MovieFilterType.values()) {
+            FILTER_TIMERS.put(type, Timer.builder(PREFIX + "filter")
+                    .description("Time to apply one filter of a search")
+                    .tag("type", tagValue(type.name()))
+                    .register(REGISTRY));
+        }
+        for (final MovieSorterType type : MovieSorterType.values()) {
+            SORT_TIMERS.put(type, Timer.builder(PREFIX + "sort")
+                    .description("Time to sort a movie list")
+                    .tag("type", type.getValue())
+                    .register(REGISTRY));
+        }
+        for (final Format format : Format.values()) {
+            final String tag = tagValue(format.name());
+            EXPORT_TIMERS.put(format, Timer.builder(PREFIX + "export")
+                    .description("Time to write a movie list")
+                    .tag("format", tag)
+                    .register(REGISTRY));
+            EXPORT_SIZES.put(format, DistributionSummary.builder(PREFIX + "export.size")
+                    .description("Size of a written movie list")
+                    .baseUnit("bytes")
+                    .tag("format", tag)
+                    .register(REGISTRY));
+        }
+    }
+
+    /** Private constructor preventing instantiation. */
+    private AppMetrics() {
+        // Prevent instantiation
+    }
+
+    /**
+     * Record the time one filter of a search took.
+     *
+     * @param type        the filter type
+     * @param startNanos  {@link System#nanoTime()} when the filter started
+     */
+    public static void recordFilter(final MovieFilterType type, final long startNanos) {
+        FILTER_TIMERS.get(type).record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Record the time a sort took.
+     *
+     * @param type       the sort type
+     * @param startNanos {@link System#nanoTime()} when the sort started
+     */
+    public static void recordSort(final MovieSorterType type, final long startNanos) {
+        SORT_TIMERS.get(type).record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Record an export: its latency and its size.
+     *
+     * @param format     the export format
+     * @param bytes      number of bytes written
+     * @param startNanos {@link System#nanoTime()} when the export started
+     */
+    public static void recordExport(final Format format, final long bytes, final long startNanos) {
+        EXPORT_TIMERS.get(format).record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+        EXPORT_SIZES.get(format).record(bytes);
+    }
+
+    /**
+     * Record the time an ingestion stage took, e.g. reading the discover pages.
+     *
+     * @param stage      the stage name
+     * @param startNanos {@link System#nanoTime()} when the stage started
+     */
+    public static void recordIngestStage(final String stage, final long startNanos) {
+        INGEST_TIMERS.computeIfAbsent(stage, key -> Timer.builder(PREFIX + "ingest.stage")
+                        .description("Time of one stage of a catalog ingestion")
+                        .tag("stage", key)
+                        .register(REGISTRY))
+                .record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Record a TMDB call.
+     *
+     * @param endpoint   the TMDB endpoint, e.g. {@code details}
+     * @param outcome    {@code success}, {@code error} or {@code rejected}
+     * @param startNanos {@link System#nanoTime()} when the call started
+     */
+    public static void recordTmdbCall(final String endpoint, final String outcome, final long startNanos) {
+        TMDB_TIMERS.computeIfAbsent(endpoint + ' ' + outcome, key -> Timer.builder(PREFIX + "tmdb.requests")
+                        .description("TMDB calls from start to end, so including retries and rate limiter waits")
+                        .tag("endpoint", endpoint)
+                        .tag("outcome", outcome)
+                        .register(REGISTRY))
+                .record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Expose the counters of the TMDB client's retry interceptor and rate limiter. They are read from the
+     * objects whenever the registry is scraped, so nothing is recorded on the request path.
+     *
+     * @param retry       the retry interceptor
+     * @param rateLimiter the rate limiter, or null when requests are not paced
+     */
+    public static void bindRetries(final RetryInterceptor retry, final RateLimiter rateLimiter) {
+        FunctionCounter.builder(PREFIX + "tmdb.retries", retry, RetryInterceptor::getRetries)
+                .description("TMDB requests retried after a 429, 5xx or I/O failure")
+                .register(REGISTRY);
+        FunctionCounter.builder(PREFIX + "tmdb.rate.limited", retry, RetryInterceptor::getRateLimited)
+                .description("TMDB responses with status 429 Too Many Requests")
+                .register(REGISTRY);
+        FunctionCounter.builder(PREFIX + "tmdb.retries.exhausted", retry, RetryInterceptor::getExhausted)
+                .description("TMDB calls that still failed after their last retry")
+                .register(REGISTRY);
+        if (rateLimiter == null) {
+            return;
+        }
+        FunctionCounter.builder(PREFIX + "tmdb.sent", rateLimiter, RateLimiter::getAcquired)
+                .description("Requests sent to TMDB through the rate limiter")
+                .register(REGISTRY);
+        FunctionCounter.builder(PREFIX + "tmdb.throttled", rateLimiter, RateLimiter::getThrottled)
+                .description("Requests to TMDB that had to wait for a rate limiter token")
+                .register(REGISTRY);
+        FunctionCounter.builder(PREFIX + "tmdb.throttle.wait", rateLimiter, RateLimiter::getWaitedMillis)
+                .description("Time requests to TMDB spent waiting for a rate limiter token")
+                .baseUnit("milliseconds")
+                .register(REGISTRY);
+    }
+
+    /**
+     * Expose the upstream guard: a gauge per endpoint and circuit state that is 1 while the endpoint's circuit
+     * is in that state and 0 otherwise, the calls each open circuit rejected and the calls the full bulkhead
+     * rejected.
+     *
+     * @param guard the upstream guard
+     */
+    public static void bindUpstreamGuard(final UpstreamGuard guard) {
+        for (final String endpoint : guard.getEndpoints()) {
+            for (final CircuitState state : CircuitState.values()) {
+                Gauge.builder(PREFIX + "tmdb.circuit.state", guard, g -> g.getState(endpoint) == state ? 1 : 0)
+                        .description("Whether the endpoint's circuit is in the given state")
+                        .tag("endpoint", endpoint)
+                        .tag("state", tagValue(state.name()))
+                        .register(REGISTRY);
+            }
+            FunctionCounter.builder(PREFIX + "tmdb.circuit.rejected", guard, g -> g.getCircuitRejected(endpoint))
+                    .description("TMDB calls rejected because the endpoint's circuit was open")
+                    .tag("endpoint", endpoint)
+                    .register(REGISTRY);
+        }
+        FunctionCounter.builder(PREFIX + "tmdb.bulkhead.rejected", guard, UpstreamGuard::getBulkheadRejected)
+                .description("TMDB calls rejected because the bulkhead had no free slot")
+                .register(REGISTRY);
+    }
+
+    /**
+     * Count a request rejected because the catalog is still loading.
+     */
+    public static void countCatalogUnavailable() {
+        CATALOG_UNAVAILABLE.increment();
+    }
+
+    /**
+     * Turn an enum constant name into a tag value, e.g. {@code TITLE_KEYWORD} into {@code title_keyword}.
+     *
+     * @param name the constant name
+     * @return the tag value
+     */
+    private static String tagValue(final String name) {
+        return name.toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,22 @@
+package com.moviefeaster.utils;
+
+import java.io.IOException;
+
+/**
+ * Thrown when a TMDB call is rejected before reaching the network, because the circuit of its endpoint
+ * is open or the bulkhead has no free slot.
+ */
+public class CallRejectedException extends IOException {
+
+    /** Serialization version. */
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Create the exception.
+     *
+     * @param message why the call was rejected
+     */
+    public CallRejectedException(final String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,347 @@
+package com.moviefeaster.utils;
+
+import com.moviefeaster.model.Genre;
+import com.moviefeaster.model.Movie;
+import com.moviefeaster.model.RatingAggregate;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Reads and writes a compact binary snapshot of the movie catalog, including user comments
+ * and in-app ratings, so the application can warm-start from local disk.
+ */
+public final class CatalogSnapshot {
+
+    /** Marker at the start of every snapshot file ("MFS1"). */
+    private static final int MAGIC = 0x4D465331;
+
+    /** Version of the record layout below; bumped whenever the layout changes. */
+    private static final int FORMAT_VERSION = 2;
+
+    /** Oldest version still read: it stored every individual in-app rating instead of the totals. */
+    private static final int RATING_LIST_VERSION = 1;
+
+    /** Buffer size used for file streams. */
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    /** Smallest number of bytes a movie record can take: a version 1 record with every string and list empty. */
+    private static final int MIN_MOVIE_BYTES = 48;
+
+    /** Private constructor preventing instantiation. */
+    private CatalogSnapshot() {
+        // Prevent instantiation
+    }
+
+    /**
+     * Write the movies to the snapshot file. The data is written to a temporary file first and then
+     * moved into place, so a crash mid-write never leaves a truncated snapshot behind.
+     *
+     * @param movies the movies to write
+     * @param path   the snapshot file
+     * @throws IOException if the file cannot be written
+     */
+    public static void write(final Collection<Movie> movies, final Path path) throws IOException {
+        final Path absolute = path.toAbsolutePath();
+        Files.createDirectories(absolute.getParent());
+        final Path temp = Files.createTempFile(absolute.getParent(), absolute.getFileName().toString(), ".tmp");
+
+        try (DataOutputStream out = new DataOutputStream(
+                new BufferedOutputStream(Files.newOutputStream(temp), BUFFER_SIZE))) {
+            out.writeInt(MAGIC);
+            out.writeInt(FORMAT_VERSION);
+            out.writeInt(movies.size());
+            for (final Movie movie : movies) {
+                writeMovie(out, movie);
+            }
+        } catch (IOException e) {
+            Files.deleteIfExists(temp);
+            throw e;
+        }
+
+        Files.move(temp, absolute, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Read the movies from a snapshot file.
+     *
+     * @param path the snapshot file
+     * @return the movies, or an empty list if the file does not exist
+     * @throws IOException if the file is unreadable, corrupt or of an unsupported format version; a length or
+     *                     count that does not fit in the rest of the file is reported as corrupt
+     */
+    public static List<Movie> read(final Path path) throws IOException {
+        if (!Files.exists(path)) {
+            return new ArrayList<>();
+        }
+
+        try (SnapshotInput in = new SnapshotInput(
+                new BufferedInputStream(Files.newInputStream(path), BUFFER_SIZE), Files.size(path))) {
+            if (in.readInt() != MAGIC) {
+                throw new IOException("Not a catalog snapshot: " + path);
+            }
+            final int version = in.readInt();
+            if (version != FORMAT_VERSION && version != RATING_LIST_VERSION) {
+                throw new IOException("Unsupported catalog snapshot version " + version);
+            }
+
+            final int count = in.readCount(MIN_MOVIE_BYTES);
+            final List<Movie> movies = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                movies.add(readMovie(in, version));
+            }
+            return movies;
+        }
+    }
+
+    /**
+     * Write one movie record.
+     *
+     * @param out   the stream to write to
+     * @param movie the movie
+     * @throws IOException if the stream cannot be written
+     */
+    private static void writeMovie(final DataOutputStream out, final Movie movie) throws IOException {
+        out.writeInt(movie.getMovieId());
+        writeString(out, movie.getTitle());
+        out.writeInt(movie.getYear());
+        out.writeDouble(movie.getRating());
+        writeString(out, movie.getOverview());
+        writeString(out, movie.getImgUrl());
+        writeStrings(out, movie.getDirectors());
+        writeStrings(out, movie.getCastings());
+
+        out.writeInt(movie.getGenres().size());
+        for (final Genre genre : movie.getGenres()) {
+            out.writeInt(genre.getGenreId());
+        }
+
+        writeStrings(out, movie.getComments());
+
+        final RatingAggregate ratings = movie.getInAppRatings();
+        out.writeLong(ratings.getCount());
+        out.writeDouble(ratings.getSum());
+        for (final long bucket : ratings.getHistogram()) {
+            out.writeLong(bucket);
+        }
+    }
+
+    /**
+     * Read one movie record.
+     *
+     * @param in      the stream to read from
+     * @param version the format version of the file
+     * @return the movie
+     * @throws IOException if the stream is truncated or unreadable
+     */
+    private static Movie readMovie(final SnapshotInput in, final int version) throws IOException {
+        final Movie.Builder builder = new Movie.Builder()
+                .movieId(in.readInt())
+                .title(readString(in))
+                .year(in.readInt())
+                .rating(in.readDouble())
+                .overview(readString(in))
+                .imgUrl(readString(in))
+                .directors(readStrings(in))
+                .castings(readStrings(in));
+
+        final int genreCount = in.readCount(Integer.BYTES);
+        final List<Genre> genres = new ArrayList<>(genreCount);
+        for (int i = 0; i < genreCount; i++) {
+            final Genre genre = Genre.fromId(in.readInt());
+            if (genre != null) {
+                genres.add(genre);
+            }
+        }
+
+        final Movie movie = builder.genres(genres).build();
+        movie.setComments(readStrings(in));
+        movie.setInAppRatings(version == RATING_LIST_VERSION ? readRatingList(in) : readRatingTotals(in));
+        return movie;
+    }
+
+    /**
+     * Read the in-app ratings of a record as count, sum and histogram.
+     *
+     * @param in the stream to read from
+     * @return the ratings
+     * @throws IOException if the stream is truncated or unreadable, or the totals are negative or not finite
+     */
+    private static RatingAggregate readRatingTotals(final SnapshotInput in) throws IOException {
+        final long count = in.readLong();
+        final double sum = in.readDouble();
+        final long[] histogram = new long[RatingAggregate.BUCKETS];
+        for (int i = 0; i < histogram.length; i++) {
+            histogram[i] = in.readLong();
+            if (histogram[i] < 0) {
+                throw new IOException("Corrupt catalog snapshot: negative rating bucket " + histogram[i]);
+            }
+        }
+        if (count < 0 || !Double.isFinite(sum)) {
+            throw new IOException("Corrupt catalog snapshot: " + count + " ratings summing to " + sum);
+        }
+        return RatingAggregate.restore(count, sum, histogram);
+    }
+
+    /**
+     * Read the in-app ratings of a version 1 record, a count-prefixed list of the individual ratings.
+     *
+     * @param in the stream to read from
+     * @return the ratings
+     * @throws IOException if the stream is truncated or unreadable
+     */
+    private static RatingAggregate readRatingList(final SnapshotInput in) throws IOException {
+        final int count = in.readCount(Double.BYTES);
+        final List<Double> ratings = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            ratings.add(in.readDouble());
+        }
+        return RatingAggregate.of(ratings);
+    }
+
+    /**
+     * Write a count-prefixed list of strings.
+     *
+     * @param out    the stream to write to
+     * @param values the strings
+     * @throws IOException if the stream cannot be written
+     */
+    private static void writeStrings(final DataOutputStream out, final List<String> values) throws IOException {
+        out.writeInt(values.size());
+        for (final String value : values) {
+            writeString(out, value);
+        }
+    }
+
+    /**
+     * Read a count-prefixed list of strings.
+     *
+     * @param in the stream to read from
+     * @return the strings
+     * @throws IOException if the stream is truncated or unreadable
+     */
+    private static List<String> readStrings(final SnapshotInput in) throws IOException {
+        final int count = in.readCount(Integer.BYTES);
+        final List<String> values = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            values.add(readString(in));
+        }
+        return values;
+    }
+
+    /**
+     * Write a length-prefixed UTF-8 string; unlike writeUTF this has no 64KB limit.
+     *
+     * @param out   the stream to write to
+     * @param value the string, null is written as empty
+     * @throws IOException if the stream cannot be written
+     */
+    private static void writeString(final DataOutputStream out, final String value) throws IOException {
+        final byte[] bytes = (value == null ? "" : value).getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    /**
+     * Read a length-prefixed UTF-8 string.
+     *
+     * @param in the stream to read from
+     * @return the string
+     * @throws IOException if the stream is truncated or unreadable
+     */
+    private static String readString(final SnapshotInput in) throws IOException {
+        final byte[] bytes = new byte[in.readCount(1)];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Snapshot file stream that knows how many bytes are left, so a corrupt length or count is reported
+     * as an IOException instead of allocating an oversized array.
+     */
+    private static final class SnapshotInput extends DataInputStream {
+
+        /** Size of the file in bytes. */
+        private final long size;
+
+        /**
+         * Create the stream.
+         *
+         * @param in   the file stream
+         * @param size size of the file in bytes
+         */
+        SnapshotInput(final InputStream in, final long size) {
+            super(new CountingInputStream(in));
+            this.size = size;
+        }
+
+        /**
+         * Read a length or element count and check that that many elements fit in the rest of the file.
+         *
+         * @param minBytes smallest number of bytes one element takes
+         * @return the count
+         * @throws IOException if the stream is truncated, or the count is negative or larger than the rest allows
+         */
+        int readCount(final int minBytes) throws IOException {
+            final int count = readInt();
+            final long left = size - ((CountingInputStream) in).position;
+            if (count < 0 || count > left / minBytes) {
+                throw new IOException("Corrupt catalog snapshot: count " + count + " with " + left + " bytes left");
+            }
+            return count;
+        }
+    }
+
+    /** Stream counting the bytes read through it. */
+    private static final class CountingInputStream extends FilterInputStream {
+
+        /** Number of bytes read or skipped so far. */
+        private long position;
+
+        /**
+         * Create the stream.
+         *
+         * @param in the stream to count
+         */
+        CountingInputStream(final InputStream in) {
+            super(in);
+        }
+
+        @Override
+        public int read() throws IOException {
+            final int value = super.read();
+            if (value >= 0) {
+                position++;
+            }
+            return value;
+        }
+
+        @Override
+        public int read(final byte[] buffer, final int offset, final int length) throws IOException {
+            final int read = super.read(buffer, offset, length);
+            if (read > 0) {
+                position += read;
+            }
+            return read;
+        }
+
+        @Override
+        public long skip(final long n) throws IOException {
+            final long skipped = super.skip(n);
+            position += skipped;
+            return skipped;
+        }
+    }
+}
@@ -0,0 +1,160 @@
+package com.moviefeaster.utils;
+
+import com.moviefeaster.model.CircuitState;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Circuit breaker for one upstream endpoint.
+ * After a number of consecutive failures the circuit opens and calls are rejected without touching
+ * the network. Once the open interval has passed, one probe call is let through (half-open):
+ * its success closes the circuit, its failure opens it again for another interval.
+ */
+public final class CircuitBreaker {
+
+    /** Logger instance for this class. */
+    private static final Logger LOGGER = LoggerFactory.getLogger(CircuitBreaker.class);
+
+    /** Name of the guarded endpoint, for logs and metrics. */
+    private final String name;
+
+    /** Consecutive failures that open the circuit. */
+    private final int failureThreshold;
+
+    /** How long the circuit stays open before a probe, in nanoseconds. */
+    private final long openNanos;
+
+    /** Source of monotonic time in nanoseconds. */
+    private final LongSupplier clock;
+
+    /** Current state. */
+    private CircuitState state = CircuitState.CLOSED;
+
+    /** Consecutive failures while closed. */
+    private int consecutiveFailures;
+
+    /** Time the circuit last opened. */
+    private long openedAtNanos;
+
+    /** Whether the half-open probe is in flight. */
+    private boolean probeInFlight;
+
+    /** Number of calls rejected while open. */
+    private final AtomicLong rejected = new AtomicLong();
+
+    /**
+     * Create a closed circuit breaker.
+     *
+     * @param name             name of the guarded endpoint
+     * @param failureThreshold consecutive failures that open the circuit, at least 1
+     * @param openMillis       milliseconds the circuit stays open before a probe
+     */
+    public CircuitBreaker(final String name, final int failureThreshold, final long openMillis) {
+        this(name, failureThreshold, openMillis, System::nanoTime);
+    }
+
+    /**
+     * Create a closed circuit breaker driven by the given clock.
+     *
+     * @param name             name of the guarded endpoint
+     * @param failureThreshold consecutive failures that open the circuit, at least 1
+     * @param openMillis       milliseconds the circuit stays open before a probe
+     * @param clock            monotonic time source in nanoseconds
+     */
+    CircuitBreaker(final String name, final int failureThreshold, final long openMillis, final LongSupplier clock) {
+        this.name = name;
+        this.failureThreshold = Math.max(1, failureThreshold);
+        this.openNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(0, openMillis));
+        this.clock = clock;
+    }
+
+    /**
+     * Ask whether a call may proceed. Every permitted call must be followed by
+     * {@link #recordSuccess()}, {@link #recordFailure()} or {@link #recordIgnored()}.
+     *
+     * @return true if the call may proceed, false if it must fail fast
+     */
+    public synchronized boolean tryAcquire() {
+        if (state == CircuitState.OPEN && clock.getAsLong() - openedAtNanos >= openNanos) {
+            state = CircuitState.HALF_OPEN;
+            probeInFlight = false;
+        }
+
+        boolean permitted = state == CircuitState.CLOSED;
+        if (state == CircuitState.HALF_OPEN && !probeInFlight) {
+            probeInFlight = true;
+            permitted = true;
+        }
+        if (!permitted) {
+            rejected.incrementAndGet();
+        }
+        return permitted;
+    }
+
+    /**
+     * Record a successful call, closing the circuit if it was probing.
+     */
+    public synchronized void recordSuccess() {
+        if (state != CircuitState.CLOSED) {
+            LOGGER.info("Circuit {} closed", name);
+        }
+        state = CircuitState.CLOSED;
+        consecutiveFailures = 0;
+        probeInFlight = false;
+    }
+
+    /**
+     * Record a failed call, opening the circuit when the threshold is reached or the probe failed.
+     */
+    public synchronized void recordFailure() {
+        consecutiveFailures++;
+        if (state == CircuitState.HALF_OPEN || consecutiveFailures >= failureThreshold) {
+            if (state != CircuitState.OPEN) {
+                LOGGER.warn("Circuit {} opened after {} consecutive failures", name, consecutiveFailures);
+            }
+            state = CircuitState.OPEN;
+            openedAtNanos = clock.getAsLong();
+            probeInFlight = false;
+        }
+    }
+
+    /**
+     * Record a permitted call that ended without a verdict on the endpoint, e.g. because it was
+     * cancelled or never sent. A pending probe slot is handed back.
+     */
+    public synchronized void recordIgnored() {
+        probeInFlight = false;
+    }
+
+    /**
+     * Get the current state.
+     *
+     * @return the circuit state
+     */
+    public synchronized CircuitState getState() {
+        return state;
+    }
+
+    /**
+     * Get the name of the guarded endpoint.
+     *
+     * @return the endpoint name
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Get the number of calls rejected without touching the network.
+     *
+     * @return the number of rejected calls
+     */
+    public long getRejected() {
+        return rejected.get();
+    }
+}
@@ -1,13 +1,25 @@
 package com.moviefeaster.utils;
+import java.io.FilterOutputStream;
+import java.io.IOException;
 import java.io.OutputStream;
 import java.io.PrintStream;
+import java.io.UncheckedIOException;
 import java.util.Collection;
+import java.util.List;
+import java.util.StringJoiner;
 import javax.annotation.Nonnull;
 import java.util.logging.Logger;
 
+import com.moviefeaster.jfr.ExportEvent;
 import com.moviefeaster.model.*;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.core.JsonGenerator;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
 import com.fasterxml.jackson.dataformat.xml.XmlMapper;
 
 /**
@@ -18,6 +30,12 @@ public final class DataFormatter {
     /** Logger instance for the DataFormatter class. */
     private static final Logger LOGGER = Logger.getLogger(DataFormatter.class.getName());
 
+    /** Mapper of the JSON export, see {@link #exportMapper}. */
+    private static final ObjectMapper JSON_MAPPER = exportMapper(new ObjectMapper());
+
+    /** Mapper of the XML export, see {@link #exportMapper}. */
+    private static final ObjectMapper XML_MAPPER = exportMapper(new XmlMapper());
+
     /**
      * Private constructor to prevent instantiation.
      */
@@ -70,16 +88,14 @@ public final class DataFormatter {
             descriptionBuilder.append(String.join(", ", movie.getCastings())).append("\n");
         }
 
-        // Format comments
-        if (!movie.getComments().isEmpty()) {
+        // Format every comment, oldest first
+        if (movie.getCommentCount() > 0) {
             descriptionBuilder.append("Comments:\n");
-            for (final String comment : movie.getComments()) {
-                descriptionBuilder.append("  - ").append(comment).append("\n");
-            }
+            movie.getCommentLog().forEach(comment -> descriptionBuilder.append("  - ").append(comment).append("\n"));
         }
 
         descriptionBuilder.append("App Rating: ").append(movie.getInAppRating())
-                .append(" (Total ratings: ").append(movie.getInAppRating()).append(")\n");
+                .append(" (Total ratings: ").append(movie.getInAppRatingCount()).append(")\n");
 
         return descriptionBuilder.toString();
     }
@@ -99,11 +115,22 @@ public final class DataFormatter {
         return movieListBuilder.toString();
     }
 
+    /**
+     * Configure a mapper for exports. Like the text and CSV exports, a movie is written with every comment,
+     * oldest first, streamed from its comment log, instead of only the newest comments of the detail view.
+     *
+     * @param mapper the mapper
+     * @return the mapper
+     */
+    private static ObjectMapper exportMapper(final ObjectMapper mapper) {
+        return mapper.addMixIn(Movie.class, MovieExportMixIn.class)
+                .registerModule(new SimpleModule().addSerializer(CommentLog.class, new CommentLogSerializer()));
+    }
+
     private static void writeXmlData(final Collection<Movie> movies, final OutputStream outputStream) {
         try {
-            final XmlMapper mapper = new XmlMapper();
             final MovieXMLWrapper wrapper = new MovieXMLWrapper(movies);
-            mapper.writerWithDefaultPrettyPrinter().writeValue(outputStream, wrapper);
+            XML_MAPPER.writerWithDefaultPrettyPrinter().writeValue(outputStream, wrapper);
         } catch (final Exception e) {
             LOGGER.severe("Error writing XML data: " + e.getMessage());
         }
@@ -111,8 +138,7 @@ public final class DataFormatter {
 
     private static void writeJsonData(final Collection<Movie> movies, final OutputStream outputStream) {
         try {
-            final ObjectMapper mapper = new ObjectMapper();
-            mapper.writerWithDefaultPrettyPrinter().writeValue(outputStream, movies);
+            JSON_MAPPER.writerWithDefaultPrettyPrinter().writeValue(outputStream, movies);
         } catch (final Exception e) {
             LOGGER.severe("Error writing JSON data: " + e.getMessage());
         }
@@ -157,7 +183,9 @@ public final class DataFormatter {
     }
 
     private static String joinComments(final Movie movie) {
-        return String.join("; ", movie.getComments());
+        final StringJoiner joiner = new StringJoiner("; ");
+        movie.getCommentLog().forEach(joiner::add);
+        return joiner.toString();
     }
 
     private static String formatCsvField(final String input) {
@@ -173,7 +201,8 @@ public final class DataFormatter {
     }
 
     /**
-     * Write the movie data in the specified format.
+     * Write the movie data in the specified format. The latency and size of every write are recorded
+     * per format, see {@link AppMetrics#recordExport}.
      *
      * @param movies the movies to write
      * @param format the format to write the movies in
@@ -182,24 +211,129 @@ public final class DataFormatter {
     public static void write(final @Nonnull Collection<Movie> movies,
                              final @Nonnull Format format,
                              final @Nonnull OutputStream outputStream) {
+        final ExportEvent event = new ExportEvent();
+        event.begin();
+        final long started = System.nanoTime();
+        final CountingOutputStream counted = new CountingOutputStream(outputStream);
         switch (format) {
             case XML:
-                writeXmlData(movies, outputStream);
+                writeXmlData(movies, counted);
                 break;
             case JSON:
-                writeJsonData(movies, outputStream);
+                writeJsonData(movies, counted);
                 break;
             case CSV:
-                writeCsvData(movies, outputStream);
+                writeCsvData(movies, counted);
                 break;
             default:
                 final String formattedMovies = formatMovieList(movies);
-                try (PrintStream printStream = new PrintStream(outputStream)) {
+                try (PrintStream printStream = new PrintStream(counted)) {
                     printStream.print(formattedMovies);
                 } catch (final Exception e) {
                     LOGGER.severe("Error writing formatted data: " + e.getMessage());
                 }
                 break;
         }
+        AppMetrics.recordExport(format, counted.getCount(), started);
+        event.complete(format, movies.size(), counted.getCount());
+    }
+
+    /** Export view of a movie: its whole comment log as "comments" instead of the newest comments. */
+    private abstract static class MovieExportMixIn {
+
+        /**
+         * Left out of exports, which carry every comment.
+         *
+         * @return the newest comments
+         */
+        @JsonIgnore
+        abstract List<Comment> getRecentComments();
+
+        /**
+         * Written as "comments" by {@link CommentLogSerializer}.
+         *
+         * @return the comment log
+         */
+        @JsonIgnore(false)
+        @JsonProperty("comments")
+        abstract CommentLog getCommentLog();
+    }
+
+    /** Writes a comment log as an array of its comment texts, oldest first, without copying the log. */
+    private static final class CommentLogSerializer extends StdSerializer<CommentLog> {
+
+        /** Create the serializer. */
+        CommentLogSerializer() {
+            super(CommentLog.class);
+        }
+
+        @Override
+        public void serialize(final CommentLog log, final JsonGenerator generator,
+                              final SerializerProvider provider) throws IOException {
+            generator.writeStartArray();
+            try {
+                log.forEach(text -> {
+                    try {
+                        generator.writeString(text);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+            generator.writeEndArray();
+        }
+    }
+
+    /** Output stream that counts the bytes passed through to another stream. */
+    private static final class CountingOutputStream extends FilterOutputStream {
+
+        /** Number of bytes written. */
+        private long count;
+
+        /**
+         * Wrap a stream.
+         *
+         * @param out the stream written to
+         */
+        CountingOutputStream(final OutputStream out) {
+            super(out);
+        }
+
+        /**
+         * Write a single byte.
+         *
+         * @param b the byte
+         * @throws IOException if the underlying stream fails
+         */
+        @Override
+        public void write(final int b) throws IOException {
+            out.write(b);
+            count++;
+        }
+
+        /**
+         * Write a range of bytes in one call to the underlying stream.
+         *
+         * @param b   the bytes
+         * @param off start of the range
+         * @param len length of the range
+         * @throws IOException if the underlying stream fails
+         */
+        @Override
+        public void write(final byte[] b, final int off, final int len) throws IOException {
+            out.write(b, off, len);
+            count += len;
+        }
+
+        /**
+         * Gets the number of bytes written.
+         *
+         * @return the byte count
+         */
+        long getCount() {
+            return count;
+        }
     }
 }
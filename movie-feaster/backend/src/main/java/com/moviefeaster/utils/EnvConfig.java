@@ -0,0 +1,117 @@
+package com.moviefeaster.utils;
+
+import io.github.cdimascio.dotenv.Dotenv;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Reads tuning knobs from the `.env` file (falling back to system environment variables).
+ * Missing or malformed values fall back to the supplied defaults.
+ */
+public final class EnvConfig {
+
+    /** Logger instance for reporting malformed values. */
+    private static final Logger LOGGER = LoggerFactory.getLogger(EnvConfig.class);
+
+    /** Loads environment variables from the `.env` file located in the project root, if present. */
+    private static final Dotenv DOTENV = Dotenv.configure().ignoreIfMissing().load();
+
+    /** Private constructor preventing instantiation. */
+    private EnvConfig() {
+        // Prevent instantiation
+    }
+
+    /**
+     * Get a raw string value.
+     *
+     * @param key the variable name
+     * @return the value, or null if not set
+     */
+    public static String get(final String key) {
+        return DOTENV.get(key);
+    }
+
+    /**
+     * Get a string value with a default.
+     *
+     * @param key          the variable name
+     * @param defaultValue value used when the variable is not set or blank
+     * @return the configured value or the default
+     */
+    public static String get(final String key, final String defaultValue) {
+        final String value = DOTENV.get(key);
+        return value == null || value.isBlank() ? defaultValue : value.trim();
+    }
+
+    /**
+     * Get an integer value with a default.
+     *
+     * @param key          the variable name
+     * @param defaultValue value used when the variable is not set or not a number
+     * @return the configured value or the default
+     */
+    public static int getInt(final String key, final int defaultValue) {
+        final String value = get(key, null);
+        int result = defaultValue;
+        if (value != null) {
+            try {
+                result = Integer.parseInt(value);
+            } catch (NumberFormatException e) {
+                LOGGER.warn("Ignoring non-numeric value for {}: {}", key, value);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Get a long value with a default.
+     *
+     * @param key          the variable name
+     * @param defaultValue value used when the variable is not set or not a number
+     * @return the configured value or the default
+     */
+    public static long getLong(final String key, final long defaultValue) {
+        final String value = get(key, null);
+        long result = defaultValue;
+        if (value != null) {
+            try {
+                result = Long.parseLong(value);
+            } catch (NumberFormatException e) {
+                LOGGER.warn("Ignoring non-numeric value for {}: {}", key, value);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Get a decimal value with a default.
+     *
+     * @param key          the variable name
+     * @param defaultValue value used when the variable is not set or not numeric
+     * @return the configured value or the default
+     */
+    public static double getDouble(final String key, final double defaultValue) {
+        final String value = get(key, null);
+        double result = defaultValue;
+        if (value != null) {
+            try {
+                result = Double.parseDouble(value);
+            } catch (NumberFormatException e) {
+                LOGGER.warn("Ignoring non-numeric value for {}: {}", key, value);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Get a boolean value with a default.
+     *
+     * @param key          the variable name
+     * @param defaultValue value used when the variable is not set
+     * @return the configured value or the default
+     */
+    public static boolean getBoolean(final String key, final boolean defaultValue) {
+        final String value = get(key, null);
+        return value == null ? defaultValue : Boolean.parseBoolean(value);
+    }
+}
@@ -0,0 +1,231 @@
+package com.moviefeaster.utils;
+
+import okhttp3.Cache;
+import okhttp3.CacheControl;
+import okhttp3.ConnectionPool;
+import okhttp3.Dispatcher;
+import okhttp3.Interceptor;
+import okhttp3.OkHttpClient;
+import okhttp3.Protocol;
+import okhttp3.Response;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Owns the single OkHttpClient shared by every TMDB call so that connections, TLS sessions
+ * and HTTP/2 streams are reused across discover and credits requests.
+ * Responses are kept in an on-disk cache that survives restarts: fresh entries are served from disk
+ * and stale ones are revalidated with If-None-Match / If-Modified-Since.
+ * Requests are paced by a token bucket and transient failures (429, 5xx) are retried with backoff;
+ * per-endpoint circuit breakers and a bulkhead make calls fail fast while TMDB is down.
+ * All limits can be tuned through `.env`.
+ */
+public final class HttpClientProvider {
+
+    /** Maximum number of idle connections kept in the pool. */
+    private static final int POOL_MAX_IDLE = EnvConfig.getInt("HTTP_POOL_MAX_IDLE", 32);
+
+    /** Seconds an idle connection is kept alive in the pool. */
+    private static final long KEEP_ALIVE_SECONDS = EnvConfig.getLong("HTTP_KEEP_ALIVE_SECONDS", 300);
+
+    /** Maximum number of asynchronous requests executing at once. */
+    private static final int MAX_REQUESTS = EnvConfig.getInt("HTTP_MAX_REQUESTS", 64);
+
+    /** Maximum number of asynchronous requests executing at once against one host. */
+    private static final int MAX_REQUESTS_PER_HOST = EnvConfig.getInt("HTTP_MAX_REQUESTS_PER_HOST", 32);
+
+    /** Seconds allowed to establish a connection. */
+    private static final long CONNECT_TIMEOUT_SECONDS = EnvConfig.getLong("HTTP_CONNECT_TIMEOUT_SECONDS", 10);
+
+    /** Seconds allowed between two reads of a response. */
+    private static final long READ_TIMEOUT_SECONDS = EnvConfig.getLong("HTTP_READ_TIMEOUT_SECONDS", 30);
+
+    /** Seconds allowed for a whole call, including redirects and reading the body. */
+    private static final long CALL_TIMEOUT_SECONDS = EnvConfig.getLong("HTTP_CALL_TIMEOUT_SECONDS", 60);
+
+    /** Directory of the persistent response cache; blank disables caching. */
+    private static final String CACHE_DIR = EnvConfig.get("HTTP_CACHE_DIR", ".http-cache");
+
+    /** Maximum size of the response cache in megabytes. */
+    private static final long CACHE_MAX_MB = EnvConfig.getLong("HTTP_CACHE_MAX_MB", 256);
+
+    /** Seconds a response is considered fresh when TMDB does not send its own max-age. */
+    private static final int CACHE_DEFAULT_MAX_AGE_SECONDS =
+            EnvConfig.getInt("HTTP_CACHE_DEFAULT_MAX_AGE_SECONDS", 3600);
+
+    /** Sustained rate of network requests to TMDB per second; 0 or less disables the limiter. */
+    private static final double RATE_LIMIT_RPS = EnvConfig.getDouble("TMDB_RATE_LIMIT_RPS", 40.0);
+
+    /** Number of requests that may be sent back to back before the rate applies. */
+    private static final int RATE_LIMIT_BURST = EnvConfig.getInt("TMDB_RATE_LIMIT_BURST", 20);
+
+    /** Retries after a 429, 5xx or I/O failure. */
+    private static final int MAX_RETRIES = EnvConfig.getInt("HTTP_MAX_RETRIES", 3);
+
+    /** Backoff before the first retry in milliseconds, doubled for each further retry. */
+    private static final long RETRY_BASE_DELAY_MILLIS = EnvConfig.getLong("HTTP_RETRY_BASE_DELAY_MILLIS", 250);
+
+    /** Upper bound on a single retry delay in milliseconds. */
+    private static final long RETRY_MAX_DELAY_MILLIS = EnvConfig.getLong("HTTP_RETRY_MAX_DELAY_MILLIS", 10_000);
+
+    /** Consecutive failures of an endpoint that open its circuit. */
+    private static final int CIRCUIT_FAILURE_THRESHOLD = EnvConfig.getInt("CIRCUIT_FAILURE_THRESHOLD", 5);
+
+    /** Milliseconds an open circuit rejects calls before letting a probe through. */
+    private static final long CIRCUIT_OPEN_MILLIS = EnvConfig.getLong("CIRCUIT_OPEN_MILLIS", 30_000);
+
+    /** Maximum TMDB calls in flight across all endpoints. */
+    private static final int BULKHEAD_MAX_CONCURRENT = EnvConfig.getInt("BULKHEAD_MAX_CONCURRENT", 32);
+
+    /** Milliseconds a call waits for a free bulkhead slot before failing fast. */
+    private static final long BULKHEAD_WAIT_MILLIS = EnvConfig.getLong("BULKHEAD_WAIT_MILLIS", 5_000);
+
+    /** Bytes per megabyte. */
+    private static final long BYTES_PER_MB = 1024L * 1024L;
+
+    /** Token bucket pacing network requests, or null when disabled. */
+    private static final RateLimiter RATE_LIMITER =
+            RATE_LIMIT_RPS > 0 ? new RateLimiter(RATE_LIMIT_RPS, RATE_LIMIT_BURST) : null;
+
+    /** Retries transient failures of every call. */
+    private static final RetryInterceptor RETRY = new RetryInterceptor(MAX_RETRIES,
+            RETRY_BASE_DELAY_MILLIS, RETRY_MAX_DELAY_MILLIS);
+
+    /** Circuit breakers and bulkhead around every call. */
+    private static final UpstreamGuard GUARD = new UpstreamGuard(CIRCUIT_FAILURE_THRESHOLD, CIRCUIT_OPEN_MILLIS,
+            BULKHEAD_MAX_CONCURRENT, BULKHEAD_WAIT_MILLIS);
+
+    /** The shared client instance. */
+    private static final OkHttpClient CLIENT = build();
+
+    static {
+        AppMetrics.bindRetries(RETRY, RATE_LIMITER);
+        AppMetrics.bindUpstreamGuard(GUARD);
+    }
+
+    /** Private constructor preventing instantiation. */
+    private HttpClientProvider() {
+        // Prevent instantiation
+    }
+
+    /**
+     * Get the shared client.
+     *
+     * @return the shared OkHttpClient
+     */
+    public static OkHttpClient client() {
+        return CLIENT;
+    }
+
+    /**
+     * Get the circuit breakers and bulkhead guarding TMDB calls.
+     *
+     * @return the shared guard
+     */
+    public static UpstreamGuard guard() {
+        return GUARD;
+    }
+
+    /**
+     * Get the counters of the rate limiter, the retry interceptor and the upstream guard, for the status
+     * endpoint. The same counters are registered as meters, see {@link AppMetrics#bindRetries}
+     * and {@link AppMetrics#bindUpstreamGuard}.
+     *
+     * @return counter name to value, in a stable order
+     */
+    public static Map<String, Long> metrics() {
+        final Map<String, Long> metrics = new LinkedHashMap<>();
+        metrics.put("retries", RETRY.getRetries());
+        metrics.put("rateLimitedResponses", RETRY.getRateLimited());
+        metrics.put("retriesExhausted", RETRY.getExhausted());
+        metrics.put("circuitRejected", GUARD.getCircuitRejected());
+        metrics.put("bulkheadRejected", GUARD.getBulkheadRejected());
+        if (RATE_LIMITER != null) {
+            metrics.put("requestsSent", RATE_LIMITER.getAcquired());
+            metrics.put("requestsThrottled", RATE_LIMITER.getThrottled());
+            metrics.put("throttledMillis", RATE_LIMITER.getWaitedMillis());
+        }
+        return metrics;
+    }
+
+    /**
+     * Build the client from the configured limits. HTTP/2 is preferred and negotiated through ALPN,
+     * so concurrent calls to TMDB are multiplexed over few connections.
+     * The upstream guard's circuits wrap everything, so a call that still fails after its retries counts once
+     * towards its circuit. Retries wrap the whole call, while the bulkhead and the rate limiter only apply to
+     * requests that reach the network, so cache hits never take a slot and are never throttled.
+     *
+     * @return a new client
+     */
+    private static OkHttpClient build() {
+        final Dispatcher dispatcher = new Dispatcher();
+        dispatcher.setMaxRequests(MAX_REQUESTS);
+        dispatcher.setMaxRequestsPerHost(MAX_REQUESTS_PER_HOST);
+
+        final OkHttpClient.Builder builder = new OkHttpClient.Builder()
+                .addInterceptor(GUARD)
+                .addInterceptor(RETRY)
+                .addNetworkInterceptor(GUARD::limitConcurrency);
+        if (RATE_LIMITER != null) {
+            builder.addNetworkInterceptor(HttpClientProvider::throttle);
+        }
+        if (!CACHE_DIR.isBlank() && CACHE_MAX_MB > 0) {
+            builder.cache(new Cache(new File(CACHE_DIR), CACHE_MAX_MB * BYTES_PER_MB))
+                    .addNetworkInterceptor(HttpClientProvider::applyDefaultFreshness);
+        }
+
+        return builder
+                .connectionPool(new ConnectionPool(POOL_MAX_IDLE, KEEP_ALIVE_SECONDS, TimeUnit.SECONDS))
+                .dispatcher(dispatcher)
+                .protocols(List.of(Protocol.HTTP_2, Protocol.HTTP_1_1))
+                .connectTimeout(CONNECT_TIMEOUT_SECONDS, TimeUnit.SECONDS)
+                .readTimeout(READ_TIMEOUT_SECONDS, TimeUnit.SECONDS)
+                .callTimeout(CALL_TIMEOUT_SECONDS, TimeUnit.SECONDS)
+                .build();
+    }
+
+    /**
+     * Wait for a rate limiter token before sending a request to the network.
+     *
+     * @param chain the interceptor chain
+     * @return the network response
+     * @throws IOException if the call fails or the thread is interrupted while waiting
+     */
+    private static Response throttle(final Interceptor.Chain chain) throws IOException {
+        try {
+            RATE_LIMITER.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for a rate limit token");
+        }
+        return chain.proceed(chain.request());
+    }
+
+    /**
+     * Give responses without an explicit freshness lifetime a default max-age, so they can be served
+     * from disk instead of revalidated on every call. Responses that forbid storing are left untouched,
+     * and validators (ETag, Last-Modified) are kept for later conditional requests.
+     *
+     * @param chain the interceptor chain
+     * @return the network response, possibly with a Cache-Control header added
+     * @throws IOException if the call fails
+     */
+    private static Response applyDefaultFreshness(final Interceptor.Chain chain) throws IOException {
+        final Response response = chain.proceed(chain.request());
+        final CacheControl cacheControl = response.cacheControl();
+        if (!response.isSuccessful() || cacheControl.noStore() || cacheControl.maxAgeSeconds() >= 0
+                || CACHE_DEFAULT_MAX_AGE_SECONDS <= 0) {
+            return response;
+        }
+        return response.newBuilder()
+                .removeHeader("Pragma")
+                .header("Cache-Control", "private, max-age=" + CACHE_DEFAULT_MAX_AGE_SECONDS)
+                .build();
+    }
+}
@@ -255,11 +255,8 @@ public final class MovieFilter {
         final String keywordLower = keyword.toLowerCase(Locale.ROOT);
 
         for (final Movie movie : movies) {
-            for (final String comment : movie.getComments()) {
-                if (comment.toLowerCase(Locale.ROOT).contains(keywordLower)) {
-                    results.add(movie);
-                    break;
-                }
+            if (movie.getCommentLog().anyMatch(comment -> comment.toLowerCase(Locale.ROOT).contains(keywordLower))) {
+                results.add(movie);
             }
         }
 
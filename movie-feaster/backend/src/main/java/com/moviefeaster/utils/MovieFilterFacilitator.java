@@ -1,5 +1,6 @@
 package com.moviefeaster.utils;
 
+import com.moviefeaster.jfr.FilterEvent;
 import com.moviefeaster.model.Movie;
 import com.moviefeaster.model.MovieFilterType;
 
@@ -28,6 +29,8 @@ public final class MovieFilterFacilitator {
      * @return list of movies that match the applied filters
      */
     public static List<Movie> filter(final List<Movie> movies, final Map<MovieFilterType, Object> filters) {
+        final FilterEvent event = new FilterEvent();
+        event.begin();
         List<Movie> result = new ArrayList<>(movies);
 
         for (final Map.Entry<MovieFilterType, Object> entry : filters.entrySet()) {
@@ -35,6 +38,7 @@ public final class MovieFilterFacilitator {
             final Object value = entry.getValue();
 
             List<Movie> filteredMovies = result;
+            final long started = System.nanoTime();
 
             filteredMovies = switch (type) {
                 case TITLE_KEYWORD -> MovieFilter.filterByTitle(filteredMovies, (String) value);
@@ -60,9 +64,11 @@ public final class MovieFilterFacilitator {
                 default -> throw new IllegalStateException("Unexpected value: " + type);
             };
 
+            AppMetrics.recordFilter(type, started);
             result = filteredMovies;
         }
 
+        event.complete(filters.keySet(), movies.size(), result.size());
         return result;
     }
 }
@@ -1,9 +1,11 @@
 package com.moviefeaster.utils;
 
 import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.node.ArrayNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
-import io.github.cdimascio.dotenv.Dotenv;
+import com.moviefeaster.jfr.TmdbCallEvent;
+import okhttp3.CacheControl;
+import okhttp3.Call;
+import okhttp3.Callback;
 import okhttp3.OkHttpClient;
 import okhttp3.Request;
 import okhttp3.Response;
@@ -15,6 +17,16 @@ import org.slf4j.LoggerFactory;
 import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
 /**
  * Class that pulls data from TMDB API.
@@ -26,26 +38,77 @@ public final class NetUtil {
     /** Logger instance for logging errors and debug info. */
     private static final Logger LOGGER = LoggerFactory.getLogger(NetUtil.class);
 
-    /** Loads environment variables from the `.env` file located in the project root. */
-    private static final Dotenv DOTENV = Dotenv.load();
-
     /** Access Api keys from `.env` file. */
-    private static final String API_TOKEN = DOTENV.get("TMDB_API_TOKEN");
+    private static final String API_TOKEN = EnvConfig.get("TMDB_API_TOKEN");
 
-    /** TMDB default api url. */
-    private static final String API_URL = "https://api.themoviedb.org/3/discover/movie";
+    /** Root of the TMDB API v3. */
+    private static final String DEFAULT_BASE_URL = "https://api.themoviedb.org/3";
 
     /** Number of movies to pull from API. */
-    private static final int RESULTS_AMOUNT = 200;
+    private static final int RESULTS_AMOUNT = EnvConfig.getInt("RESULTS_AMOUNT", 200);
+
+    /** Number of movies TMDB returns per discover page. */
+    private static final int PAGE_SIZE = 20;
+
+    /** Seconds to wait for all discover pages, which are fetched concurrently; late pages are skipped. */
+    private static final long DISCOVER_TIMEOUT_SECONDS = EnvConfig.getLong("DISCOVER_TIMEOUT_SECONDS", 30);
+
+    /** Share of discover pages that may fail before the whole listing is reported as failed. */
+    private static final double DISCOVER_MAX_FAILED_RATIO = EnvConfig.getDouble("DISCOVER_MAX_FAILED_RATIO", 0.1);
 
-    /** OkHttpClient instance used for making HTTP requests to the TMDb API. */
-    private static final OkHttpClient CLIENT = new OkHttpClient();
+    /** Root of the API calls are sent to; points at a local stub server for offline runs. */
+    private static volatile String baseUrl = EnvConfig.get("TMDB_BASE_URL", DEFAULT_BASE_URL);
+
+    /** Upper bound on change feed pages read in one query. */
+    private static final int CHANGES_MAX_PAGES = EnvConfig.getInt("CHANGES_MAX_PAGES", 100);
+
+    /** Shared mapper for small JSON bodies. */
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    /** Shared OkHttpClient instance used for making HTTP requests to the TMDb API. */
+    private static final OkHttpClient CLIENT = HttpClientProvider.client();
 
     /** Private constructor preventing instantiation. */
     private NetUtil() {
         // Prevent instantiation
     }
 
+    /**
+     * Converts a response body into a value while the response is still open.
+     *
+     * @param <T> the value type
+     */
+    @FunctionalInterface
+    public interface BodyReader<T> {
+
+        /**
+         * Read a value from a response body.
+         *
+         * @param body the response body stream, closed by the caller
+         * @return the value read
+         * @throws IOException if the body cannot be read or parsed
+         */
+        T read(InputStream body) throws IOException;
+    }
+
+    /**
+     * Point all calls at another API root, e.g. a local stub server.
+     *
+     * @param url the API root without a trailing slash, e.g. {@code http://127.0.0.1:8089/3}
+     */
+    public static void setBaseUrl(final String url) {
+        baseUrl = url;
+    }
+
+    /**
+     * Get the API root calls are sent to.
+     *
+     * @return the API root
+     */
+    public static String getBaseUrl() {
+        return baseUrl;
+    }
+
     /**
      * Method to build URL to the TMDB database for the top movies with sorting by popularity in this month.
      *
@@ -55,85 +118,351 @@ public final class NetUtil {
     private static String buildUrl(final int page) {
         return String.format(
                 "%s?include_adult=false&include_video=false&language=en-US&sort_by=popularity.desc&page=%d",
-                API_URL,
+                baseUrl + "/discover/movie",
                 page
         );
     }
 
     /**
      * Get the top 50 movies (with popularity) of this month's as Input stream from TMDB API.
+     * The pages are fetched concurrently and their "results" arrays concatenated in page order.
      *
      * @return top 50 movies JSON string as input stream
      */
     public static InputStream getTop50MoviesJson() {
         final ObjectMapper mapper = new ObjectMapper();
-        final ArrayNode allResults = mapper.createArrayNode();
-        final int totalPages = (int) Math.ceil(RESULTS_AMOUNT / 20.0);
         InputStream resultStream = InputStream.nullInputStream();
 
+        try {
+            final List<JsonNode> allResults = fetchDiscoverPages(body -> {
+                final List<JsonNode> results = new ArrayList<>();
+                mapper.readTree(body).path("results").forEach(results::add);
+                return results;
+            });
+            resultStream = new ByteArrayInputStream(mapper.writeValueAsBytes(allResults));
+        } catch (Exception e) {
+            LOGGER.error("Exception while fetching top movies: {}", e.getMessage(), e);
+        }
+
+        return resultStream;
+    }
+
+    /**
+     * Fetch every discover page needed for {@link #RESULTS_AMOUNT} movies concurrently over the shared client.
+     * Each page body is handed to the handler as soon as it arrives, so callers can stream entries straight
+     * into their own types. All pages share one deadline of {@link #DISCOVER_TIMEOUT_SECONDS}; a page still
+     * queued or in flight then is cancelled, so it frees its dispatcher slot and bulkhead permit.
+     * A page that fails or times out contributes no entries; when more than {@link #DISCOVER_MAX_FAILED_RATIO}
+     * of the pages fail, e.g. because the discover circuit is open, the listing is too incomplete to stand for
+     * the catalog and the call fails instead.
+     *
+     * @param handler converts one page body into entries
+     * @param <T>     the entry type
+     * @return entries of all pages, in page (popularity) order
+     * @throws IOException if too many pages failed or the thread was interrupted
+     */
+    public static <T> List<T> fetchDiscoverPages(final BodyReader<List<T>> handler) throws IOException {
+        final int totalPages = (int) Math.ceil(RESULTS_AMOUNT / (double) PAGE_SIZE);
+        final long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(DISCOVER_TIMEOUT_SECONDS);
+        final List<Call> calls = new ArrayList<>(totalPages);
+        final List<CompletableFuture<List<T>>> pages = new ArrayList<>(totalPages);
+
+        for (int page = 1; page <= totalPages; page++) {
+            final Call call = newCall(buildRequest(buildUrl(page)), deadline);
+            calls.add(call);
+            pages.add(enqueuePage(call, handler));
+        }
+
+        final List<T> results = new ArrayList<>(RESULTS_AMOUNT);
+        int failedPages = 0;
         try {
             for (int page = 1; page <= totalPages; page++) {
-                final String url = buildUrl(page);
+                final CompletableFuture<List<T>> future = pages.get(page - 1);
+                try {
+                    results.addAll(future.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS));
+                } catch (TimeoutException e) {
+                    calls.get(page - 1).cancel();
+                    failedPages++;
+                    LOGGER.error("Timed out fetching movies (Page {})", page);
+                } catch (ExecutionException e) {
+                    failedPages++;
+                    LOGGER.error("Exception while fetching movies (Page {}): {}", page, e.getCause().getMessage());
+                }
+            }
+        } catch (InterruptedException e) {
+            calls.forEach(Call::cancel);
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while fetching discover pages");
+        }
+
+        if (failedPages > totalPages * DISCOVER_MAX_FAILED_RATIO) {
+            throw new IOException(failedPages + " of " + totalPages + " discover pages failed");
+        }
+        return results;
+    }
 
-                final Request request = new Request.Builder()
-                        .url(url)
-                        .get()
-                        .addHeader("accept", "application/json")
-                        .addHeader("Authorization", "Bearer " + API_TOKEN)
-                        .build();
+    /**
+     * Enqueue a single discover page call on the client's dispatcher.
+     *
+     * @param call    the page call
+     * @param handler converts the page body into entries
+     * @param <T>     the entry type
+     * @return future completed with the page entries
+     */
+    private static <T> CompletableFuture<List<T>> enqueuePage(final Call call, final BodyReader<List<T>> handler) {
+        final CompletableFuture<List<T>> future = new CompletableFuture<>();
+        final TmdbCallEvent event = new TmdbCallEvent();
+        event.begin();
+        final long started = System.nanoTime();
 
-                try (Response response = CLIENT.newCall(request).execute()) {
+        call.enqueue(new Callback() {
+            @Override
+            public void onFailure(final Call call, final IOException e) {
+                final String outcome = e instanceof CallRejectedException ? "rejected" : "error";
+                AppMetrics.recordTmdbCall("discover", outcome, started);
+                event.complete("discover", TmdbCallEvent.NO_RESPONSE, outcome);
+                future.completeExceptionally(e);
+            }
+
+            @Override
+            public void onResponse(final Call call, final Response response) {
+                String outcome = "error";
+                try (response) {
                     if (response.isSuccessful() && response.body() != null) {
-                        final JsonNode root = mapper.readTree(response.body().string());
-                        final JsonNode results = root.path("results");
-                        if (results.isArray()) {
-                            allResults.addAll((ArrayNode) results);
-                        }
+                        future.complete(handler.read(response.body().byteStream()));
+                        outcome = "success";
                     } else {
-                        LOGGER.error("Error fetching movies (Page {}): HTTP status {}", page, response.code());
+                        future.completeExceptionally(new IOException("HTTP status " + response.code()));
                     }
+                } catch (IOException | RuntimeException e) {
+                    future.completeExceptionally(e);
                 }
+                AppMetrics.recordTmdbCall("discover", outcome, started);
+                event.complete("discover", response.code(), outcome);
             }
+        });
 
-            final byte[] jsonBytes = mapper.writeValueAsBytes(allResults);
-            resultStream = new ByteArrayInputStream(jsonBytes);
+        return future;
+    }
 
-        } catch (Exception e) {
-            LOGGER.error("Exception while fetching top movies: {}", e.getMessage(), e);
+    /**
+     * Fetches crew information for a specific movie by ID and reads it while the response is open.
+     * The response is always closed before returning, so its connection goes back to the pool.
+     *
+     * @param movieId the TMDB movie ID
+     * @param reader  converts the credits body into a value
+     * @param <T>     the value type
+     * @return the value read, or null if the credits could not be fetched
+     */
+    public static <T> T getCredits(final int movieId, final BodyReader<T> reader) {
+        return fetch("credits", CLIENT.newCall(buildRequest(creditsUrl(movieId))),
+                "crew for movie ID " + movieId, reader);
+    }
+
+    /**
+     * Fetches crew information like {@link #getCredits(int, BodyReader)}, aborting the call at a deadline.
+     *
+     * @param movieId  the TMDB movie ID
+     * @param deadline {@link System#nanoTime()} at which the call is cancelled, retries included
+     * @param reader   converts the credits body into a value
+     * @param <T>      the value type
+     * @return the value read, or null if the credits could not be fetched in time
+     */
+    public static <T> T getCredits(final int movieId, final long deadline, final BodyReader<T> reader) {
+        return fetch("credits", newCall(buildRequest(creditsUrl(movieId)), deadline),
+                "crew for movie ID " + movieId, reader);
+    }
+
+    /**
+     * Build the url of a credits call.
+     *
+     * @param movieId the TMDB movie ID
+     * @return the url
+     */
+    private static String creditsUrl(final int movieId) {
+        return baseUrl + "/movie/" + movieId + "/credits";
+    }
+
+    /**
+     * Fetches the details of a movie together with appended sub-resources in a single call,
+     * e.g. {@code append_to_response=credits,release_dates}.
+     *
+     * @param movieId  the TMDB movie ID
+     * @param appends  comma separated sub-resources to append to the details
+     * @param deadline {@link System#nanoTime()} at which the call is cancelled, retries included
+     * @param reader   converts the combined body into a value
+     * @param <T>      the value type
+     * @return the value read, or null if the details could not be fetched in time
+     */
+    public static <T> T getMovieDetails(final int movieId, final String appends, final long deadline,
+                                        final BodyReader<T> reader) {
+        return fetch("details", newCall(buildRequest(detailsUrl(movieId, appends)), deadline),
+                "details for movie ID " + movieId, reader);
+    }
+
+    /**
+     * Fetches the details of a movie like {@link #getMovieDetails}, but always from TMDB: a movie is refreshed
+     * because the change feed reports it as edited, so a cached copy is stale by definition. The fresh response
+     * replaces the cached one.
+     *
+     * @param movieId  the TMDB movie ID
+     * @param appends  comma separated sub-resources to append to the details
+     * @param deadline {@link System#nanoTime()} at which the call is cancelled, retries included
+     * @param reader   converts the combined body into a value
+     * @param <T>      the value type
+     * @return the value read, or null if the details could not be fetched in time
+     */
+    public static <T> T getFreshMovieDetails(final int movieId, final String appends, final long deadline,
+                                             final BodyReader<T> reader) {
+        return fetch("details", newCall(buildFreshRequest(detailsUrl(movieId, appends)), deadline),
+                "details for movie ID " + movieId, reader);
+    }
+
+    /**
+     * Build the url of a combined details call.
+     *
+     * @param movieId the TMDB movie ID
+     * @param appends comma separated sub-resources to append to the details
+     * @return the url
+     */
+    private static String detailsUrl(final int movieId, final String appends) {
+        return baseUrl + "/movie/" + movieId + "?language=en-US&append_to_response=" + appends;
+    }
+
+    /**
+     * Get the IDs of all movies TMDB reports as changed between two days (inclusive).
+     * The feed is paged; every page is read up to {@link #CHANGES_MAX_PAGES}.
+     * TMDB accepts ranges of at most 14 days. The feed is always read from TMDB, never from the response cache,
+     * since a cached page would hide the edits made since it was stored.
+     *
+     * @param startDate first day of the range
+     * @param endDate   last day of the range
+     * @return the changed movie IDs, or null if any page could not be fetched
+     */
+    public static Set<Integer> getChangedMovieIds(final LocalDate startDate, final LocalDate endDate) {
+        final Set<Integer> movieIds = new HashSet<>();
+        int totalPages = 1;
+
+        for (int page = 1; page <= Math.min(totalPages, CHANGES_MAX_PAGES); page++) {
+            final String url = String.format("%s?start_date=%s&end_date=%s&page=%d",
+                    baseUrl + "/movie/changes", startDate, endDate, page);
+            final JsonNode body = fetch("changes", CLIENT.newCall(buildFreshRequest(url)),
+                    "movie changes (Page " + page + ")", MAPPER::readTree);
+            if (body == null) {
+                return null;
+            }
+            for (final JsonNode change : body.path("results")) {
+                movieIds.add(change.path("id").asInt());
+            }
+            totalPages = body.path("total_pages").asInt(1);
         }
 
-        return resultStream;
+        if (totalPages > CHANGES_MAX_PAGES) {
+            LOGGER.warn("Movie change feed has {} pages, only the first {} were read", totalPages, CHANGES_MAX_PAGES);
+        }
+        return movieIds;
     }
 
     /**
      * Fetches crew information for a specific movie by ID.
+     * The body is fully buffered so the underlying response can be closed.
      *
      * @param movieId the TMDB movie ID
      * @return the crew data as InputStream
      */
     public static InputStream getCrewJsonStream(final int movieId) {
-        final String url = "https://api.themoviedb.org/3/movie/" + movieId + "/credits";
-        final OkHttpClient client = new OkHttpClient();
-        InputStream stream = InputStream.nullInputStream();
+        final byte[] body = getCredits(movieId, InputStream::readAllBytes);
+        return body == null ? InputStream.nullInputStream() : new ByteArrayInputStream(body);
+    }
 
-        final Request request = new Request.Builder()
-                .url(url)
-                .get()
-                .addHeader("accept", "application/json")
-                .addHeader("Authorization", "Bearer " + API_TOKEN)
-                .build();
+    /**
+     * Execute a GET call synchronously and read the body while the response is open.
+     * The response is always closed before returning, so its connection goes back to the pool.
+     * The call is timed per endpoint and outcome, see {@link AppMetrics#recordTmdbCall},
+     * and recorded as a {@link TmdbCallEvent}.
+     *
+     * @param endpoint    the endpoint name the call is timed under
+     * @param call        the TMDB call
+     * @param description what is fetched, for log messages
+     * @param reader      converts the body into a value
+     * @param <T>         the value type
+     * @return the value read, or null if the request failed
+     */
+    private static <T> T fetch(final String endpoint, final Call call, final String description,
+                               final BodyReader<T> reader) {
+        final TmdbCallEvent event = new TmdbCallEvent();
+        event.begin();
+        final long started = System.nanoTime();
+        String outcome = "error";
+        int status = TmdbCallEvent.NO_RESPONSE;
+        T result = null;
 
-        try {
-            final Response response = client.newCall(request).execute();
+        try (Response response = call.execute()) {
+            status = response.code();
             if (!response.isSuccessful()) {
-                LOGGER.error("Failed to fetch crew for movie ID {}: {}", movieId, response.code());
+                LOGGER.error("Failed to fetch {}: {}", description, response.code());
             } else if (response.body() != null) {
-                stream = response.body().byteStream();
+                result = reader.read(response.body().byteStream());
+                outcome = "success";
             }
+        } catch (CallRejectedException e) {
+            outcome = "rejected";
+            LOGGER.warn("Skipped fetching {}: {}", description, e.getMessage());
         } catch (IOException e) {
-            LOGGER.error("Error fetching crew data for movie ID {}: {}", movieId, e.getMessage(), e);
+            LOGGER.error("Error fetching {}: {}", description, e.getMessage(), e);
         }
 
-        return stream;
+        AppMetrics.recordTmdbCall(endpoint, outcome, started);
+        event.complete(endpoint, status, outcome);
+        return result;
+    }
+
+    /**
+     * Create a call that OkHttp cancels at a deadline, even while it is blocked reading the response.
+     * Interrupting the calling thread does not abort a synchronous call, so this is what bounds it.
+     *
+     * @param request  the request
+     * @param deadline {@link System#nanoTime()} at which the call is cancelled
+     * @return the call
+     */
+    private static Call newCall(final Request request, final long deadline) {
+        final Call call = CLIENT.newCall(request);
+        call.timeout().deadlineNanoTime(deadline);
+        return call;
+    }
+
+    /**
+     * Build an authorized GET request for a TMDB url.
+     *
+     * @param url the TMDB url
+     * @return the request
+     */
+    private static Request buildRequest(final String url) {
+        return requestBuilder(url).build();
+    }
+
+    /**
+     * Build an authorized GET request for a TMDB url that bypasses the response cache. The response is still
+     * stored, so later cached reads of the url see it.
+     *
+     * @param url the TMDB url
+     * @return the request
+     */
+    private static Request buildFreshRequest(final String url) {
+        return requestBuilder(url).cacheControl(CacheControl.FORCE_NETWORK).build();
+    }
+
+    /**
+     * Start an authorized GET request for a TMDB url.
+     *
+     * @param url the TMDB url
+     * @return the request builder
+     */
+    private static Request.Builder requestBuilder(final String url) {
+        return new Request.Builder()
+                .url(url)
+                .get()
+                .addHeader("accept", "application/json")
+                .addHeader("Authorization", "Bearer " + API_TOKEN);
     }
 }
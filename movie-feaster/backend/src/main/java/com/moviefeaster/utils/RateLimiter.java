@@ -0,0 +1,124 @@
+package com.moviefeaster.utils;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Token bucket that paces calls to a steady rate while allowing short bursts.
+ * Tokens refill continuously at the configured rate up to the burst capacity. A caller that finds
+ * the bucket empty reserves the next token and sleeps until it is due, so waiting callers are
+ * served in arrival order and the long-run rate never exceeds the limit.
+ */
+public final class RateLimiter {
+
+    /** Nanoseconds per second. */
+    private static final double NANOS_PER_SECOND = 1_000_000_000.0;
+
+    /** Tokens added per second. */
+    private final double permitsPerSecond;
+
+    /** Maximum number of tokens the bucket holds. */
+    private final double capacity;
+
+    /** Source of monotonic time in nanoseconds. */
+    private final LongSupplier clock;
+
+    /** Tokens currently available; negative while callers are waiting for reserved tokens. */
+    private double tokens;
+
+    /** Time of the last refill. */
+    private long lastRefillNanos;
+
+    /** Number of tokens handed out. */
+    private final AtomicLong acquired = new AtomicLong();
+
+    /** Number of acquisitions that had to wait. */
+    private final AtomicLong throttled = new AtomicLong();
+
+    /** Total time callers spent waiting, in nanoseconds. */
+    private final AtomicLong waitedNanos = new AtomicLong();
+
+    /**
+     * Create a full bucket.
+     *
+     * @param permitsPerSecond sustained rate, must be positive
+     * @param burst            bucket capacity, at least 1
+     */
+    public RateLimiter(final double permitsPerSecond, final int burst) {
+        this(permitsPerSecond, burst, System::nanoTime);
+    }
+
+    /**
+     * Create a full bucket driven by the given clock.
+     *
+     * @param permitsPerSecond sustained rate, must be positive
+     * @param burst            bucket capacity, at least 1
+     * @param clock            monotonic time source in nanoseconds
+     */
+    RateLimiter(final double permitsPerSecond, final int burst, final LongSupplier clock) {
+        if (permitsPerSecond <= 0) {
+            throw new IllegalArgumentException("permitsPerSecond must be positive");
+        }
+        this.permitsPerSecond = permitsPerSecond;
+        this.capacity = Math.max(1, burst);
+        this.clock = clock;
+        this.tokens = this.capacity;
+        this.lastRefillNanos = clock.getAsLong();
+    }
+
+    /**
+     * Take one token, sleeping until it is available.
+     *
+     * @throws InterruptedException if the thread is interrupted while waiting
+     */
+    public void acquire() throws InterruptedException {
+        final long waitNanos = reserve();
+        if (waitNanos > 0) {
+            throttled.incrementAndGet();
+            waitedNanos.addAndGet(waitNanos);
+            TimeUnit.NANOSECONDS.sleep(waitNanos);
+        }
+    }
+
+    /**
+     * Reserve one token.
+     *
+     * @return nanoseconds until the reserved token is due, 0 if it is available now
+     */
+    synchronized long reserve() {
+        final long now = clock.getAsLong();
+        tokens = Math.min(capacity, tokens + (now - lastRefillNanos) * permitsPerSecond / NANOS_PER_SECOND);
+        lastRefillNanos = now;
+        tokens -= 1;
+        acquired.incrementAndGet();
+        return tokens >= 0 ? 0 : (long) Math.ceil(-tokens / permitsPerSecond * NANOS_PER_SECOND);
+    }
+
+    /**
+     * Get the number of tokens handed out.
+     *
+     * @return the number of acquisitions
+     */
+    public long getAcquired() {
+        return acquired.get();
+    }
+
+    /**
+     * Get the number of acquisitions that had to wait for a token.
+     *
+     * @return the number of throttled acquisitions
+     */
+    public long getThrottled() {
+        return throttled.get();
+    }
+
+    /**
+     * Get the total time callers spent waiting for tokens.
+     *
+     * @return the wait time in milliseconds
+     */
+    public long getWaitedMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(waitedNanos.get());
+    }
+}
@@ -0,0 +1,194 @@
+package com.moviefeaster.utils;
+
+import okhttp3.Interceptor;
+import okhttp3.Request;
+import okhttp3.Response;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.time.Duration;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Retries GET requests that fail with a transient error: HTTP 429, 500, 502, 503, 504 or an I/O failure.
+ * The delay before each retry is exponential backoff with full jitter, or the server's Retry-After
+ * when it sends one. A Retry-After longer than the maximum delay ends the retries early, since the
+ * call would outlive its timeout anyway. Calls the {@link UpstreamGuard} bulkhead rejects are not retried,
+ * so they still fail fast.
+ */
+public final class RetryInterceptor implements Interceptor {
+
+    /** Logger instance for this class. */
+    private static final Logger LOGGER = LoggerFactory.getLogger(RetryInterceptor.class);
+
+    /** HTTP "Too Many Requests" status. */
+    private static final int TOO_MANY_REQUESTS = 429;
+
+    /** Status codes worth retrying. */
+    private static final Set<Integer> RETRYABLE_CODES = Set.of(TOO_MANY_REQUESTS, 500, 502, 503, 504);
+
+    /** Maximum number of retries after the first attempt. */
+    private final int maxRetries;
+
+    /** Backoff before the first retry, in milliseconds; doubled for each further retry. */
+    private final long baseDelayMillis;
+
+    /** Upper bound on a single delay, in milliseconds. */
+    private final long maxDelayMillis;
+
+    /** Number of retries performed. */
+    private final AtomicLong retries = new AtomicLong();
+
+    /** Number of 429 responses received. */
+    private final AtomicLong rateLimited = new AtomicLong();
+
+    /** Number of calls that still failed after the last retry. */
+    private final AtomicLong exhausted = new AtomicLong();
+
+    /**
+     * Create the interceptor.
+     *
+     * @param maxRetries      maximum number of retries after the first attempt
+     * @param baseDelayMillis backoff before the first retry in milliseconds
+     * @param maxDelayMillis  upper bound on a single delay in milliseconds
+     */
+    public RetryInterceptor(final int maxRetries, final long baseDelayMillis, final long maxDelayMillis) {
+        this.maxRetries = Math.max(0, maxRetries);
+        this.baseDelayMillis = Math.max(1, baseDelayMillis);
+        this.maxDelayMillis = Math.max(this.baseDelayMillis, maxDelayMillis);
+    }
+
+    /**
+     * Proceed with the request, retrying transient failures.
+     *
+     * @param chain the interceptor chain
+     * @return the first non-retryable response, or the last response once retries are used up
+     * @throws IOException if the last attempt fails with an I/O error
+     */
+    @Override
+    public Response intercept(final Chain chain) throws IOException {
+        final Request request = chain.request();
+        if (!"GET".equals(request.method())) {
+            return chain.proceed(request);
+        }
+
+        for (int attempt = 0; ; attempt++) {
+            long delayMillis;
+            try {
+                final Response response = chain.proceed(request);
+                if (!RETRYABLE_CODES.contains(response.code())) {
+                    return response;
+                }
+                if (response.code() == TOO_MANY_REQUESTS) {
+                    rateLimited.incrementAndGet();
+                }
+                final long retryAfter = retryAfterMillis(response.header("Retry-After"));
+                if (attempt >= maxRetries || retryAfter > maxDelayMillis) {
+                    exhausted.incrementAndGet();
+                    return response;
+                }
+                delayMillis = retryAfter >= 0 ? retryAfter : backoffMillis(attempt);
+                LOGGER.warn("HTTP {} from {}, retrying in {} ms", response.code(), request.url(), delayMillis);
+                response.close();
+            } catch (CallRejectedException e) {
+                throw e;
+            } catch (IOException e) {
+                if (attempt >= maxRetries || chain.call().isCanceled()) {
+                    exhausted.incrementAndGet();
+                    throw e;
+                }
+                delayMillis = backoffMillis(attempt);
+                LOGGER.warn("{} calling {}, retrying in {} ms", e.getMessage(), request.url(), delayMillis);
+            }
+
+            retries.incrementAndGet();
+            sleep(delayMillis);
+        }
+    }
+
+    /**
+     * Exponential backoff with full jitter: a random delay between 0 and base * 2^attempt, capped.
+     *
+     * @param attempt zero-based number of the attempt that just failed
+     * @return the delay in milliseconds
+     */
+    long backoffMillis(final int attempt) {
+        final long ceiling = Math.min(maxDelayMillis, baseDelayMillis << Math.min(attempt, 30));
+        return ThreadLocalRandom.current().nextLong(ceiling + 1);
+    }
+
+    /**
+     * Parse a Retry-After header given either as delay seconds or as an HTTP date.
+     *
+     * @param value the header value, may be null
+     * @return the delay in milliseconds, or -1 if the header is absent or malformed
+     */
+    static long retryAfterMillis(final String value) {
+        long result = -1;
+        if (value != null && !value.isBlank()) {
+            final String trimmed = value.trim();
+            try {
+                result = TimeUnit.SECONDS.toMillis(Math.max(0, Long.parseLong(trimmed)));
+            } catch (NumberFormatException notSeconds) {
+                try {
+                    final ZonedDateTime date = ZonedDateTime.parse(trimmed, DateTimeFormatter.RFC_1123_DATE_TIME);
+                    result = Math.max(0, Duration.between(ZonedDateTime.now(date.getZone()), date).toMillis());
+                } catch (DateTimeParseException notDate) {
+                    result = -1;
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Sleep between attempts, turning an interrupt into an I/O error so the call is abandoned.
+     *
+     * @param millis the delay in milliseconds
+     * @throws InterruptedIOException if the thread is interrupted
+     */
+    private static void sleep(final long millis) throws InterruptedIOException {
+        try {
+            TimeUnit.MILLISECONDS.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting to retry");
+        }
+    }
+
+    /**
+     * Get the number of retries performed.
+     *
+     * @return the number of retries
+     */
+    public long getRetries() {
+        return retries.get();
+    }
+
+    /**
+     * Get the number of 429 responses received.
+     *
+     * @return the number of rate-limited responses
+     */
+    public long getRateLimited() {
+        return rateLimited.get();
+    }
+
+    /**
+     * Get the number of calls that still failed after the last retry.
+     *
+     * @return the number of exhausted calls
+     */
+    public long getExhausted() {
+        return exhausted.get();
+    }
+}
@@ -0,0 +1,424 @@
+package com.moviefeaster.utils;
+
+import com.moviefeaster.model.Genre;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.util.EnumSet;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Embedded HTTP server imitating the TMDB endpoints the application calls: discover pages, credits,
+ * details with appended credits and the change feed. Movies are synthetic but deterministic for a given seed,
+ * so ingestion can be measured reproducibly without an API token. Every response is delayed by a configurable
+ * latency plus jitter, and a configurable share of requests fails with 429 or 503.
+ */
+public final class StubTmdbServer implements AutoCloseable {
+
+    /** Logger instance for this class. */
+    private static final Logger LOGGER = LoggerFactory.getLogger(StubTmdbServer.class);
+
+    /** Movies per discover page, as on TMDB. */
+    private static final int PAGE_SIZE = 20;
+
+    /** Highest discover page TMDB serves. */
+    private static final int MAX_PAGES = 500;
+
+    /** Number of distinct synthetic directors. */
+    private static final int DIRECTOR_POOL = 500;
+
+    /** Number of distinct synthetic actors. */
+    private static final int ACTOR_POOL = 5000;
+
+    /** Cast members per synthetic movie. */
+    private static final int CAST_SIZE = 8;
+
+    /** Number of IDs listed by the synthetic change feed. */
+    private static final int CHANGES_SIZE = 20;
+
+    /** First release year of synthetic movies. */
+    private static final int FIRST_YEAR = 1950;
+
+    /** Number of release years synthetic movies are spread over. */
+    private static final int YEAR_SPAN = 75;
+
+    /** HTTP OK. */
+    private static final int OK = 200;
+
+    /** HTTP Not Found. */
+    private static final int NOT_FOUND = 404;
+
+    /** HTTP Too Many Requests. */
+    private static final int TOO_MANY_REQUESTS = 429;
+
+    /** HTTP Service Unavailable. */
+    private static final int SERVICE_UNAVAILABLE = 503;
+
+    /** Shared mapper for response bodies. */
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    /** Counter used to name server threads. */
+    private static final AtomicInteger SERVER_THREAD_IDS = new AtomicInteger();
+
+    /** The underlying server. */
+    private final HttpServer server;
+
+    /** Threads handling requests. */
+    private final ExecutorService executor;
+
+    /** Fixed delay of every response in milliseconds. */
+    private final long latencyMillis;
+
+    /** Upper bound of the random extra delay in milliseconds. */
+    private final long jitterMillis;
+
+    /** Share of requests, between 0 and 1, that fail. */
+    private final double errorRate;
+
+    /** Number of movies the discover listing pretends to have. */
+    private final int totalMovies;
+
+    /** Seed of the synthetic data. */
+    private final long seed;
+
+    /** Source of latency jitter and injected failures. */
+    private final Random random;
+
+    /** Number of requests served. */
+    private final AtomicLong requests = new AtomicLong();
+
+    /** Number of injected failures. */
+    private final AtomicLong errors = new AtomicLong();
+
+    /**
+     * Start a stub server on the loopback interface.
+     *
+     * @param port          port to listen on, or 0 for any free port
+     * @param threads       number of request handling threads
+     * @param latencyMillis fixed delay of every response in milliseconds
+     * @param jitterMillis  upper bound of the random extra delay in milliseconds
+     * @param errorRate     share of requests, between 0 and 1, that fail with 429 or 503
+     * @param totalMovies   number of movies the discover listing pretends to have
+     * @param seed          seed of the synthetic data
+     * @throws IOException if the port cannot be bound
+     */
+    public StubTmdbServer(final int port, final int threads, final long latencyMillis, final long jitterMillis,
+                          final double errorRate, final int totalMovies, final long seed) throws IOException {
+        this.latencyMillis = Math.max(0, latencyMillis);
+        this.jitterMillis = Math.max(0, jitterMillis);
+        this.errorRate = errorRate;
+        this.totalMovies = Math.max(1, totalMovies);
+        this.seed = seed;
+        this.random = new Random(seed);
+        this.executor = Executors.newFixedThreadPool(Math.max(1, threads), StubTmdbServer::newServerThread);
+        this.server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 0);
+        this.server.createContext("/3/", this::handle);
+        this.server.setExecutor(executor);
+        this.server.start();
+        LOGGER.info("Stub TMDB server listening on {}", getBaseUrl());
+    }
+
+    /**
+     * Start a stub server configured through `.env`.
+     *
+     * @return the running server
+     * @throws IOException if the port cannot be bound
+     */
+    public static StubTmdbServer fromEnv() throws IOException {
+        return new StubTmdbServer(
+                EnvConfig.getInt("STUB_PORT", 0),
+                EnvConfig.getInt("STUB_THREADS", 64),
+                EnvConfig.getLong("STUB_LATENCY_MILLIS", 20),
+                EnvConfig.getLong("STUB_JITTER_MILLIS", 30),
+                EnvConfig.getDouble("STUB_ERROR_RATE", 0.0),
+                EnvConfig.getInt("STUB_TOTAL_MOVIES", 10_000),
+                EnvConfig.getLong("STUB_SEED", 42));
+    }
+
+    /**
+     * Get the API root of this server, to be used in place of {@code https://api.themoviedb.org/3}.
+     *
+     * @return the API root
+     */
+    public String getBaseUrl() {
+        return "http://127.0.0.1:" + server.getAddress().getPort() + "/3";
+    }
+
+    /**
+     * Get the number of requests served.
+     *
+     * @return the number of requests
+     */
+    public long getRequests() {
+        return requests.get();
+    }
+
+    /**
+     * Get the number of injected failures.
+     *
+     * @return the number of failures
+     */
+    public long getErrors() {
+        return errors.get();
+    }
+
+    /**
+     * Stop the server and its threads.
+     */
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    /**
+     * Route one request to its synthetic response.
+     *
+     * @param exchange the request and response
+     * @throws IOException if the response cannot be written
+     */
+    private void handle(final HttpExchange exchange) throws IOException {
+        try {
+            requests.incrementAndGet();
+            delay();
+
+            if (errorRate > 0 && random.nextDouble() < errorRate) {
+                errors.incrementAndGet();
+                final boolean throttle = random.nextBoolean();
+                if (throttle) {
+                    exchange.getResponseHeaders().set("Retry-After", "1");
+                }
+                send(exchange, throttle ? TOO_MANY_REQUESTS : SERVICE_UNAVAILABLE,
+                        MAPPER.createObjectNode().put("status_message", "Injected stub failure"));
+                return;
+            }
+
+            final String[] segments = exchange.getRequestURI().getPath().split("/");
+            if (segments.length == 4 && "discover".equals(segments[2])) {
+                send(exchange, OK, discoverPage(pageOf(exchange.getRequestURI().getQuery())));
+            } else if (segments.length == 4 && "movie".equals(segments[2]) && "changes".equals(segments[3])) {
+                send(exchange, OK, changes());
+            } else if (segments.length >= 4 && "movie".equals(segments[2]) && isMovieId(segments[3])) {
+                final int movieId = Integer.parseInt(segments[3]);
+                if (segments.length == 5 && "credits".equals(segments[4])) {
+                    send(exchange, OK, credits(movieId));
+                } else {
+                    send(exchange, OK, details(movieId));
+                }
+            } else {
+                send(exchange, NOT_FOUND, MAPPER.createObjectNode().put("status_message", "Unknown stub path"));
+            }
+        } finally {
+            exchange.close();
+        }
+    }
+
+    /**
+     * Build one discover page.
+     *
+     * @param page the page number
+     * @return the page body
+     */
+    private ObjectNode discoverPage(final int page) {
+        final int totalPages = Math.min(MAX_PAGES, (totalMovies + PAGE_SIZE - 1) / PAGE_SIZE);
+        final ObjectNode body = MAPPER.createObjectNode().put("page", page);
+        final ArrayNode results = body.putArray("results");
+        for (int i = 0; i < PAGE_SIZE; i++) {
+            final int movieId = (page - 1) * PAGE_SIZE + i + 1;
+            if (page <= totalPages && movieId <= totalMovies) {
+                final ObjectNode summary = results.addObject();
+                writeSummary(summary, movieId);
+                final ArrayNode genreIds = summary.putArray("genre_ids");
+                for (final Genre genre : genresOf(movieId)) {
+                    genreIds.add(genre.getGenreId());
+                }
+            }
+        }
+        body.put("total_pages", totalPages).put("total_results", totalMovies);
+        return body;
+    }
+
+    /**
+     * Build the details of a movie with its credits appended.
+     *
+     * @param movieId the movie ID
+     * @return the details body
+     */
+    private ObjectNode details(final int movieId) {
+        final ObjectNode body = MAPPER.createObjectNode();
+        writeSummary(body, movieId);
+        final ArrayNode genres = body.putArray("genres");
+        for (final Genre genre : genresOf(movieId)) {
+            genres.addObject().put("id", genre.getGenreId()).put("name", genre.name());
+        }
+        body.set("credits", credits(movieId));
+        return body;
+    }
+
+    /**
+     * Build the credits of a movie.
+     *
+     * @param movieId the movie ID
+     * @return the credits body
+     */
+    private ObjectNode credits(final int movieId) {
+        final Random movieRandom = randomFor(movieId);
+        final ObjectNode body = MAPPER.createObjectNode().put("id", movieId);
+        final ArrayNode cast = body.putArray("cast");
+        for (int i = 0; i < CAST_SIZE; i++) {
+            cast.addObject().put("name", "Actor " + movieRandom.nextInt(ACTOR_POOL)).put("order", i);
+        }
+        final ArrayNode crew = body.putArray("crew");
+        crew.addObject().put("name", "Director " + movieRandom.nextInt(DIRECTOR_POOL)).put("job", "Director");
+        crew.addObject().put("name", "Producer " + movieRandom.nextInt(DIRECTOR_POOL)).put("job", "Producer");
+        return body;
+    }
+
+    /**
+     * Build a change feed page listing random catalog movies.
+     *
+     * @return the change feed body
+     */
+    private ObjectNode changes() {
+        final ObjectNode body = MAPPER.createObjectNode().put("page", 1);
+        final ArrayNode results = body.putArray("results");
+        for (int i = 0; i < CHANGES_SIZE; i++) {
+            results.addObject().put("id", 1 + random.nextInt(totalMovies)).put("adult", false);
+        }
+        body.put("total_pages", 1).put("total_results", CHANGES_SIZE);
+        return body;
+    }
+
+    /**
+     * Write the summary fields shared by discover results and details.
+     *
+     * @param node    the object to fill
+     * @param movieId the movie ID
+     */
+    private void writeSummary(final ObjectNode node, final int movieId) {
+        final Random movieRandom = randomFor(movieId);
+        node.put("id", movieId)
+                .put("title", "Stub Movie " + movieId)
+                .put("overview", "Synthetic movie " + movieId + " served by the stub TMDB server.")
+                .put("release_date", String.format("%d-%02d-%02d", FIRST_YEAR + movieRandom.nextInt(YEAR_SPAN),
+                        1 + movieRandom.nextInt(12), 1 + movieRandom.nextInt(28)))
+                .put("popularity", Math.round(100_000.0 / movieId) / 100.0)
+                .put("poster_path", "/stub" + movieId + ".jpg")
+                .put("adult", false);
+    }
+
+    /**
+     * Pick one to three distinct genres for a movie.
+     *
+     * @param movieId the movie ID
+     * @return the genres
+     */
+    private Set<Genre> genresOf(final int movieId) {
+        final Random movieRandom = new Random(seed * 7919 + movieId);
+        final Genre[] all = Genre.values();
+        final Set<Genre> genres = EnumSet.noneOf(Genre.class);
+        final int count = 1 + movieRandom.nextInt(3);
+        for (int i = 0; i < count; i++) {
+            genres.add(all[movieRandom.nextInt(all.length)]);
+        }
+        return genres;
+    }
+
+    /**
+     * Create the deterministic random source of one movie.
+     *
+     * @param movieId the movie ID
+     * @return a random source seeded by the server seed and the movie ID
+     */
+    private Random randomFor(final int movieId) {
+        return new Random(seed * 31 + movieId);
+    }
+
+    /**
+     * Sleep for the configured latency plus jitter.
+     */
+    private void delay() {
+        final long millis = latencyMillis + (jitterMillis > 0 ? (long) (random.nextDouble() * jitterMillis) : 0);
+        if (millis > 0) {
+            try {
+                TimeUnit.MILLISECONDS.sleep(millis);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    /**
+     * Write a JSON response that clients must not cache, so every call reaches the stub.
+     *
+     * @param exchange the request and response
+     * @param status   the HTTP status
+     * @param body     the JSON body
+     * @throws IOException if the response cannot be written
+     */
+    private static void send(final HttpExchange exchange, final int status, final ObjectNode body) throws IOException {
+        final byte[] bytes = MAPPER.writeValueAsBytes(body);
+        exchange.getResponseHeaders().set("Content-Type", "application/json;charset=utf-8");
+        exchange.getResponseHeaders().set("Cache-Control", "no-store");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    /**
+     * Read the page number from a query string.
+     *
+     * @param query the raw query, may be null
+     * @return the page number, 1 if absent
+     */
+    private static int pageOf(final String query) {
+        int page = 1;
+        if (query != null) {
+            for (final String param : query.split("&")) {
+                if (param.startsWith("page=") && isMovieId(param.substring(5))) {
+                    page = Integer.parseInt(param.substring(5));
+                }
+            }
+        }
+        return Math.max(1, page);
+    }
+
+    /**
+     * Whether a path segment is a positive integer.
+     *
+     * @param segment the path segment
+     * @return true if the segment is made of digits only
+     */
+    private static boolean isMovieId(final String segment) {
+        return !segment.isEmpty() && segment.length() < 10 && segment.chars().allMatch(Character::isDigit);
+    }
+
+    /**
+     * Create a daemon server thread so the stub never blocks JVM shutdown.
+     *
+     * @param task the worker body
+     * @return the new thread
+     */
+    private static Thread newServerThread(final Runnable task) {
+        final Thread thread = new Thread(task, "stub-tmdb-" + SERVER_THREAD_IDS.incrementAndGet());
+        thread.setDaemon(true);
+        return thread;
+    }
+}
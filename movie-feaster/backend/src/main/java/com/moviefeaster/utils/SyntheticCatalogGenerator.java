@@ -0,0 +1,321 @@
+package com.moviefeaster.utils;
+
+import com.moviefeaster.model.Genre;
+import com.moviefeaster.model.Movie;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Generates large, realistic-looking movie catalogs for scale testing.
+ * Directors and cast members are drawn from fixed name pools with a Zipf distribution, so a few names appear
+ * in many movies and most in few, as in real data. Genres follow a weighted mix, release years lean towards
+ * recent decades, popularity is log-normal, and a minority of movies carry user comments and in-app ratings.
+ * Every movie is derived from the seed and its index alone, so the same seed always yields the same catalog,
+ * regardless of how many threads generate it.
+ */
+public final class SyntheticCatalogGenerator {
+
+    /** Number of distinct directors. */
+    private static final int DIRECTOR_POOL = 20_000;
+
+    /** Number of distinct actors. */
+    private static final int ACTOR_POOL = 200_000;
+
+    /** Zipf exponent of director and actor popularity. */
+    private static final double ZIPF_EXPONENT = 1.07;
+
+    /** Rank offset flattening the head of the Zipf distribution, so no single name dominates. */
+    private static final double ZIPF_OFFSET = 10;
+
+    /** Earliest release year. */
+    private static final int FIRST_YEAR = 1920;
+
+    /** Number of release years movies are spread over. */
+    private static final int YEAR_SPAN = 106;
+
+    /** Mean of the log of popularity. */
+    private static final double POPULARITY_MU = 3.0;
+
+    /** Standard deviation of the log of popularity. */
+    private static final double POPULARITY_SIGMA = 1.2;
+
+    /** Highest popularity the movie model accepts. */
+    private static final double MAX_POPULARITY = 10_000.0;
+
+    /** Share of movies with user comments or in-app ratings. */
+    private static final double USER_DATA_SHARE = 0.2;
+
+    /** Most comments or in-app ratings on a single movie. */
+    private static final int MAX_USER_ENTRIES = 12;
+
+    /** First names combined into person names. */
+    private static final String[] FIRST_NAMES = {
+        "James", "Mary", "John", "Patricia", "Robert", "Jennifer", "Michael", "Linda", "David", "Elizabeth",
+        "William", "Barbara", "Richard", "Susan", "Joseph", "Jessica", "Thomas", "Sarah", "Charles", "Karen",
+        "Wei", "Yuki", "Amara", "Mateo", "Priya", "Olga", "Kwame", "Ingrid", "Luca", "Noor",
+        "Hiroshi", "Sofia", "Emeka", "Chloe", "Rafael", "Aiko", "Dmitri", "Leila", "Tomas", "Zara",
+    };
+
+    /** Last names combined into person names. */
+    private static final String[] LAST_NAMES = {
+        "Smith", "Johnson", "Williams", "Brown", "Jones", "Garcia", "Miller", "Davis", "Rodriguez", "Martinez",
+        "Chen", "Tanaka", "Okafor", "Rossi", "Kowalski", "Nguyen", "Patel", "Ivanova", "Silva", "Haddad",
+        "Kim", "Larsen", "Mensah", "Dubois", "Moreau", "Schmidt", "Novak", "Costa", "Sato", "Walsh",
+        "Fischer", "Lopez", "Hughes", "Reyes", "Park", "Berg", "Adeyemi", "Romano", "Singh", "Murphy",
+        "Cohen", "Yilmaz", "Alvarez", "Kaur", "Lindqvist", "Moretti", "Abe", "Nakamura", "Flores", "Quinn",
+    };
+
+    /** Adjectives used in titles. */
+    private static final String[] TITLE_ADJECTIVES = {
+        "Silent", "Last", "Hidden", "Broken", "Golden", "Dark", "Eternal", "Lost", "Crimson", "Final",
+        "Frozen", "Burning", "Secret", "Wild", "Electric", "Midnight", "Distant", "Forgotten", "Iron", "Velvet",
+    };
+
+    /** Nouns used in titles. */
+    private static final String[] TITLE_NOUNS = {
+        "River", "Empire", "Garden", "Horizon", "Machine", "Kingdom", "Shadow", "Signal", "Harbor", "Dream",
+        "Frontier", "Promise", "Storm", "Orbit", "Witness", "Island", "Legacy", "Summer", "Protocol", "Heart",
+    };
+
+    /** Settings used in overviews. */
+    private static final String[] SETTINGS = {
+        "a small coastal town", "a failing space colony", "1920s Paris", "a high-stakes casino", "the Arctic",
+        "a crumbling empire", "a virtual world", "a remote boarding school", "the New York subway", "a desert",
+    };
+
+    /** Comments users leave. */
+    private static final String[] COMMENTS = {
+        "Great movie!", "Loved the soundtrack.", "Too long for me.", "A masterpiece.", "The ending was weak.",
+        "Would watch again.", "Beautiful cinematography.", "Not my cup of tea.", "The cast was amazing.",
+        "Better than the book.", "Fell asleep halfway.", "Instant classic.",
+    };
+
+    /** Genres in order of their weights. */
+    private static final Genre[] GENRES = {
+        Genre.DRAMA, Genre.COMEDY, Genre.THRILLER, Genre.ACTION, Genre.ROMANCE, Genre.HORROR, Genre.CRIME,
+        Genre.DOCUMENTARY, Genre.ADVENTURE, Genre.SCIENCE_FICTION, Genre.FAMILY, Genre.MYSTERY, Genre.FANTASY,
+        Genre.ANIMATION, Genre.MUSIC, Genre.HISTORY, Genre.TV_MOVIE, Genre.WAR, Genre.WESTERN,
+    };
+
+    /** Relative frequency of each genre in {@link #GENRES}. */
+    private static final double[] GENRE_WEIGHTS = {
+        20, 14, 9, 9, 7, 6, 6, 5, 4, 4, 3, 3, 3, 2.5, 2, 1.5, 1.5, 1, 1,
+    };
+
+    /** Cumulative distribution of genres. */
+    private static final double[] GENRE_CDF = cumulative(GENRE_WEIGHTS);
+
+    /** Cumulative Zipf distribution over directors. */
+    private static final double[] DIRECTOR_CDF = zipfCdf(DIRECTOR_POOL);
+
+    /** Cumulative Zipf distribution over actors. */
+    private static final double[] ACTOR_CDF = zipfCdf(ACTOR_POOL);
+
+    /**
+     * Hash of the catalog seed that per-movie seeds are offset from. Hashing keeps the movie streams of
+     * different catalog seeds apart; SplittableRandom seeds a golden-gamma step apart share one stream.
+     */
+    private final long baseSeed;
+
+    /**
+     * Create a generator.
+     *
+     * @param seed seed of the catalog; the same seed always yields the same movies
+     */
+    public SyntheticCatalogGenerator(final long seed) {
+        this.baseSeed = new SplittableRandom(seed).nextLong();
+    }
+
+    /**
+     * Generate a catalog. Movies are generated in parallel but returned in ID order.
+     *
+     * @param count number of movies
+     * @return the movies with IDs 1 to count
+     */
+    public List<Movie> generate(final int count) {
+        return IntStream.range(0, count).parallel()
+                .mapToObj(this::generateMovie)
+                .collect(Collectors.toCollection(() -> new ArrayList<>(count)));
+    }
+
+    /**
+     * Generate a single movie.
+     *
+     * @param index zero-based index of the movie; its ID is index + 1
+     * @return the movie
+     */
+    public Movie generateMovie(final int index) {
+        final SplittableRandom random = new SplittableRandom(baseSeed + index);
+        final int movieId = index + 1;
+
+        final List<String> directors = new ArrayList<>(2);
+        directors.add(personName(sample(DIRECTOR_CDF, random)));
+        if (random.nextDouble() < 0.1) {
+            directors.add(personName(sample(DIRECTOR_CDF, random)));
+        }
+
+        final int castSize = 3 + random.nextInt(10);
+        final List<String> castings = new ArrayList<>(castSize);
+        for (int i = 0; i < castSize; i++) {
+            castings.add(personName(sample(ACTOR_CDF, random)));
+        }
+
+        final int genreCount = 1 + random.nextInt(3);
+        final List<Genre> genres = new ArrayList<>(genreCount);
+        for (int i = 0; i < genreCount; i++) {
+            final Genre genre = GENRES[sample(GENRE_CDF, random)];
+            if (!genres.contains(genre)) {
+                genres.add(genre);
+            }
+        }
+
+        final String title = title(random, movieId);
+        final Movie movie = new Movie.Builder()
+                .movieId(movieId)
+                .title(title)
+                .directors(directors)
+                .year(FIRST_YEAR + (int) (YEAR_SPAN * Math.sqrt(random.nextDouble())))
+                .rating(popularity(random))
+                .genres(genres)
+                .overview(overview(title, genres.get(0), random))
+                .castings(castings)
+                .imgUrl("")
+                .build();
+
+        if (random.nextDouble() < USER_DATA_SHARE) {
+            final int comments = random.nextInt(MAX_USER_ENTRIES);
+            for (int i = 0; i < comments; i++) {
+                movie.addComment(COMMENTS[random.nextInt(COMMENTS.length)]);
+            }
+            final int ratings = random.nextInt(MAX_USER_ENTRIES);
+            for (int i = 0; i < ratings; i++) {
+                movie.addInAppRating((1 + random.nextInt(10)) / 2.0);
+            }
+        }
+        return movie;
+    }
+
+    /**
+     * Build a title such as "The Silent River", "Iron Harbor II" or "Midnight Signal: 1729".
+     *
+     * @param random  the movie's random source
+     * @param movieId the movie ID, used to keep titles varied in large catalogs
+     * @return the title
+     */
+    private static String title(final SplittableRandom random, final int movieId) {
+        final String base = TITLE_ADJECTIVES[random.nextInt(TITLE_ADJECTIVES.length)] + " "
+                + TITLE_NOUNS[random.nextInt(TITLE_NOUNS.length)];
+        final double style = random.nextDouble();
+        final String title;
+        if (style < 0.4) {
+            title = "The " + base;
+        } else if (style < 0.55) {
+            title = base + " " + (random.nextBoolean() ? "II" : "III");
+        } else if (style < 0.75) {
+            title = base + ": " + movieId;
+        } else {
+            title = base;
+        }
+        return title;
+    }
+
+    /**
+     * Draw a TMDB-style popularity score: log-normal, so most titles score in the tens and a few in the thousands.
+     *
+     * @param random the movie's random source
+     * @return the popularity, rounded to three decimals
+     */
+    private static double popularity(final SplittableRandom random) {
+        final double popularity = Math.exp(POPULARITY_MU + POPULARITY_SIGMA * gaussian(random));
+        return Math.min(MAX_POPULARITY, Math.round(popularity * 1000) / 1000.0);
+    }
+
+    /**
+     * Build a one-sentence overview.
+     *
+     * @param title  the movie title
+     * @param genre  the main genre
+     * @param random the movie's random source
+     * @return the overview
+     */
+    private static String overview(final String title, final Genre genre, final SplittableRandom random) {
+        return "A story of " + genre.name().toLowerCase().replace('_', ' ') + " set in "
+                + SETTINGS[random.nextInt(SETTINGS.length)] + ", where " + title + " changes everything.";
+    }
+
+    /**
+     * Name of the person at a popularity rank. Names repeat the first/last name grid with a numeric
+     * suffix once the grid is exhausted, so every rank has a distinct name.
+     *
+     * @param rank zero-based popularity rank
+     * @return the name
+     */
+    static String personName(final int rank) {
+        final int grid = FIRST_NAMES.length * LAST_NAMES.length;
+        final String name = FIRST_NAMES[rank % FIRST_NAMES.length] + " "
+                + LAST_NAMES[(rank / FIRST_NAMES.length) % LAST_NAMES.length];
+        return rank < grid ? name : name + " " + (rank / grid + 1);
+    }
+
+    /**
+     * Draw an index from a cumulative distribution.
+     *
+     * @param cdf    cumulative probabilities ending in 1
+     * @param random the random source
+     * @return the sampled index
+     */
+    private static int sample(final double[] cdf, final SplittableRandom random) {
+        final int position = Arrays.binarySearch(cdf, random.nextDouble());
+        return Math.min(cdf.length - 1, position >= 0 ? position : -position - 1);
+    }
+
+    /**
+     * Draw from the standard normal distribution (Box-Muller).
+     *
+     * @param random the random source
+     * @return a standard normal value
+     */
+    private static double gaussian(final SplittableRandom random) {
+        return Math.sqrt(-2 * Math.log(1 - random.nextDouble())) * Math.cos(2 * Math.PI * random.nextDouble());
+    }
+
+    /**
+     * Build the cumulative Zipf-Mandelbrot distribution over ranks 1 to size.
+     *
+     * @param size number of ranks
+     * @return cumulative probabilities
+     */
+    private static double[] zipfCdf(final int size) {
+        final double[] weights = new double[size];
+        for (int rank = 0; rank < size; rank++) {
+            weights[rank] = 1.0 / Math.pow(rank + 1 + ZIPF_OFFSET, ZIPF_EXPONENT);
+        }
+        return cumulative(weights);
+    }
+
+    /**
+     * Turn weights into a cumulative distribution.
+     *
+     * @param weights relative weights
+     * @return cumulative probabilities ending in 1
+     */
+    private static double[] cumulative(final double[] weights) {
+        final double[] cdf = new double[weights.length];
+        double total = 0;
+        for (final double weight : weights) {
+            total += weight;
+        }
+        double running = 0;
+        for (int i = 0; i < weights.length; i++) {
+            running += weights[i];
+            cdf[i] = running / total;
+        }
+        cdf[cdf.length - 1] = 1.0;
+        return cdf;
+    }
+}
@@ -0,0 +1,225 @@
+package com.moviefeaster.utils;
+
+import com.moviefeaster.model.CircuitState;
+import okhttp3.Interceptor;
+import okhttp3.Response;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Protects callers from a slow or failing TMDB.
+ * Each endpoint (discover, movie details/credits, change feed) has its own circuit breaker, so an outage
+ * of one does not stop the others, and a bulkhead caps the calls in flight across all of them.
+ * Rejected calls fail fast with {@link CallRejectedException} instead of tying up a thread.
+ * The guard is installed twice: as an application interceptor it judges whole calls, after their retries,
+ * and as a network interceptor ({@link #limitConcurrency}) it holds a bulkhead slot per request sent to TMDB.
+ * Responses served from the response cache say nothing about TMDB, so they neither take a slot nor count
+ * towards a circuit.
+ */
+public final class UpstreamGuard implements Interceptor {
+
+    /** Endpoint name of the discover listing. */
+    public static final String DISCOVER = "discover";
+
+    /** Endpoint name of the per-movie details and credits calls. */
+    public static final String MOVIE = "movie";
+
+    /** Endpoint name of the change feed. */
+    public static final String CHANGES = "changes";
+
+    /** First HTTP status treated as an upstream failure. */
+    private static final int SERVER_ERROR = 500;
+
+    /** HTTP "Too Many Requests" status, also treated as an upstream failure. */
+    private static final int TOO_MANY_REQUESTS = 429;
+
+    /** Circuit breakers by endpoint name. */
+    private final Map<String, CircuitBreaker> circuits = new LinkedHashMap<>();
+
+    /** Slots for calls in flight. */
+    private final Semaphore bulkhead;
+
+    /** Milliseconds a call waits for a bulkhead slot. */
+    private final long bulkheadWaitMillis;
+
+    /** Number of calls rejected because the bulkhead was full. */
+    private final AtomicLong bulkheadRejected = new AtomicLong();
+
+    /**
+     * Create the guard.
+     *
+     * @param failureThreshold   consecutive failures that open a circuit
+     * @param openMillis         milliseconds a circuit stays open before a probe
+     * @param maxConcurrent      maximum calls in flight
+     * @param bulkheadWaitMillis milliseconds a call waits for a free slot
+     */
+    public UpstreamGuard(final int failureThreshold, final long openMillis, final int maxConcurrent,
+                         final long bulkheadWaitMillis) {
+        for (final String endpoint : new String[] {DISCOVER, MOVIE, CHANGES}) {
+            circuits.put(endpoint, new CircuitBreaker(endpoint, failureThreshold, openMillis));
+        }
+        this.bulkhead = new Semaphore(Math.max(1, maxConcurrent));
+        this.bulkheadWaitMillis = Math.max(0, bulkheadWaitMillis);
+    }
+
+    /**
+     * Run the call through its endpoint's circuit. A call answered from the cache is recorded as ignored,
+     * so it can neither close a probing circuit nor reset the failure count.
+     *
+     * @param chain the interceptor chain
+     * @return the response
+     * @throws IOException if the call is rejected or fails
+     */
+    @Override
+    public Response intercept(final Chain chain) throws IOException {
+        final CircuitBreaker circuit = circuits.get(endpointOf(chain.request().url().encodedPath()));
+        if (!circuit.tryAcquire()) {
+            throw new CallRejectedException("Circuit " + circuit.getName() + " is open");
+        }
+
+        try {
+            final Response response = chain.proceed(chain.request());
+            if (response.networkResponse() == null) {
+                circuit.recordIgnored();
+            } else if (response.code() >= SERVER_ERROR || response.code() == TOO_MANY_REQUESTS) {
+                circuit.recordFailure();
+            } else {
+                circuit.recordSuccess();
+            }
+            return response;
+        } catch (IOException | RuntimeException e) {
+            if (e instanceof CallRejectedException || chain.call().isCanceled()
+                    || Thread.currentThread().isInterrupted()) {
+                circuit.recordIgnored();
+            } else {
+                circuit.recordFailure();
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Hold a bulkhead slot while a request is sent to TMDB. Installed as a network interceptor, so cache
+     * hits never wait for or take a slot.
+     *
+     * @param chain the network interceptor chain
+     * @return the network response
+     * @throws IOException if the bulkhead is full, the wait is interrupted or the request fails
+     */
+    public Response limitConcurrency(final Chain chain) throws IOException {
+        try {
+            if (!bulkhead.tryAcquire(bulkheadWaitMillis, TimeUnit.MILLISECONDS)) {
+                bulkheadRejected.incrementAndGet();
+                throw new CallRejectedException("Too many TMDB calls in flight");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for a bulkhead slot");
+        }
+
+        try {
+            return chain.proceed(chain.request());
+        } finally {
+            bulkhead.release();
+        }
+    }
+
+    /**
+     * Map a TMDB url path to its endpoint name.
+     *
+     * @param path the encoded url path, e.g. {@code /3/movie/550/credits}
+     * @return the endpoint name
+     */
+    static String endpointOf(final String path) {
+        String endpoint = MOVIE;
+        if (path.contains("/discover/")) {
+            endpoint = DISCOVER;
+        } else if (path.endsWith("/movie/changes")) {
+            endpoint = CHANGES;
+        }
+        return endpoint;
+    }
+
+    /**
+     * Whether calls to an endpoint are currently let through.
+     *
+     * @param endpoint the endpoint name
+     * @return true unless the endpoint's circuit is open
+     */
+    public boolean isAvailable(final String endpoint) {
+        final CircuitBreaker circuit = circuits.get(endpoint);
+        return circuit == null || circuit.getState() != CircuitState.OPEN;
+    }
+
+    /**
+     * Get the state of every circuit.
+     *
+     * @return endpoint name to circuit state
+     */
+    public Map<String, CircuitState> getStates() {
+        final Map<String, CircuitState> states = new LinkedHashMap<>();
+        circuits.forEach((endpoint, circuit) -> states.put(endpoint, circuit.getState()));
+        return states;
+    }
+
+    /**
+     * Get the state of one circuit.
+     *
+     * @param endpoint the endpoint name
+     * @return the circuit state, or null for an unknown endpoint
+     */
+    public CircuitState getState(final String endpoint) {
+        final CircuitBreaker circuit = circuits.get(endpoint);
+        return circuit == null ? null : circuit.getState();
+    }
+
+    /**
+     * Get the endpoint names, each guarded by its own circuit.
+     *
+     * @return the endpoint names
+     */
+    public Set<String> getEndpoints() {
+        return Collections.unmodifiableSet(circuits.keySet());
+    }
+
+    /**
+     * Get the number of calls to one endpoint rejected by its open circuit.
+     *
+     * @param endpoint the endpoint name
+     * @return the number of rejected calls, 0 for an unknown endpoint
+     */
+    public long getCircuitRejected(final String endpoint) {
+        final CircuitBreaker circuit = circuits.get(endpoint);
+        return circuit == null ? 0 : circuit.getRejected();
+    }
+
+    /**
+     * Get the number of calls rejected by open circuits.
+     *
+     * @return the number of rejected calls
+     */
+    public long getCircuitRejected() {
+        long total = 0;
+        for (final CircuitBreaker circuit : circuits.values()) {
+            total += circuit.getRejected();
+        }
+        return total;
+    }
+
+    /**
+     * Get the number of calls rejected because the bulkhead was full.
+     *
+     * @return the number of rejected calls
+     */
+    public long getBulkheadRejected() {
+        return bulkheadRejected.get();
+    }
+}
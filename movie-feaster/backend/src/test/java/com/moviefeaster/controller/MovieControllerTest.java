@@ -4,6 +4,7 @@ import com.moviefeaster.model.*;
 import com.moviefeaster.service.MovieModel;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 
@@ -52,17 +53,32 @@ public class MovieControllerTest {
     /**
      * Tests the handleMultiFilterSearch method when all parameters are null.
      * Verifies that the method returns all movies and calls the model's
-     * searchByFilter method with an empty filter strategy.
+     * searchByFilter method with an empty filter strategy and no sort type.
      */
     @Test
     public void testHandleMultiFilterSearchAllParamsNull() {
         // Test
-        List<Movie> result = movieController.handleMultiFilterSearch(null, null, null, null, null);
+        List<Movie> result = movieController.handleMultiFilterSearch(null, null, null, null, null, null);
 
         // Verify
         assertEquals(testMovies, result);
         assertTrue(movieModel.searchByFilterCalled);
         assertEquals(0, movieModel.filterStrategy.size());
+        assertNull(movieModel.sortType);
+    }
+
+    /**
+     * Tests the handleMultiFilterSearch method with a sort type.
+     * Verifies that the sort type is passed to the model with the search.
+     */
+    @Test
+    public void testHandleMultiFilterSearchWithSortType() {
+        // Test
+        List<Movie> result = movieController.handleMultiFilterSearch(null, null, null, null, null, "year_desc");
+
+        // Verify
+        assertEquals(testMovies, result);
+        assertEquals(MovieSorterType.YEAR_DESC, movieModel.sortType);
     }
 
     /**
@@ -77,7 +93,7 @@ public class MovieControllerTest {
         inputProcessor.titleToReturn = title;
 
         // Test
-        List<Movie> result = movieController.handleMultiFilterSearch(title, null, null, null, null);
+        List<Movie> result = movieController.handleMultiFilterSearch(title, null, null, null, null, null);
 
         // Verify
         assertEquals(testMovies, result);
@@ -101,7 +117,7 @@ public class MovieControllerTest {
         inputProcessor.yearToReturn = year;
 
         // Test
-        List<Movie> result = movieController.handleMultiFilterSearch(null, director, null, "2010", null);
+        List<Movie> result = movieController.handleMultiFilterSearch(null, director, null, "2010", null, null);
 
         // Verify
         assertEquals(testMovies, result);
@@ -124,7 +140,7 @@ public class MovieControllerTest {
         inputProcessor.genreToReturn = genre;
 
         // Test
-        List<Movie> result = movieController.handleMultiFilterSearch(null, null, null, null, "ACTION");
+        List<Movie> result = movieController.handleMultiFilterSearch(null, null, null, null, "ACTION", null);
 
         // Verify
         assertEquals(testMovies, result);
@@ -147,7 +163,7 @@ public class MovieControllerTest {
 
         // Test
         List<Movie> result = movieController.handleMultiFilterSearch(null, null,
-                cast, null, null);
+                cast, null, null, null);
 
         // Verify
         assertEquals(testMovies, result);
@@ -168,7 +184,7 @@ public class MovieControllerTest {
         inputProcessor.titleToReturn = title;
 
         // Test
-        List<Movie> result = movieController.handleMultiFilterSearch(title, null, null, null, null);
+        List<Movie> result = movieController.handleMultiFilterSearch(title, null, null, null, null, null);
 
         // Verify
         assertEquals(testMovies, result);
@@ -189,7 +205,7 @@ public class MovieControllerTest {
         inputProcessor.directorToReturn = director;
 
         // Test
-        List<Movie> result = movieController.handleMultiFilterSearch(null, director, null, null, null);
+        List<Movie> result = movieController.handleMultiFilterSearch(null, director, null, null, null, null);
 
         // Verify
         assertEquals(testMovies, result);
@@ -210,7 +226,7 @@ public class MovieControllerTest {
         inputProcessor.castToReturn = cast;
 
         // Test
-        List<Movie> result = movieController.handleMultiFilterSearch(null, null, cast, null, null);
+        List<Movie> result = movieController.handleMultiFilterSearch(null, null, cast, null, null, null);
 
         // Verify
         assertEquals(testMovies, result);
@@ -227,14 +243,34 @@ public class MovieControllerTest {
     @Test
     public void testHandleSort() {
         // Test
-        List<Movie> result = movieController.handleSort("TITLE_ASC");
+        List<Movie> result = movieController.handleSort("TITLE_ASC", null, null, null, null, null);
 
         // Verify
         assertEquals(testMovies, result);
-        assertTrue(movieModel.sortMovieListCalled);
+        assertTrue(movieModel.searchByFilterCalled);
         assertEquals(MovieSorterType.TITLE_ASC, movieModel.sortType);
     }
 
+    /**
+     * Tests the handleSort method with filters.
+     * Verifies that the filters of the search being sorted are passed to the model
+     * together with the sort type, since no results are kept between requests.
+     */
+    @Test
+    public void testHandleSortWithFilters() {
+        // Setup
+        String director = "Nolan";
+        inputProcessor.directorToReturn = director;
+
+        // Test
+        movieController.handleSort("rating_desc", null, director, null, null, null);
+
+        // Verify
+        assertEquals(1, movieModel.filterStrategy.size());
+        assertEquals(director, movieModel.filterStrategy.get(MovieFilterType.DIRECTOR));
+        assertEquals(MovieSorterType.RATING_DESC, movieModel.sortType);
+    }
+
     /**
      * Tests the handleSort method with an invalid sort type.
      * Verifies that the method handles invalid sort types by passing null
@@ -243,11 +279,11 @@ public class MovieControllerTest {
     @Test
     public void testHandleSortWithInvalidSortType() {
         // Test
-        List<Movie> result = movieController.handleSort("INVALID_SORT");
+        List<Movie> result = movieController.handleSort("INVALID_SORT", null, null, null, null, null);
 
         // Verify
         assertEquals(testMovies, result);
-        assertTrue(movieModel.sortMovieListCalled);
+        assertTrue(movieModel.searchByFilterCalled);
         assertNull(movieModel.sortType); // The controller should pass null to the model for invalid sort types
     }
 
@@ -455,6 +491,55 @@ public class MovieControllerTest {
         assertEquals(movieId, movieModel.movieByIdCalled);
     }
 
+    /**
+     * Tests paging through a movie's comments, newest first, until the oldest one.
+     */
+    @Test
+    public void testGetCommentsPages() {
+        // Setup
+        Movie movie = testMovies.get(0);
+        movie.setComments(List.of("c0", "c1", "c2", "c3", "c4"));
+        movieModel.movieById = movie;
+
+        // Test
+        ResponseEntity<Map<String, Object>> first = movieController.getComments(1, null, 2);
+        ResponseEntity<Map<String, Object>> second = movieController.getComments(1, 3L, 2);
+        ResponseEntity<Map<String, Object>> last = movieController.getComments(1, 1L, 2);
+
+        // Verify
+        assertEquals(HttpStatus.OK, first.getStatusCode());
+        assertEquals(List.of("c4", "c3"), texts(first.getBody()));
+        assertEquals(5L, first.getBody().get("total"));
+        assertEquals(3L, first.getBody().get("nextBefore"));
+        assertEquals(List.of("c2", "c1"), texts(second.getBody()));
+        assertEquals(List.of("c0"), texts(last.getBody()));
+        assertNull(last.getBody().get("nextBefore"));
+    }
+
+    /**
+     * Tests that comments of an unknown movie are answered with 404.
+     */
+    @Test
+    public void testGetCommentsUnknownMovie() {
+        movieModel.movieById = null;
+        assertEquals(HttpStatus.NOT_FOUND, movieController.getComments(999, null, 20).getStatusCode());
+    }
+
+    /**
+     * Extracts the comment texts of a comments page.
+     *
+     * @param page the response body
+     * @return the texts, in page order
+     */
+    @SuppressWarnings("unchecked")
+    private List<String> texts(Map<String, Object> page) {
+        List<String> texts = new ArrayList<>();
+        for (Comment comment : (List<Comment>) page.get("comments")) {
+            texts.add(comment.getText());
+        }
+        return texts;
+    }
+
     /**
      * Tests the exportMovies method with the default format (PRETTY).
      * Verifies that the method returns a ResponseEntity with the expected
@@ -463,7 +548,7 @@ public class MovieControllerTest {
     @Test
     public void testExportMoviesDefaultFormat() {
         // Test
-        ResponseEntity<byte[]> response = movieController.exportMovies("PRETTY");
+        ResponseEntity<byte[]> response = movieController.exportMovies("PRETTY", null, null, null, null, null, null);
 
         // Verify
         assertEquals(HttpStatus.OK, response.getStatusCode());
@@ -479,7 +564,7 @@ public class MovieControllerTest {
     @Test
     public void testExportMoviesJsonFormat() {
         // Test
-        ResponseEntity<byte[]> response = movieController.exportMovies("JSON");
+        ResponseEntity<byte[]> response = movieController.exportMovies("JSON", null, null, null, null, null, null);
 
         // Verify
         assertEquals(HttpStatus.OK, response.getStatusCode());
@@ -496,7 +581,7 @@ public class MovieControllerTest {
     @Test
     public void testExportMoviesXmlFormat() {
         // Test
-        ResponseEntity<byte[]> response = movieController.exportMovies("XML");
+        ResponseEntity<byte[]> response = movieController.exportMovies("XML", null, null, null, null, null, null);
 
         // Verify
         assertEquals(HttpStatus.OK, response.getStatusCode());
@@ -513,7 +598,7 @@ public class MovieControllerTest {
     @Test
     public void testExportMoviesCsvFormat() {
         // Test
-        ResponseEntity<byte[]> response = movieController.exportMovies("CSV");
+        ResponseEntity<byte[]> response = movieController.exportMovies("CSV", null, null, null, null, null, null);
 
         // Verify
         assertEquals(HttpStatus.OK, response.getStatusCode());
@@ -529,7 +614,7 @@ public class MovieControllerTest {
     @Test
     public void testExportMoviesInvalidFormat() {
         // Test
-        ResponseEntity<byte[]> response = movieController.exportMovies("INVALID_FORMAT");
+        ResponseEntity<byte[]> response = movieController.exportMovies("INVALID_FORMAT", null, null, null, null, null, null);
 
         // Verify
         assertEquals(HttpStatus.OK, response.getStatusCode());
@@ -546,11 +631,11 @@ public class MovieControllerTest {
     @Test
     public void testExportMoviesWithException() {
         // Setup a scenario that would cause an exception
-        // We'll modify our test model to throw an exception when accessing processed movies
-        movieModel.throwExceptionOnGetProcessedMovies = true;
+        // We'll modify our test model to throw an exception when searching
+        movieModel.throwExceptionOnSearch = true;
 
         // Test
-        ResponseEntity<byte[]> response = movieController.exportMovies("JSON");
+        ResponseEntity<byte[]> response = movieController.exportMovies("JSON", null, null, null, null, null, null);
 
         // Verify
         assertEquals(HttpStatus.INTERNAL_SERVER_ERROR, response.getStatusCode());
@@ -558,24 +643,58 @@ public class MovieControllerTest {
     }
 
     /**
-     * Tests the exportMovies method when processedMovies returns null.
-     * Verifies that the method falls back to using getMovies() and returns
-     * a ResponseEntity with the expected status code, content type, and non-null body.
+     * Tests the exportMovies method with filters and a sort type.
+     * Verifies that the export runs the search it is given instead of reusing
+     * results of an earlier request.
      */
     @Test
-    public void testExportMoviesWithNullProcessedMovies() {
-        // Setup - make processedMovies return null
-        movieModel.returnNullForProcessedMovies = true;
+    public void testExportMoviesAppliesSearch() {
+        // Setup
+        String title = "Inception";
+        inputProcessor.titleToReturn = title;
 
         // Test
-        ResponseEntity<byte[]> response = movieController.exportMovies("JSON");
+        ResponseEntity<byte[]> response = movieController.exportMovies("JSON", "rating_desc", title,
+                null, null, null, null);
 
         // Verify
         assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertTrue(movieModel.searchByFilterCalled);
+        assertEquals(title, movieModel.filterStrategy.get(MovieFilterType.TITLE_KEYWORD));
+        assertEquals(MovieSorterType.RATING_DESC, movieModel.sortType);
+    }
+
+    /**
+     * Tests that data endpoints reject requests while the catalog is empty and still loading,
+     * and that the rejection is translated into 503 with a Retry-After header.
+     */
+    @Test
+    public void testRequestsBeforeCatalogLoaded() {
+        // Setup - a model that has not loaded any movies yet
+        MovieController controller = new MovieController(new TestMovieModel(new ArrayList<>()), inputProcessor);
+
+        // Test
+        CatalogNotReadyException exception = assertThrows(CatalogNotReadyException.class,
+                controller::getAllMovies);
+        ResponseEntity<String> response = controller.handleCatalogNotReady(exception);
+
+        // Verify
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, response.getStatusCode());
+        assertNotNull(response.getHeaders().getFirst(HttpHeaders.RETRY_AFTER));
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, controller.getCatalogStatus().getStatusCode());
+    }
+
+    /**
+     * Tests the getCatalogStatus method reports the number of movies served.
+     */
+    @Test
+    public void testGetCatalogStatus() {
+        // Test
+        ResponseEntity<Map<String, Object>> response = movieController.getCatalogStatus();
+
+        // Verify
         assertNotNull(response.getBody());
-        assertEquals("application/json", Objects.requireNonNull(response.getHeaders()
-                .getContentType()).toString());
-        assertTrue(movieModel.getMoviesCalled); // Verify that getMovies() was called as fallback
+        assertEquals(testMovies.size(), response.getBody().get("movies"));
     }
 
     /**
@@ -628,15 +747,9 @@ public class MovieControllerTest {
         /** A list of original movies used for testing. */
         private final List<Movie> movies;
 
-        /** A list of processed movies that can be filtered or sorted. */
-        private final List<Movie> processedMovies;
-
         /** Flag to track if searchByFilter method was called. */
         private boolean searchByFilterCalled = false;
 
-        /** Flag to track if sortMovieList method was called. */
-        private boolean sortMovieListCalled = false;
-
         /** Flag to track if updateComments method was called. */
         private boolean updateCommentsCalled = false;
 
@@ -646,7 +759,7 @@ public class MovieControllerTest {
         /** Map to store filter strategy passed to searchByFilter method. */
         private Map<MovieFilterType, Object> filterStrategy = new HashMap<>();
 
-        /** Sort type passed to sortMovieList method. */
+        /** Sort type passed to searchByFilter method. */
         private MovieSorterType sortType;
 
         /** Movie ID passed to updateComments method. */
@@ -667,14 +780,8 @@ public class MovieControllerTest {
         /** Movie to return from getMovieById method. */
         private Movie movieById;
 
-        /** Flag to control throwing exception in getProcessedMovies method. */
-        private boolean throwExceptionOnGetProcessedMovies = false;
-
-        /** Flag to control returning null in getProcessedMovies method. */
-        private boolean returnNullForProcessedMovies = false;
-
-        /** Flag to track if getMovies method was called. */
-        private boolean getMoviesCalled = false;
+        /** Flag to control throwing exception in searchByFilter method. */
+        private boolean throwExceptionOnSearch = false;
 
 
         /**
@@ -684,7 +791,6 @@ public class MovieControllerTest {
          */
         TestMovieModel(List<Movie> testMovies) {
             this.movies = testMovies;
-            this.processedMovies = new ArrayList<>(testMovies);
         }
 
         @Override
@@ -694,7 +800,6 @@ public class MovieControllerTest {
 
         @Override
         public List<Movie> getMovies() {
-            getMoviesCalled = true;
             return movies;
         }
         @Override
@@ -704,27 +809,19 @@ public class MovieControllerTest {
         }
 
         @Override
-        public List<Movie> getProcessedMovies() {
-            if (throwExceptionOnGetProcessedMovies) {
-                throw new RuntimeException("Test exception");
-            }
-            return returnNullForProcessedMovies ? null : processedMovies;
-        }
-        @Override
-        public void writeFile(boolean useProcessedMovie, Format format) {
+        public void writeFile(List<Movie> moviesToWrite, Format format) {
             // Do nothing for tests
         }
 
         @Override
-        public void searchByFilter(Map<MovieFilterType, Object> filterStrategy) {
+        public List<Movie> searchByFilter(Map<MovieFilterType, Object> filterStrategy, MovieSorterType sortType) {
+            if (throwExceptionOnSearch) {
+                throw new RuntimeException("Test exception");
+            }
             this.searchByFilterCalled = true;
             this.filterStrategy = filterStrategy != null ? filterStrategy : new HashMap<>();
-        }
-
-        @Override
-        public void sortMovieList(MovieSorterType sortType) {
-            this.sortMovieListCalled = true;
             this.sortType = sortType;
+            return new ArrayList<>(movies);
         }
 
         @Override
@@ -0,0 +1,115 @@
+package com.moviefeaster.jfr;
+
+import com.moviefeaster.model.Format;
+import com.moviefeaster.model.Genre;
+import com.moviefeaster.model.Movie;
+import com.moviefeaster.model.MovieFilterType;
+import com.moviefeaster.utils.DataFormatter;
+import com.moviefeaster.utils.MovieFilterFacilitator;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for the Flight Recorder events of the hot paths.
+ */
+class FlightRecorderEventsTest {
+
+    /** Directory the recordings are dumped to. */
+    @TempDir
+    Path tempDir;
+
+    /**
+     * Creates a small list of test movies.
+     *
+     * @return the movies
+     */
+    private List<Movie> movies() {
+        Movie m1 = new Movie.Builder().movieId(1).title("The Matrix").year(1999).rating(8.7)
+                .genres(List.of(Genre.ACTION, Genre.SCIENCE_FICTION)).build();
+        Movie m2 = new Movie.Builder().movieId(2).title("Inception").year(2010).rating(8.8)
+                .genres(List.of(Genre.SCIENCE_FICTION)).build();
+        Movie m3 = new Movie.Builder().movieId(3).title("Barbie").year(2023).rating(7.1)
+                .genres(List.of(Genre.COMEDY)).build();
+        return List.of(m1, m2, m3);
+    }
+
+    /**
+     * Runs an action inside a recording of one event type and returns the recorded events.
+     *
+     * @param eventName the event name
+     * @param action    the action
+     * @return the recorded events
+     * @throws IOException if the recording cannot be dumped or read
+     */
+    private List<RecordedEvent> record(String eventName, Runnable action) throws IOException {
+        Path file = tempDir.resolve("events.jfr");
+        try (Recording recording = new Recording()) {
+            recording.enable(eventName).withThreshold(Duration.ZERO);
+            recording.start();
+            action.run();
+            recording.stop();
+            recording.dump(file);
+        }
+        return RecordingFile.readAllEvents(file);
+    }
+
+    /**
+     * Tests that a search records its filter types and list sizes.
+     *
+     * @throws IOException if the recording fails
+     */
+    @Test
+    void filterEventRecordsTypesAndSizes() throws IOException {
+        Map<MovieFilterType, Object> filters = new LinkedHashMap<>();
+        filters.put(MovieFilterType.GENRE, "SCIENCE_FICTION");
+        filters.put(MovieFilterType.YEAR_RANGE, new int[]{2000, 2023});
+
+        List<RecordedEvent> events = record("com.moviefeaster.Filter",
+                () -> MovieFilterFacilitator.filter(movies(), filters));
+
+        assertEquals(1, events.size());
+        assertEquals("genre,year_range", events.get(0).getString("filterTypes"));
+        assertEquals(3, events.get(0).getInt("inputSize"));
+        assertEquals(1, events.get(0).getInt("outputSize"));
+    }
+
+    /**
+     * Tests that an export records its format and the bytes written.
+     *
+     * @throws IOException if the recording fails
+     */
+    @Test
+    void exportEventRecordsFormatAndBytes() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        List<RecordedEvent> events = record("com.moviefeaster.Export",
+                () -> DataFormatter.write(movies(), Format.JSON, out));
+
+        assertEquals(1, events.size());
+        assertEquals("JSON", events.get(0).getString("format"));
+        assertEquals(3, events.get(0).getInt("movies"));
+        assertEquals(out.size(), events.get(0).getLong("bytes"));
+    }
+
+    /**
+     * Tests that nothing is committed without a recording.
+     */
+    @Test
+    void eventsAreDisabledWithoutRecording() {
+        FilterEvent event = new FilterEvent();
+        assertFalse(event.isEnabled());
+    }
+}
@@ -0,0 +1,66 @@
+package com.moviefeaster.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for the immutable {@link Catalog}.
+ */
+class CatalogTest {
+
+    /**
+     * Creates a test movie.
+     *
+     * @param movieId the movie ID
+     * @param title   the title
+     * @return the movie
+     */
+    private Movie movie(int movieId, String title) {
+        return new Movie.Builder().movieId(movieId).title(title).year(2000).build();
+    }
+
+    /**
+     * Tests that the empty catalog is version 0 and has no movies.
+     */
+    @Test
+    void emptyCatalog() {
+        assertEquals(0, Catalog.empty().getVersion());
+        assertTrue(Catalog.empty().isEmpty());
+        assertNull(Catalog.empty().getMovie(1));
+    }
+
+    /**
+     * Tests that the next version copies the given list and indexes it by ID.
+     */
+    @Test
+    void nextCopiesMovies() {
+        List<Movie> movies = new ArrayList<>(List.of(movie(1, "First"), movie(2, "Second")));
+        Catalog catalog = Catalog.empty().next(movies);
+        movies.clear();
+
+        assertEquals(1, catalog.getVersion());
+        assertEquals(2, catalog.size());
+        assertEquals("Second", catalog.getMovie(2).getTitle());
+        assertNull(catalog.getMovie(3));
+        assertThrows(UnsupportedOperationException.class, () -> catalog.getMovies().add(movie(3, "Third")));
+    }
+
+    /**
+     * Tests that user data is added to the published movie in place, without a new version.
+     */
+    @Test
+    void userDataChangesInPlace() {
+        Catalog catalog = Catalog.empty().next(List.of(movie(1, "First"), movie(2, "Second")));
+
+        catalog.getMovie(2).addComment("Seen it twice");
+        catalog.getMovie(2).addInAppRating(4.0);
+
+        assertEquals(1, catalog.getVersion());
+        assertEquals(List.of("Seen it twice"), catalog.getMovies().get(1).getComments());
+        assertEquals(4.0, catalog.getMovies().get(1).getInAppRating());
+    }
+}
@@ -0,0 +1,190 @@
+package com.moviefeaster.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for {@link CommentLog}.
+ */
+class CommentLogTest {
+
+    /**
+     * Builds a log of the comments "c0", "c1", ... up to the given count.
+     *
+     * @param count number of comments
+     * @return the log
+     */
+    private CommentLog logOf(int count) {
+        CommentLog log = new CommentLog();
+        for (int i = 0; i < count; i++) {
+            assertEquals(i, log.append("c" + i));
+        }
+        return log;
+    }
+
+    /**
+     * Extracts the texts of a page.
+     *
+     * @param page the comments
+     * @return the texts, in page order
+     */
+    private List<String> texts(List<Comment> page) {
+        List<String> texts = new ArrayList<>();
+        for (Comment comment : page) {
+            texts.add(comment.getText());
+        }
+        return texts;
+    }
+
+    /**
+     * Tests that an empty log has no comments.
+     */
+    @Test
+    void emptyLog() {
+        CommentLog log = new CommentLog();
+        assertEquals(0, log.size());
+        assertTrue(log.latest(10).isEmpty());
+        assertTrue(log.getAll().isEmpty());
+        assertFalse(log.anyMatch(comment -> true));
+        assertEquals(0, CommentLog.of(null).size());
+    }
+
+    /**
+     * Tests that comments keep their order and sequence numbers across chunk boundaries.
+     */
+    @Test
+    void appendAcrossChunks() {
+        int count = CommentLog.CHUNK_SIZE * 3 + 7;
+        CommentLog log = logOf(count);
+
+        assertEquals(count, log.size());
+        List<String> all = log.getAll();
+        assertEquals(count, all.size());
+        for (int i = 0; i < count; i++) {
+            assertEquals("c" + i, all.get(i));
+        }
+    }
+
+    /**
+     * Tests paging backwards from the newest comment to the oldest one.
+     */
+    @Test
+    void pagesNewestFirst() {
+        CommentLog log = logOf(5);
+
+        List<Comment> first = log.latest(2);
+        assertEquals(List.of("c4", "c3"), texts(first));
+        assertEquals(3, first.get(1).getSequence());
+        assertEquals(List.of("c2", "c1"), texts(log.before(3, 2)));
+        assertEquals(List.of("c0"), texts(log.before(1, 2)));
+        assertTrue(log.before(0, 2).isEmpty());
+        assertTrue(log.latest(0).isEmpty());
+    }
+
+    /**
+     * Tests matching comments without copying them.
+     */
+    @Test
+    void anyMatch() {
+        CommentLog log = CommentLog.of(List.of("A classic", "Too long"));
+        assertTrue(log.anyMatch(comment -> comment.contains("classic")));
+        assertFalse(log.anyMatch(comment -> comment.contains("boring")));
+    }
+
+    /**
+     * Tests visiting every comment, oldest first, across chunk boundaries.
+     */
+    @Test
+    void forEachVisitsOldestFirst() {
+        int count = CommentLog.CHUNK_SIZE + 3;
+        CommentLog log = logOf(count);
+        List<String> visited = new ArrayList<>();
+        log.forEach(visited::add);
+        assertEquals(log.getAll(), visited);
+        assertEquals("c0", visited.get(0));
+        assertEquals("c" + (count - 1), visited.get(count - 1));
+    }
+
+    /**
+     * Tests that a comment still being appended ends the full list, so rebuilding the log from it keeps every
+     * sequence number, while paging skips the gap.
+     */
+    @Test
+    void inFlightAppendEndsFullList() throws ReflectiveOperationException {
+        CommentLog log = logOf(2);
+        Field next = CommentLog.class.getDeclaredField("next");
+        next.setAccessible(true);
+        next.setLong(log, next.getLong(log) + 1);
+        assertEquals(3, log.append("c3"));
+
+        assertEquals(List.of("c0", "c1"), log.getAll());
+        List<String> visited = new ArrayList<>();
+        log.forEach(visited::add);
+        assertEquals(List.of("c0", "c1"), visited);
+        assertEquals(List.of("c3", "c1", "c0"), texts(log.latest(10)));
+        assertEquals(1, CommentLog.of(log.getAll()).latest(1).get(0).getSequence());
+    }
+
+    /**
+     * Tests that null comments are rejected.
+     */
+    @Test
+    void rejectsNull() {
+        assertThrows(NullPointerException.class, () -> new CommentLog().append(null));
+    }
+
+    /**
+     * Stress test: many threads appending at once lose no comment and never share a sequence number.
+     */
+    @Test
+    void concurrentAppendsAreNotLost() throws Exception {
+        final int threads = Math.max(4, Runtime.getRuntime().availableProcessors() * 2);
+        final int commentsPerThread = 10_000;
+        CommentLog log = new CommentLog();
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<?>> writers = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                final int thread = t;
+                writers.add(executor.submit(() -> {
+                    start.await();
+                    for (int i = 0; i < commentsPerThread; i++) {
+                        log.append(thread + ":" + i);
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> writer : writers) {
+                writer.get(60, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        int total = threads * commentsPerThread;
+        assertEquals(total, log.size());
+        List<String> all = log.getAll();
+        assertEquals(total, all.size());
+        assertEquals(total, new HashSet<>(all).size());
+
+        Set<Long> sequences = new HashSet<>();
+        for (Comment comment : log.latest(total)) {
+            sequences.add(comment.getSequence());
+        }
+        assertEquals(total, sequences.size());
+    }
+}
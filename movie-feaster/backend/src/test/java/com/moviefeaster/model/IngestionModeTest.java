@@ -0,0 +1,37 @@
+package com.moviefeaster.model;
+
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test class for {@link IngestionMode} enum.
+ */
+public class IngestionModeTest {
+
+    /**
+     * Tests that the getValue() method returns the correct string representation for each enum constant.
+     */
+    @Test
+    public void testGetValue() {
+        assertEquals("credits", IngestionMode.CREDITS.getValue());
+        assertEquals("append", IngestionMode.APPEND.getValue());
+    }
+
+    /**
+     * Tests that fromValue() converts string representations case-insensitively.
+     */
+    @Test
+    public void testFromValue() {
+        assertEquals(IngestionMode.CREDITS, IngestionMode.fromValue("credits"));
+        assertEquals(IngestionMode.APPEND, IngestionMode.fromValue("APPEND"));
+    }
+
+    /**
+     * Tests that fromValue() returns null for unknown or null input.
+     */
+    @Test
+    public void testFromValueInvalid() {
+        assertNull(IngestionMode.fromValue("details"));
+        assertNull(IngestionMode.fromValue(null));
+    }
+}
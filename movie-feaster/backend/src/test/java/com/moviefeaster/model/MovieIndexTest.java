@@ -0,0 +1,82 @@
+package com.moviefeaster.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for the primitive {@link MovieIndex}.
+ */
+class MovieIndexTest {
+
+    /**
+     * Creates a test movie.
+     *
+     * @param movieId the movie ID
+     * @return the movie
+     */
+    private Movie movie(int movieId) {
+        return new Movie.Builder().movieId(movieId).title("Movie " + movieId).build();
+    }
+
+    /**
+     * Tests that an empty index finds nothing.
+     */
+    @Test
+    void emptyIndex() {
+        MovieIndex index = MovieIndex.of(List.of());
+        assertEquals(MovieIndex.ABSENT, index.positionOf(0));
+        assertEquals(MovieIndex.ABSENT, index.positionOf(1));
+    }
+
+    /**
+     * Tests that every indexed ID maps to its position and unknown IDs are absent,
+     * for sparse random IDs as in TMDB.
+     */
+    @Test
+    void findsEveryPosition() {
+        Random random = new Random(7);
+        List<Movie> movies = new ArrayList<>();
+        for (int i = 0; i < 10_000; i++) {
+            movies.add(movie(1 + random.nextInt(Integer.MAX_VALUE - 1)));
+        }
+        MovieIndex index = MovieIndex.of(movies);
+
+        for (int i = 0; i < movies.size(); i++) {
+            int position = index.positionOf(movies.get(i).getMovieId());
+            assertEquals(movies.get(i).getMovieId(), movies.get(position).getMovieId());
+        }
+        assertEquals(MovieIndex.ABSENT, index.positionOf(-5));
+    }
+
+    /**
+     * Tests sequential IDs, which share most of their bits, and the ID 0.
+     */
+    @Test
+    void sequentialIds() {
+        List<Movie> movies = new ArrayList<>();
+        for (int movieId = 0; movieId < 1000; movieId++) {
+            movies.add(movie(movieId));
+        }
+        MovieIndex index = MovieIndex.of(movies);
+
+        for (int movieId = 0; movieId < 1000; movieId++) {
+            assertEquals(movieId, index.positionOf(movieId));
+        }
+        assertEquals(MovieIndex.ABSENT, index.positionOf(1000));
+    }
+
+    /**
+     * Tests that a duplicated ID maps to its first position, as a linear scan would find it.
+     */
+    @Test
+    void duplicateIdKeepsFirstPosition() {
+        MovieIndex index = MovieIndex.of(List.of(movie(3), movie(5), movie(3)));
+        assertEquals(0, index.positionOf(3));
+        assertEquals(1, index.positionOf(5));
+    }
+}
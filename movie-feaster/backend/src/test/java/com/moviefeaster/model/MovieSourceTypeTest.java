@@ -0,0 +1,38 @@
+package com.moviefeaster.model;
+
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test class for {@link MovieSourceType} enum.
+ */
+public class MovieSourceTypeTest {
+
+    /**
+     * Tests that the getValue() method returns the correct string representation for each enum constant.
+     */
+    @Test
+    public void testGetValue() {
+        assertEquals("tmdb", MovieSourceType.TMDB.getValue());
+        assertEquals("stub", MovieSourceType.STUB.getValue());
+        assertEquals("synthetic", MovieSourceType.SYNTHETIC.getValue());
+    }
+
+    /**
+     * Tests that fromValue() converts string representations case-insensitively.
+     */
+    @Test
+    public void testFromValue() {
+        assertEquals(MovieSourceType.TMDB, MovieSourceType.fromValue("tmdb"));
+        assertEquals(MovieSourceType.FIXTURE, MovieSourceType.fromValue("FIXTURE"));
+    }
+
+    /**
+     * Tests that fromValue() returns null for unknown or null input.
+     */
+    @Test
+    public void testFromValueInvalid() {
+        assertNull(MovieSourceType.fromValue("database"));
+        assertNull(MovieSourceType.fromValue(null));
+    }
+}
@@ -254,6 +254,23 @@ public class MovieTest {
         assertEquals("Second comment", movie.getComments().get(1));
     }
 
+    /**
+     * Tests that only the newest comments are included with the movie, newest first, with the total count.
+     */
+    @Test
+    public void testRecentComments() {
+        for (int i = 0; i < Movie.RECENT_COMMENTS + 5; i++) {
+            movie.addComment("Comment " + i);
+        }
+
+        List<Comment> recent = movie.getRecentComments();
+        assertEquals(Movie.RECENT_COMMENTS, recent.size());
+        assertEquals("Comment " + (Movie.RECENT_COMMENTS + 4), recent.get(0).getText());
+        assertEquals(Movie.RECENT_COMMENTS + 4, recent.get(0).getSequence());
+        assertEquals(Movie.RECENT_COMMENTS + 5, movie.getCommentCount());
+        assertEquals(Movie.RECENT_COMMENTS + 5, movie.getComments().size());
+    }
+
     /**
      * Tests the {@link Movie#setInAppRating(List)} method.
      * Verifies:
@@ -0,0 +1,122 @@
+package com.moviefeaster.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for {@link RatingAggregate}.
+ */
+class RatingAggregateTest {
+
+    /**
+     * Tests that an empty aggregate averages to 0.0.
+     */
+    @Test
+    void emptyAggregate() {
+        RatingAggregate aggregate = new RatingAggregate();
+        assertEquals(0.0, aggregate.getAverage());
+        assertEquals(0, aggregate.getCount());
+        assertEquals(0.0, aggregate.getSum());
+        assertArrayEquals(new long[RatingAggregate.BUCKETS], aggregate.getHistogram());
+    }
+
+    /**
+     * Tests that the running average matches the average of the individual ratings.
+     */
+    @Test
+    void runningAverage() {
+        RatingAggregate aggregate = new RatingAggregate();
+        aggregate.add(4.0);
+        assertEquals(4.0, aggregate.getAverage());
+        aggregate.add(5.0);
+        aggregate.add(3.5);
+        assertEquals((4.0 + 5.0 + 3.5) / 3, aggregate.getAverage());
+        assertEquals(3, aggregate.getCount());
+        assertEquals(12.5, aggregate.getSum());
+    }
+
+    /**
+     * Tests that ratings are counted in half-star buckets and out-of-range ratings in the edge buckets.
+     */
+    @Test
+    void histogram() {
+        RatingAggregate aggregate = RatingAggregate.of(List.of(0.5, 4.5, 4.5, 5.0, 9.0, -1.0));
+        long[] histogram = aggregate.getHistogram();
+        assertEquals(1, histogram[0]);
+        assertEquals(1, histogram[1]);
+        assertEquals(2, histogram[9]);
+        assertEquals(2, histogram[10]);
+    }
+
+    /**
+     * Stress test: many threads rating at once lose no rating, in the count, the sum or the histogram.
+     */
+    @Test
+    void concurrentRatingsAreNotLost() throws Exception {
+        final int threads = Math.max(4, Runtime.getRuntime().availableProcessors() * 2);
+        final int ratingsPerThread = 20_000;
+        RatingAggregate aggregate = new RatingAggregate();
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<?>> raters = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                raters.add(executor.submit(() -> {
+                    start.await();
+                    for (int i = 0; i < ratingsPerThread; i++) {
+                        aggregate.add(i % 2 == 0 ? 5.0 : 1.0);
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> rater : raters) {
+                rater.get(60, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        long total = (long) threads * ratingsPerThread;
+        assertEquals(total, aggregate.getCount());
+        assertEquals(3.0, aggregate.getAverage());
+        assertEquals(total / 2, aggregate.getHistogram()[2]);
+        assertEquals(total / 2, aggregate.getHistogram()[10]);
+        assertEquals(3.0 * total, aggregate.getSum());
+    }
+
+    /**
+     * Tests that an aggregate restored from its totals matches the original.
+     */
+    @Test
+    void restoreFromTotals() {
+        RatingAggregate original = RatingAggregate.of(List.of(4.0, 4.5, 1.0));
+        RatingAggregate restored = RatingAggregate.restore(original.getCount(), original.getSum(),
+                original.getHistogram());
+
+        assertEquals(original.getCount(), restored.getCount());
+        assertEquals(original.getAverage(), restored.getAverage());
+        assertArrayEquals(original.getHistogram(), restored.getHistogram());
+        restored.add(5.0);
+        assertEquals(4, restored.getCount());
+        assertEquals(0, RatingAggregate.restore(0, 0.0, new long[RatingAggregate.BUCKETS]).getCount());
+        assertThrows(IllegalArgumentException.class, () -> RatingAggregate.restore(1, 1.0, new long[2]));
+    }
+
+    /**
+     * Tests that null is treated as no ratings.
+     */
+    @Test
+    void ofNull() {
+        assertEquals(0, RatingAggregate.of(null).getCount());
+    }
+}
@@ -0,0 +1,72 @@
+package com.moviefeaster.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for {@link CreditsParser}.
+ */
+class CreditsParserTest {
+
+    /** Credits payload with nested fields and a job listed before and after the name. */
+    private static final String CREDITS = "{\"id\":1,"
+            + "\"cast\":[{\"name\":\"A\",\"roles\":[{\"character\":\"X\"}]},{\"adult\":false,\"name\":\"B\"},"
+            + "{\"name\":\"C\"}],"
+            + "\"crew\":[{\"name\":\"N\",\"job\":\"Director\"},{\"job\":\"Director\",\"name\":\"M\",\"x\":{\"y\":2}},"
+            + "{\"name\":\"Z\",\"job\":\"Writer\"}]}";
+
+    private static InputStream stream(final String json) {
+        return new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void testParseKeepsDirectorsAndFullCast() throws IOException {
+        CreditsParser.Credits credits = CreditsParser.parse(stream(CREDITS), 0);
+
+        assertEquals(List.of("N", "M"), credits.getDirectors());
+        assertEquals(List.of("A", "B", "C"), credits.getCastings());
+    }
+
+    @Test
+    void testParseCapsCast() throws IOException {
+        CreditsParser.Credits credits = CreditsParser.parse(stream(CREDITS), 2);
+
+        assertEquals(List.of("N", "M"), credits.getDirectors());
+        assertEquals(List.of("A", "B"), credits.getCastings());
+    }
+
+    @Test
+    void testParseSkipsEntriesWithoutName() throws IOException {
+        String json = "{\"cast\":[{\"name\":null},{\"character\":\"X\"},{\"name\":\"A\"},{\"name\":{\"x\":1}},"
+                + "{\"name\":\" \"},{\"name\":\"B\"}],"
+                + "\"crew\":[{\"job\":\"Director\",\"name\":null},{\"job\":\"Director\"},"
+                + "{\"job\":\"Director\",\"name\":7},{\"job\":\"Director\",\"name\":\"N\"}]}";
+
+        CreditsParser.Credits credits = CreditsParser.parse(stream(json), 2);
+
+        assertEquals(List.of("N"), credits.getDirectors());
+        assertEquals(List.of("A", "B"), credits.getCastings());
+    }
+
+    @Test
+    void testParseNonObjectPayload() throws IOException {
+        CreditsParser.Credits credits = CreditsParser.parse(stream("[]"), 0);
+
+        assertTrue(credits.getDirectors().isEmpty());
+        assertTrue(credits.getCastings().isEmpty());
+    }
+
+    @Test
+    void testParseEmptyBody() throws IOException {
+        CreditsParser.Credits credits = CreditsParser.parse(InputStream.nullInputStream(), 0);
+
+        assertTrue(credits.getCastings().isEmpty());
+    }
+}
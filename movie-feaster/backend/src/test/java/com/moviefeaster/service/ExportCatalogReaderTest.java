@@ -0,0 +1,96 @@
+package com.moviefeaster.service;
+
+import com.moviefeaster.model.Movie;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.zip.GZIPOutputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for ExportCatalogReader.
+ * Builds a small ID export and details directory in a temporary folder.
+ */
+class ExportCatalogReaderTest {
+
+    /** Temporary directory holding the export and detail files. */
+    @TempDir
+    Path tempDir;
+
+    /** The gzipped ID export. */
+    private Path exportFile;
+
+    /** The directory of mirrored detail payloads. */
+    private Path detailsDir;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        exportFile = tempDir.resolve("movie_ids.json.gz");
+        String lines = "{\"adult\":false,\"id\":550,\"original_title\":\"Fight Club\",\"popularity\":61.4,"
+                + "\"video\":false}\n"
+                + "{\"adult\":true,\"id\":9999,\"original_title\":\"Skipped\",\"popularity\":99.0,\"video\":false}\n"
+                + "{\"adult\":false,\"id\":27205,\"original_title\":\"Inception\",\"popularity\":83.9,"
+                + "\"video\":false}\n"
+                + "{\"adult\":false,\"id\":13,\"original_title\":\"Forrest Gump\",\"popularity\":45.0,"
+                + "\"video\":false}\n";
+        try (OutputStream out = new GZIPOutputStream(Files.newOutputStream(exportFile))) {
+            out.write(lines.getBytes(StandardCharsets.UTF_8));
+        }
+
+        detailsDir = Files.createDirectory(tempDir.resolve("details"));
+        Files.writeString(detailsDir.resolve("27205.json"), "{\"id\":27205,\"title\":\"Inception\","
+                + "\"release_date\":\"2010-07-15\",\"popularity\":83.9,\"genres\":[{\"id\":28,\"name\":\"Action\"}],"
+                + "\"credits\":{\"cast\":[{\"name\":\"Leonardo DiCaprio\"}],"
+                + "\"crew\":[{\"name\":\"Christopher Nolan\",\"job\":\"Director\"}]}}");
+        Files.writeString(detailsDir.resolve("13.json"), "not json");
+    }
+
+    @Test
+    void testReadExportSortsByPopularityAndSkipsAdult() throws IOException {
+        List<ExportCatalogReader.ExportEntry> entries = ExportCatalogReader.readExport(exportFile, 0);
+
+        assertEquals(3, entries.size());
+        assertEquals(27205, entries.get(0).getMovieId());
+        assertEquals(550, entries.get(1).getMovieId());
+        assertEquals(13, entries.get(2).getMovieId());
+    }
+
+    @Test
+    void testReadExportLimit() throws IOException {
+        assertEquals(2, ExportCatalogReader.readExport(exportFile, 2).size());
+    }
+
+    @Test
+    void testReadCatalogWithDetails() throws IOException {
+        List<Movie> movies = ExportCatalogReader.readCatalog(exportFile, detailsDir, 0);
+
+        assertEquals(3, movies.size());
+        Movie inception = movies.get(0);
+        assertEquals("Inception", inception.getTitle());
+        assertEquals(2010, inception.getYear());
+        assertEquals(List.of("Christopher Nolan"), inception.getDirectors());
+        assertEquals(List.of("Leonardo DiCaprio"), inception.getCastings());
+
+        // No detail file and an unreadable detail file both fall back to the export fields
+        assertEquals("Fight Club", movies.get(1).getTitle());
+        assertEquals(61.4, movies.get(1).getRating());
+        assertEquals("Forrest Gump", movies.get(2).getTitle());
+    }
+
+    @Test
+    void testReadCatalogExportOnly() throws IOException {
+        List<Movie> movies = ExportCatalogReader.readCatalog(exportFile, null, 0);
+
+        assertEquals(3, movies.size());
+        assertEquals("Inception", movies.get(0).getTitle());
+        assertTrue(movies.get(0).getDirectors().isEmpty());
+    }
+}
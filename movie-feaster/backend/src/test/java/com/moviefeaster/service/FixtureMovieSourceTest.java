@@ -0,0 +1,46 @@
+package com.moviefeaster.service;
+
+import com.moviefeaster.model.Genre;
+import com.moviefeaster.model.Movie;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.net.URISyntaxException;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Objects;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for FixtureMovieSource.
+ * Replays the recorded TMDB bodies under src/test/resources/fixtures/tmdb.
+ */
+class FixtureMovieSourceTest {
+
+    @Test
+    void testReplayFixtures() throws URISyntaxException, IOException {
+        Path directory = Path.of(Objects.requireNonNull(getClass().getResource("/fixtures/tmdb")).toURI());
+
+        List<Movie> movies = new FixtureMovieSource(directory).fetchMovies();
+
+        assertEquals(2, movies.size());
+        Movie inception = movies.get(0);
+        assertEquals(27205, inception.getMovieId());
+        assertEquals(List.of("Christopher Nolan"), inception.getDirectors());
+        assertEquals(List.of(Genre.ACTION, Genre.SCIENCE_FICTION), inception.getGenres());
+
+        // No detail payload was recorded for Fight Club, so it is built from the discover summary
+        Movie fightClub = movies.get(1);
+        assertEquals("Fight Club", fightClub.getTitle());
+        assertEquals(1999, fightClub.getYear());
+        assertTrue(fightClub.getDirectors().isEmpty());
+        assertFalse(new FixtureMovieSource(directory).hasChangeFeed());
+    }
+
+    @Test
+    void testMissingDirectory(@TempDir final Path tempDir) {
+        assertThrows(IOException.class, () -> new FixtureMovieSource(tempDir.resolve("missing")).fetchMovies());
+    }
+}
@@ -1,16 +1,31 @@
 package com.moviefeaster.service;
 
+import com.moviefeaster.model.Catalog;
 import com.moviefeaster.model.Format;
 import com.moviefeaster.model.Movie;
 import com.moviefeaster.model.MovieSorterType;
 import com.moviefeaster.model.MovieFilterType;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 
+import java.io.DataOutputStream;
 import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -22,6 +37,10 @@ class MovieModelTest {
     /** MovieModel instance for testing. */
     private MovieModel model;
 
+    /** Temporary directory holding snapshot files. */
+    @TempDir
+    Path tempDir;
+
     /**
      * Sets up test data before each test.
      */
@@ -72,12 +91,20 @@ class MovieModelTest {
     }
 
     /**
-     * Tests getting processed movies from the model.
+     * Tests that each search returns its own list, unaffected by later searches.
      */
     @Test
-    void getProcessedMovies() {
-        List<Movie> processed = model.getProcessedMovies();
-        assertNotNull(processed);
+    void searchResultsAreIndependent() {
+        model.fetchMovies();
+        Map<MovieFilterType, Object> filters = new HashMap<>();
+        filters.put(MovieFilterType.TITLE_KEYWORD, "NonExistentMovieTitle123");
+        List<Movie> all = model.searchByFilter(null, MovieSorterType.TITLE_ASC);
+        List<Movie> none = model.searchByFilter(filters, MovieSorterType.TITLE_DESC);
+
+        assertEquals(model.getMovies().size(), all.size());
+        assertTrue(isSortedByTitleAsc(all), "First result must keep its own sort order");
+        assertTrue(none.isEmpty());
+        assertNotSame(model.getMovies(), all, "Results must not expose the catalog list");
     }
 
     /**
@@ -86,7 +113,7 @@ class MovieModelTest {
     @Test
     void writeFileJson() {
         model.fetchMovies();
-        model.writeFile(false, Format.JSON);
+        model.writeFile(model.getMovies(), Format.JSON);
         File outputFile = new File("output.json");
         assertTrue(outputFile.exists(), "Output file should exist after writing");
         outputFile.delete(); // Clean up
@@ -98,7 +125,7 @@ class MovieModelTest {
     @Test
     void writeFileXml() {
         model.fetchMovies();
-        model.writeFile(false, Format.XML);
+        model.writeFile(model.getMovies(), Format.XML);
         File outputFile = new File("output.xml");
         assertTrue(outputFile.exists(), "Output file should exist after writing");
         outputFile.delete(); // Clean up
@@ -110,7 +137,7 @@ class MovieModelTest {
     @Test
     void writeFileCsv() {
         model.fetchMovies();
-        model.writeFile(false, Format.CSV);
+        model.writeFile(model.getMovies(), Format.CSV);
         File outputFile = new File("output.csv");
         assertTrue(outputFile.exists(), "Output file should exist after writing");
         outputFile.delete(); // Clean up
@@ -124,8 +151,7 @@ class MovieModelTest {
         model.fetchMovies();
         Map<MovieFilterType, Object> filters = new HashMap<>();
         filters.put(MovieFilterType.TITLE_KEYWORD, "The");
-        model.searchByFilter(filters);
-        List<Movie> results = model.getProcessedMovies();
+        List<Movie> results = model.searchByFilter(filters, null);
         assertNotNull(results);
         assertFalse(results.isEmpty(), "Should find movies with 'The' in title");
     }
@@ -138,8 +164,7 @@ class MovieModelTest {
         model.fetchMovies();
         Map<MovieFilterType, Object> filters = new HashMap<>();
         filters.put(MovieFilterType.TITLE_KEYWORD, "NonExistentMovieTitle123");
-        model.searchByFilter(filters);
-        List<Movie> results = model.getProcessedMovies();
+        List<Movie> results = model.searchByFilter(filters, null);
         assertTrue(results.isEmpty(), "Should return empty list for non-existent title");
     }
 
@@ -149,8 +174,7 @@ class MovieModelTest {
     @Test
     void searchByFilterNullFilters() {
         model.fetchMovies();
-        model.searchByFilter(null);
-        List<Movie> results = model.getProcessedMovies();
+        List<Movie> results = model.searchByFilter(null, null);
         assertNotNull(results);
         assertEquals(model.getMovies().size(), results.size(), "Should return all movies when filters are null");
     }
@@ -161,8 +185,7 @@ class MovieModelTest {
     @Test
     void searchByFilterEmptyFilters() {
         model.fetchMovies();
-        model.searchByFilter(new HashMap<>());
-        List<Movie> results = model.getProcessedMovies();
+        List<Movie> results = model.searchByFilter(new HashMap<>(), null);
         assertNotNull(results);
         assertEquals(model.getMovies().size(), results.size(), "Should return all movies when filters are empty");
     }
@@ -173,8 +196,7 @@ class MovieModelTest {
     @Test
     void sortMovieListTitleAsc() {
         model.fetchMovies();
-        model.sortMovieList(MovieSorterType.TITLE_ASC);
-        List<Movie> sorted = model.getProcessedMovies();
+        List<Movie> sorted = model.searchByFilter(null, MovieSorterType.TITLE_ASC);
         assertNotNull(sorted);
         assertTrue(isSortedByTitleAsc(sorted), "Movies should be sorted by title ascending");
     }
@@ -185,8 +207,7 @@ class MovieModelTest {
     @Test
     void sortMovieListTitleDesc() {
         model.fetchMovies();
-        model.sortMovieList(MovieSorterType.TITLE_DESC);
-        List<Movie> sorted = model.getProcessedMovies();
+        List<Movie> sorted = model.searchByFilter(null, MovieSorterType.TITLE_DESC);
         assertNotNull(sorted);
         assertTrue(isSortedByTitleDesc(sorted), "Movies should be sorted by title descending");
     }
@@ -197,8 +218,7 @@ class MovieModelTest {
     @Test
     void sortMovieListYearAsc() {
         model.fetchMovies();
-        model.sortMovieList(MovieSorterType.YEAR_ASC);
-        List<Movie> sorted = model.getProcessedMovies();
+        List<Movie> sorted = model.searchByFilter(null, MovieSorterType.YEAR_ASC);
         assertNotNull(sorted);
         assertTrue(isSortedByYearAsc(sorted), "Movies should be sorted by year ascending");
     }
@@ -209,8 +229,7 @@ class MovieModelTest {
     @Test
     void sortMovieListYearDesc() {
         model.fetchMovies();
-        model.sortMovieList(MovieSorterType.YEAR_DESC);
-        List<Movie> sorted = model.getProcessedMovies();
+        List<Movie> sorted = model.searchByFilter(null, MovieSorterType.YEAR_DESC);
         assertNotNull(sorted);
         assertTrue(isSortedByYearDesc(sorted), "Movies should be sorted by year descending");
     }
@@ -221,8 +240,7 @@ class MovieModelTest {
     @Test
     void sortMovieListRatingAsc() {
         model.fetchMovies();
-        model.sortMovieList(MovieSorterType.RATING_ASC);
-        List<Movie> sorted = model.getProcessedMovies();
+        List<Movie> sorted = model.searchByFilter(null, MovieSorterType.RATING_ASC);
         assertNotNull(sorted);
         assertTrue(isSortedByRatingAsc(sorted), "Movies should be sorted by rating ascending");
     }
@@ -233,32 +251,116 @@ class MovieModelTest {
     @Test
     void sortMovieListRatingDesc() {
         model.fetchMovies();
-        model.sortMovieList(MovieSorterType.RATING_DESC);
-        List<Movie> sorted = model.getProcessedMovies();
+        List<Movie> sorted = model.searchByFilter(null, MovieSorterType.RATING_DESC);
         assertNotNull(sorted);
         assertTrue(isSortedByRatingDesc(sorted), "Movies should be sorted by rating descending");
     }
 
     /**
-     * Tests setting the default movie sorter type.
+     * Tests that a search without a sort type is sorted by title.
      */
     @Test
-    void setDefaultMovieSorterType() {
-        model.setDefaultSortType(MovieSorterType.RATING_DESC);
-        model.sortMovieList(MovieSorterType.RATING_DESC);
-        assertNotNull(model.getProcessedMovies());
+    void searchByFilterDefaultSort() {
+        model.fetchMovies();
+        List<Movie> results = model.searchByFilter(null, null);
+        assertTrue(isSortedByTitleAsc(results), "Movies should be sorted by title ascending by default");
     }
 
     /**
-     * Tests updating movie comments.
+     * Tests that sorting returns a new list and leaves the given list untouched.
      */
     @Test
-    void updateComments() {
-        model.fetchMovies();
-        Movie movie = model.getMovies().get(0);
-        String comment = "Great movie!";
-        model.updateComments(movie.getMovieId(), comment);
-        assertTrue(movie.getComments().contains(comment));
+    void sortMoviesLeavesInputUntouched() {
+        Movie older = new Movie.Builder().movieId(1).title("B").year(1990).build();
+        Movie newer = new Movie.Builder().movieId(2).title("A").year(2020).build();
+        List<Movie> input = List.of(older, newer);
+
+        List<Movie> sorted = model.sortMovies(input, MovieSorterType.YEAR_DESC);
+
+        assertEquals(List.of(newer, older), sorted);
+        assertEquals(List.of(older, newer), input);
+        assertSame(input, model.sortMovies(input, null));
+    }
+
+    /**
+     * Tests that a user comment is appended in place, without publishing a new catalog version.
+     */
+    @Test
+    void updateComments() throws InterruptedException {
+        MovieModel loaded = loadedModel(new Movie.Builder().movieId(7).title("Loaded").build());
+        try {
+            Catalog before = loaded.getCatalog();
+            String comment = "Great movie!";
+            loaded.updateComments(7, comment);
+            assertSame(before, loaded.getCatalog());
+            assertEquals(List.of(comment), loaded.getMovieById(7).getComments());
+            assertEquals(1, loaded.getMovieById(7).getCommentCount());
+        } finally {
+            loaded.shutdown();
+        }
+    }
+
+    /**
+     * Tests that a user rating is added in place, without publishing a new catalog version.
+     */
+    @Test
+    void updateRatingInPlace() throws InterruptedException {
+        MovieModel loaded = loadedModel(new Movie.Builder().movieId(7).title("Loaded").build());
+        try {
+            Catalog before = loaded.getCatalog();
+
+            loaded.updateRating(7, 4.0);
+
+            assertSame(before, loaded.getCatalog());
+            assertEquals(1, loaded.getMovieById(7).getInAppRatingCount());
+            assertEquals(4.0, loaded.getMovieById(7).getInAppRating());
+        } finally {
+            loaded.shutdown();
+        }
+    }
+
+    /**
+     * Tests that no rating or comment is lost when many threads rate one movie at once while another comments.
+     */
+    @Test
+    void concurrentRatingsAreNotLost() throws Exception {
+        final int threads = 8;
+        final int ratingsPerThread = 5_000;
+        MovieModel loaded = loadedModel(new Movie.Builder().movieId(7).title("Blockbuster").build());
+        ExecutorService executor = Executors.newFixedThreadPool(threads + 1);
+        try {
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<?>> raters = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                raters.add(executor.submit(() -> {
+                    start.await();
+                    for (int i = 0; i < ratingsPerThread; i++) {
+                        loaded.updateRating(7, 1 + i % 5);
+                    }
+                    return null;
+                }));
+            }
+            Future<?> commenter = executor.submit(() -> {
+                start.await();
+                for (int i = 0; i < 200; i++) {
+                    loaded.updateComments(7, "Comment " + i);
+                }
+                return null;
+            });
+            start.countDown();
+            for (Future<?> rater : raters) {
+                rater.get(30, TimeUnit.SECONDS);
+            }
+            commenter.get(30, TimeUnit.SECONDS);
+
+            Movie movie = loaded.getMovieById(7);
+            assertEquals((long) threads * ratingsPerThread, movie.getInAppRatingCount());
+            assertEquals(3.0, movie.getInAppRating());
+            assertEquals(200, movie.getComments().size());
+        } finally {
+            executor.shutdownNow();
+            loaded.shutdown();
+        }
     }
 
     /**
@@ -281,6 +383,155 @@ class MovieModelTest {
         // Should not throw exception
     }
 
+    /**
+     * Tests merging changed movies into the catalog keeps order and user data.
+     */
+    @Test
+    void mergeChanges() {
+        Movie first = new Movie.Builder().movieId(1).title("Old Title").year(2000).build();
+        Movie second = new Movie.Builder().movieId(2).title("Unchanged").year(2001).build();
+        first.addComment("Great movie!");
+        first.addInAppRating(4.5);
+        List<Movie> current = List.of(first, second);
+
+        Movie updated = new Movie.Builder().movieId(1).title("New Title").year(2000).build();
+        List<Movie> merged = MovieModel.mergeChanges(current, List.of(updated));
+
+        assertEquals(2, merged.size());
+        assertSame(updated, merged.get(0));
+        assertSame(second, merged.get(1));
+        assertEquals("New Title", merged.get(0).getTitle());
+        assertEquals(List.of("Great movie!"), merged.get(0).getComments());
+        assertEquals(4.5, merged.get(0).getInAppRating());
+        assertEquals("Old Title", current.get(0).getTitle(), "Current catalog must not be modified");
+    }
+
+    /**
+     * Tests that a model built from a source without a snapshot file loads the source's movies.
+     */
+    @Test
+    void loadsSourceWithoutSnapshot() throws InterruptedException {
+        List<Movie> movies = List.of(new Movie.Builder().movieId(7).title("Synthetic").year(2010).build());
+        MovieModel sourced = new MovieModel(() -> movies, null);
+        try {
+            for (int i = 0; i < 500 && !sourced.isReady(); i++) {
+                Thread.sleep(10);
+            }
+            assertTrue(sourced.isReady());
+            assertEquals("Synthetic", sourced.getMovieById(7).getTitle());
+        } finally {
+            sourced.shutdown();
+        }
+    }
+
+    /**
+     * Tests that a snapshot with a valid header followed by garbage is ignored and the source is still loaded.
+     */
+    @Test
+    void loadsSourceDespiteCorruptSnapshot() throws IOException, InterruptedException {
+        Path snapshot = tempDir.resolve("catalog.snapshot");
+        byte[] garbage = new byte[256];
+        new Random(42).nextBytes(garbage);
+        try (DataOutputStream out = new DataOutputStream(Files.newOutputStream(snapshot))) {
+            out.writeInt(0x4D465331);
+            out.writeInt(2);
+            out.write(garbage);
+        }
+
+        List<Movie> movies = List.of(new Movie.Builder().movieId(7).title("From source").year(2010).build());
+        MovieModel sourced = new MovieModel(() -> movies, snapshot);
+        try {
+            for (int i = 0; i < 500 && !sourced.isReady(); i++) {
+                Thread.sleep(10);
+            }
+            assertTrue(sourced.isReady());
+            assertEquals("From source", sourced.getMovieById(7).getTitle());
+        } finally {
+            sourced.shutdown();
+        }
+    }
+
+    /**
+     * Tests that a complete fetch with fewer movies replaces the catalog, keeping the user data of the movies
+     * it still contains.
+     */
+    @Test
+    void smallerHealthyFetchReplacesCatalog() throws InterruptedException {
+        AtomicReference<List<Movie>> fetched = new AtomicReference<>(List.of(
+                new Movie.Builder().movieId(1).title("Kept").build(),
+                new Movie.Builder().movieId(2).title("Dropped").build(),
+                new Movie.Builder().movieId(3).title("Dropped too").build()));
+        MovieModel loaded = loadedModel(fetched::get);
+        try {
+            loaded.updateComments(1, "Still here");
+            fetched.set(List.of(new Movie.Builder().movieId(1).title("Kept").build()));
+
+            loaded.fetchMovies();
+
+            assertEquals(1, loaded.getMovies().size());
+            assertNull(loaded.getMovieById(2));
+            assertEquals(List.of("Still here"), loaded.getMovieById(1).getComments());
+        } finally {
+            loaded.shutdown();
+        }
+    }
+
+    /**
+     * Tests that a fetch the source reports as failed keeps the last good catalog.
+     */
+    @Test
+    void failedFetchKeepsCatalog() throws InterruptedException {
+        AtomicBoolean failing = new AtomicBoolean();
+        List<Movie> movies = List.of(new Movie.Builder().movieId(1).title("Good").build(),
+                new Movie.Builder().movieId(2).title("Also good").build());
+        MovieModel loaded = loadedModel(() -> {
+            if (failing.get()) {
+                throw new IOException("3 of 10 discover pages failed");
+            }
+            return movies;
+        });
+        try {
+            Catalog before = loaded.getCatalog();
+            failing.set(true);
+
+            loaded.fetchMovies();
+
+            assertSame(before, loaded.getCatalog());
+            assertEquals(2, loaded.getMovies().size());
+        } finally {
+            loaded.shutdown();
+        }
+    }
+
+    /**
+     * Build a model over the given movies, without a snapshot, and wait until its background load has finished,
+     * so no reload races the test.
+     *
+     * @param movies the catalog
+     * @return the loaded model; the caller shuts it down
+     * @throws InterruptedException if interrupted while waiting
+     */
+    private MovieModel loadedModel(Movie... movies) throws InterruptedException {
+        List<Movie> catalog = List.of(movies);
+        return loadedModel(() -> catalog);
+    }
+
+    /**
+     * Build a model over the given source, without a snapshot, and wait until its background load has finished.
+     *
+     * @param source the movie source
+     * @return the loaded model; the caller shuts it down
+     * @throws InterruptedException if interrupted while waiting
+     */
+    private MovieModel loadedModel(MovieSource source) throws InterruptedException {
+        MovieModel loaded = new MovieModel(source, null);
+        for (int i = 0; i < 500 && !loaded.isReady(); i++) {
+            Thread.sleep(10);
+        }
+        assertTrue(loaded.isReady());
+        return loaded;
+    }
+
     // Helper methods for checking sort order
     private boolean isSortedByTitleAsc(List<Movie> movies) {
         for (int i = 0; i < movies.size() - 1; i++) {
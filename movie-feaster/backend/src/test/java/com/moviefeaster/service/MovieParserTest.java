@@ -1,15 +1,21 @@
 package com.moviefeaster.service;
 
+import com.moviefeaster.model.Genre;
+import com.moviefeaster.model.Movie;
 import org.junit.jupiter.api.Test;
 
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.util.Arrays;
 import java.util.HashSet;
+import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
 
 /**
  * Test class for {@link MovieParser}.
- * Contains unit tests for the MovieSummary inner class.
+ * Contains unit tests for the MovieSummary inner class and page parsing.
  */
 class MovieParserTest {
 
@@ -55,4 +61,77 @@ class MovieParserTest {
         
         assertEquals(expected, summary.toString());
     }
+
+    @Test
+    void testReadResultsStreamsDiscoverPage() throws IOException {
+        String page = "{\"page\":1,\"results\":["
+                + "{\"id\":1,\"title\":\"First\",\"release_date\":\"2023-01-01\","
+                + "\"genre_ids\":[28],\"popularity\":9.5,\"adult\":false},"
+                + "{\"id\":2,\"title\":\"Second\",\"release_date\":\"2022-05-01\",\"genre_ids\":[]}"
+                + "],\"total_pages\":10}";
+
+        List<MovieParser.MovieSummary> summaries = MovieParser.readResults(
+                new ByteArrayInputStream(page.getBytes(StandardCharsets.UTF_8)));
+
+        assertEquals(2, summaries.size());
+        assertEquals(1, summaries.get(0).getMovieID());
+        assertEquals(9.5, summaries.get(0).getRating());
+        assertEquals("Second", summaries.get(1).getTitle());
+    }
+
+    @Test
+    void testReadResultsWithoutResultsField() throws IOException {
+        List<MovieParser.MovieSummary> summaries = MovieParser.readResults(
+                new ByteArrayInputStream("{\"status_code\":7}".getBytes(StandardCharsets.UTF_8)));
+
+        assertTrue(summaries.isEmpty());
+    }
+
+    @Test
+    void testReadDetailsWithAppendedCredits() throws IOException {
+        String details = "{\"id\":27205,\"title\":\"Inception\",\"overview\":\"Dreams.\","
+                + "\"release_date\":\"2010-07-15\",\"popularity\":83.9,\"poster_path\":\"/p.jpg\","
+                + "\"genres\":[{\"id\":28,\"name\":\"Action\"},{\"id\":878,\"name\":\"Science Fiction\"}],"
+                + "\"credits\":{\"cast\":[{\"name\":\"Leonardo DiCaprio\"},{\"name\":\"Elliot Page\"}],"
+                + "\"crew\":[{\"name\":\"Christopher Nolan\",\"job\":\"Director\"},"
+                + "{\"name\":\"Hans Zimmer\",\"job\":\"Original Music Composer\"}]},"
+                + "\"keywords\":{\"keywords\":[{\"id\":1,\"name\":\"dream\"}]}}";
+
+        Movie movie = MovieParser.readDetails(new ByteArrayInputStream(details.getBytes(StandardCharsets.UTF_8)));
+
+        assertEquals(27205, movie.getMovieId());
+        assertEquals("Inception", movie.getTitle());
+        assertEquals(2010, movie.getYear());
+        assertEquals(List.of("Christopher Nolan"), movie.getDirectors());
+        assertEquals(List.of("Leonardo DiCaprio", "Elliot Page"), movie.getCastings());
+        assertEquals(List.of(Genre.ACTION, Genre.SCIENCE_FICTION), movie.getGenres());
+        assertEquals("https://image.tmdb.org/t/p/w500/p.jpg", movie.getImgUrl());
+    }
+
+    @Test
+    void testReadDetailsYearFromReleaseDates() throws IOException {
+        String details = "{\"id\":1,\"title\":\"Upcoming\",\"release_date\":\"\","
+                + "\"release_dates\":{\"results\":[{\"iso_3166_1\":\"US\","
+                + "\"release_dates\":[{\"release_date\":\"2026-03-01T00:00:00.000Z\",\"type\":3}]}]}}";
+
+        Movie movie = MovieParser.readDetails(new ByteArrayInputStream(details.getBytes(StandardCharsets.UTF_8)));
+
+        assertEquals(2026, movie.getYear());
+        assertTrue(movie.getDirectors().isEmpty());
+    }
+
+    @Test
+    void testToMovieWithoutUsableReleaseDate() {
+        MovieParser.MovieSummary summary = new MovieParser.MovieSummary();
+        summary.setMovieID(7);
+        summary.setTitle("Undated");
+        summary.setGenreID(new HashSet<>());
+
+        summary.setReleaseDate("");
+        assertEquals(0, MovieParser.toMovie(summary, List.of(), List.of()).getYear());
+        summary.setReleaseDate(null);
+        assertEquals(0, MovieParser.toMovie(summary, List.of(), List.of()).getYear());
+        summary.setReleaseDate("2023-01-01");
+        assertEquals(2023, MovieParser.toMovie(summary, List.of("Director"), List.of()).getYear());
+    }
 }
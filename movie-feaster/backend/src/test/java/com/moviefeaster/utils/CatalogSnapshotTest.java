@@ -0,0 +1,143 @@
+package com.moviefeaster.utils;
+
+import com.moviefeaster.model.*;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for CatalogSnapshot.
+ * Verifies that movies, comments and in-app ratings survive a write and read round trip.
+ */
+class CatalogSnapshotTest {
+
+    /** Temporary directory holding snapshot files. */
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void testRoundTrip() throws IOException {
+        final Movie movie = new Movie.Builder()
+                .movieId(278)
+                .title("The Shawshank Redemption")
+                .directors(Arrays.asList("Frank Darabont"))
+                .year(1994)
+                .rating(8.7)
+                .genres(Arrays.asList(Genre.DRAMA, Genre.CRIME))
+                .overview("Two imprisoned men bond over a number of years \u2713")
+                .castings(Arrays.asList("Tim Robbins", "Morgan Freeman"))
+                .imgUrl("https://image.tmdb.org/t/p/w500/poster.jpg")
+                .build();
+        movie.addComment("Great movie!");
+        movie.addInAppRating(4.5);
+        movie.addInAppRating(3.0);
+
+        final Path file = tempDir.resolve("catalog.snapshot");
+        CatalogSnapshot.write(List.of(movie), file);
+        final List<Movie> restored = CatalogSnapshot.read(file);
+
+        assertEquals(1, restored.size());
+        final Movie copy = restored.get(0);
+        assertEquals(278, copy.getMovieId());
+        assertEquals("The Shawshank Redemption", copy.getTitle());
+        assertEquals(1994, copy.getYear());
+        assertEquals(8.7, copy.getRating());
+        assertEquals(movie.getOverview(), copy.getOverview());
+        assertEquals(movie.getImgUrl(), copy.getImgUrl());
+        assertEquals(List.of("Frank Darabont"), copy.getDirectors());
+        assertEquals(List.of("Tim Robbins", "Morgan Freeman"), copy.getCastings());
+        assertEquals(List.of(Genre.DRAMA, Genre.CRIME), copy.getGenres());
+        assertEquals(List.of("Great movie!"), copy.getComments());
+        assertEquals(2, copy.getInAppRatingCount());
+        assertEquals(3.75, copy.getInAppRating());
+        assertArrayEquals(movie.getInAppRatings().getHistogram(), copy.getInAppRatings().getHistogram());
+    }
+
+    @Test
+    void testReadsVersionOneRatingList() throws IOException {
+        final Path file = tempDir.resolve("v1.snapshot");
+        try (DataOutputStream out = new DataOutputStream(Files.newOutputStream(file))) {
+            out.writeInt(0x4D465331);
+            out.writeInt(1);
+            out.writeInt(1);
+            out.writeInt(550);
+            writeString(out, "Fight Club");
+            out.writeInt(1999);
+            out.writeDouble(8.4);
+            writeString(out, "Overview");
+            writeString(out, "");
+            out.writeInt(0);
+            out.writeInt(0);
+            out.writeInt(0);
+            out.writeInt(1);
+            writeString(out, "First rule");
+            out.writeInt(3);
+            out.writeDouble(5.0);
+            out.writeDouble(4.0);
+            out.writeDouble(3.0);
+        }
+
+        final Movie movie = CatalogSnapshot.read(file).get(0);
+        assertEquals("Fight Club", movie.getTitle());
+        assertEquals(List.of("First rule"), movie.getComments());
+        assertEquals(3, movie.getInAppRatingCount());
+        assertEquals(4.0, movie.getInAppRating());
+        assertEquals(1, movie.getInAppRatings().getHistogram()[8]);
+    }
+
+    /**
+     * Write a string in the snapshot's length-prefixed UTF-8 encoding.
+     *
+     * @param out   the stream
+     * @param value the string
+     * @throws IOException if the stream cannot be written
+     */
+    private static void writeString(final DataOutputStream out, final String value) throws IOException {
+        final byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    @Test
+    void testMissingFile() throws IOException {
+        assertTrue(CatalogSnapshot.read(tempDir.resolve("missing.snapshot")).isEmpty());
+    }
+
+    @Test
+    void testCorruptFile() throws IOException {
+        final Path file = tempDir.resolve("corrupt.snapshot");
+        Files.writeString(file, "not a snapshot");
+        assertThrows(IOException.class, () -> CatalogSnapshot.read(file));
+    }
+
+    @Test
+    void testCorruptLengthsAreIOExceptions() throws IOException {
+        final Path hugeCount = tempDir.resolve("huge-count.snapshot");
+        try (DataOutputStream out = new DataOutputStream(Files.newOutputStream(hugeCount))) {
+            out.writeInt(0x4D465331);
+            out.writeInt(2);
+            out.writeInt(Integer.MAX_VALUE);
+        }
+        assertThrows(IOException.class, () -> CatalogSnapshot.read(hugeCount));
+
+        final Path negativeLength = tempDir.resolve("negative-length.snapshot");
+        try (DataOutputStream out = new DataOutputStream(Files.newOutputStream(negativeLength))) {
+            out.writeInt(0x4D465331);
+            out.writeInt(2);
+            out.writeInt(1);
+            out.writeInt(550);
+            out.writeInt(-5);
+            out.write(new byte[64]);
+        }
+        assertThrows(IOException.class, () -> CatalogSnapshot.read(negativeLength));
+    }
+}
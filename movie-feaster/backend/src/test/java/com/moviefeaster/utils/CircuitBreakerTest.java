@@ -0,0 +1,104 @@
+package com.moviefeaster.utils;
+
+import com.moviefeaster.model.CircuitState;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for CircuitBreaker.
+ * Drives the breaker with a manual clock through closed, open and half-open states.
+ */
+class CircuitBreakerTest {
+
+    /** Current time of the manual clock in nanoseconds. */
+    private long now;
+
+    /** Breaker opening after 3 failures for 1 second. */
+    private CircuitBreaker breaker;
+
+    @BeforeEach
+    void setUp() {
+        now = 0;
+        breaker = new CircuitBreaker("movie", 3, 1000, () -> now);
+    }
+
+    /**
+     * Fail the given number of permitted calls.
+     *
+     * @param count number of failures
+     */
+    private void fail(final int count) {
+        for (int i = 0; i < count; i++) {
+            assertTrue(breaker.tryAcquire());
+            breaker.recordFailure();
+        }
+    }
+
+    @Test
+    void testOpensAfterThreshold() {
+        fail(2);
+        assertEquals(CircuitState.CLOSED, breaker.getState());
+        fail(1);
+        assertEquals(CircuitState.OPEN, breaker.getState());
+        assertFalse(breaker.tryAcquire());
+        assertEquals(1, breaker.getRejected());
+    }
+
+    @Test
+    void testSuccessResetsFailureCount() {
+        fail(2);
+        assertTrue(breaker.tryAcquire());
+        breaker.recordSuccess();
+        fail(2);
+        assertEquals(CircuitState.CLOSED, breaker.getState());
+    }
+
+    @Test
+    void testHalfOpenAllowsSingleProbe() {
+        fail(3);
+        now += TimeUnit.SECONDS.toNanos(1);
+        assertTrue(breaker.tryAcquire());
+        assertEquals(CircuitState.HALF_OPEN, breaker.getState());
+        assertFalse(breaker.tryAcquire());
+    }
+
+    @Test
+    void testSuccessfulProbeCloses() {
+        fail(3);
+        now += TimeUnit.SECONDS.toNanos(1);
+        assertTrue(breaker.tryAcquire());
+        breaker.recordSuccess();
+        assertEquals(CircuitState.CLOSED, breaker.getState());
+        assertTrue(breaker.tryAcquire());
+    }
+
+    @Test
+    void testFailedProbeReopens() {
+        fail(3);
+        now += TimeUnit.SECONDS.toNanos(1);
+        assertTrue(breaker.tryAcquire());
+        breaker.recordFailure();
+        assertEquals(CircuitState.OPEN, breaker.getState());
+        assertFalse(breaker.tryAcquire());
+    }
+
+    @Test
+    void testIgnoredProbeFreesSlot() {
+        fail(3);
+        now += TimeUnit.SECONDS.toNanos(1);
+        assertTrue(breaker.tryAcquire());
+        breaker.recordIgnored();
+        assertTrue(breaker.tryAcquire());
+    }
+
+    @Test
+    void testEndpointOf() {
+        assertEquals(UpstreamGuard.DISCOVER, UpstreamGuard.endpointOf("/3/discover/movie"));
+        assertEquals(UpstreamGuard.CHANGES, UpstreamGuard.endpointOf("/3/movie/changes"));
+        assertEquals(UpstreamGuard.MOVIE, UpstreamGuard.endpointOf("/3/movie/550/credits"));
+    }
+}
@@ -115,6 +115,7 @@ public class DataFormatterTest {
                 "Should contain genres");
         assertTrue(result.contains("Actor X, Actor Y"), "Should contain cast");
         assertTrue(result.contains("Excellent film"), "Should contain comments");
+        assertTrue(result.contains("(Total ratings: 2)"), "Should contain the number of in-app ratings");
     }
 
     /**
@@ -163,6 +164,53 @@ public class DataFormatterTest {
         assertTrue(lines[2].contains("Movie 2,2021,7.9"), "Movie 2 data is incorrect");
     }
 
+    /**
+     * Tests that the text and CSV exports keep every comment, not only the newest ones shown in the detail view.
+     */
+    @Test
+    public void exportsEveryComment() {
+        final int count = Movie.RECENT_COMMENTS + 5;
+        List<String> comments = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            comments.add("comment " + i);
+        }
+        movie1.setComments(comments);
+
+        String text = DataFormatter.formatSingleMovie(movie1);
+        assertTrue(text.contains("Comments:\n  - comment 0\n"), "Should list the oldest comment first");
+        assertTrue(text.contains("  - comment " + (count - 1) + "\n"), "Should list the newest comment");
+
+        DataFormatter.write(List.of(movie1), Format.CSV, outputStream);
+        String row = outputStream.toString().split("\n")[1];
+        assertTrue(row.contains(String.join("; ", comments)), "CSV row should contain every comment in order");
+    }
+
+    /**
+     * Tests that the JSON and XML exports carry every comment, oldest first, like the text and CSV exports.
+     */
+    @Test
+    public void jsonAndXmlExportEveryComment() {
+        final int count = Movie.RECENT_COMMENTS + 5;
+        List<String> comments = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            comments.add("comment " + i);
+        }
+        movie1.setComments(comments);
+
+        DataFormatter.write(List.of(movie1), Format.JSON, outputStream);
+        String json = outputStream.toString();
+        assertTrue(json.contains("\"comment 0\""), "JSON should contain the oldest comment");
+        assertTrue(json.indexOf("\"comment 0\"") < json.indexOf("\"comment " + (count - 1) + "\""),
+                "JSON should list the comments oldest first");
+        assertFalse(json.contains("recentComments"), "JSON should not repeat the newest comments");
+
+        outputStream.reset();
+        DataFormatter.write(List.of(movie1), Format.XML, outputStream);
+        String xml = outputStream.toString();
+        assertTrue(xml.contains(">comment 0<"), "XML should contain the oldest comment");
+        assertTrue(xml.contains(">comment " + (count - 1) + "<"), "XML should contain the newest comment");
+    }
+
     /**
      * Tests writing movies in JSON format.
      */
@@ -3,6 +3,8 @@ package com.moviefeaster.utils;
 import com.moviefeaster.model.Genre;
 import com.moviefeaster.model.Movie;
 import com.moviefeaster.model.MovieFilterType;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
@@ -315,4 +317,24 @@ class MovieFilterFacilitatorTest {
         List<Movie> filtered = MovieFilterFacilitator.filter(movies, filters);
         assertEquals(3, filtered.size());
     }
+
+    /**
+     * Tests that every applied filter is timed under its type.
+     */
+    @Test
+    void filterIsTimedPerType() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        Metrics.addRegistry(registry);
+        try {
+            Map<MovieFilterType, Object> filters = new HashMap<>();
+            filters.put(MovieFilterType.GENRE, "SCIENCE_FICTION");
+            filters.put(MovieFilterType.YEAR_RANGE, new int[]{2000, 2023});
+
+            MovieFilterFacilitator.filter(movies, filters);
+            assertEquals(1, registry.get("moviefeaster.filter").tag("type", "genre").timer().count());
+            assertEquals(1, registry.get("moviefeaster.filter").tag("type", "year_range").timer().count());
+        } finally {
+            Metrics.removeRegistry(registry);
+        }
+    }
 }
@@ -0,0 +1,63 @@
+package com.moviefeaster.utils;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for RateLimiter.
+ * Drives the token bucket with a manual clock so no test has to sleep.
+ */
+class RateLimiterTest {
+
+    /** Current time of the manual clock in nanoseconds. */
+    private long now;
+
+    /** Limiter allowing 10 requests per second with a burst of 2. */
+    private RateLimiter limiter;
+
+    @BeforeEach
+    void setUp() {
+        now = 0;
+        limiter = new RateLimiter(10, 2, () -> now);
+    }
+
+    @Test
+    void testBurstIsServedImmediately() {
+        assertEquals(0, limiter.reserve());
+        assertEquals(0, limiter.reserve());
+    }
+
+    @Test
+    void testEmptyBucketWaitsForRefill() {
+        limiter.reserve();
+        limiter.reserve();
+        assertEquals(TimeUnit.MILLISECONDS.toNanos(100), limiter.reserve());
+        assertEquals(TimeUnit.MILLISECONDS.toNanos(200), limiter.reserve());
+    }
+
+    @Test
+    void testTokensRefillOverTime() {
+        limiter.reserve();
+        limiter.reserve();
+        now += TimeUnit.MILLISECONDS.toNanos(100);
+        assertEquals(0, limiter.reserve());
+    }
+
+    @Test
+    void testRefillIsCappedAtBurst() {
+        now += TimeUnit.SECONDS.toNanos(10);
+        limiter.reserve();
+        limiter.reserve();
+        assertTrue(limiter.reserve() > 0);
+        assertEquals(3, limiter.getAcquired());
+    }
+
+    @Test
+    void testInvalidRate() {
+        assertThrows(IllegalArgumentException.class, () -> new RateLimiter(0, 1));
+    }
+}
@@ -0,0 +1,47 @@
+package com.moviefeaster.utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for RetryInterceptor.
+ * Covers Retry-After parsing and the bounds of the jittered backoff.
+ */
+class RetryInterceptorTest {
+
+    @Test
+    void testRetryAfterSeconds() {
+        assertEquals(3000, RetryInterceptor.retryAfterMillis("3"));
+        assertEquals(0, RetryInterceptor.retryAfterMillis("0"));
+    }
+
+    @Test
+    void testRetryAfterHttpDate() {
+        String date = ZonedDateTime.now(ZoneOffset.UTC).plusSeconds(30)
+                .format(DateTimeFormatter.RFC_1123_DATE_TIME);
+        long millis = RetryInterceptor.retryAfterMillis(date);
+        assertTrue(millis > 25_000 && millis <= 30_000, "Unexpected delay " + millis);
+    }
+
+    @Test
+    void testRetryAfterMissingOrMalformed() {
+        assertEquals(-1, RetryInterceptor.retryAfterMillis(null));
+        assertEquals(-1, RetryInterceptor.retryAfterMillis(""));
+        assertEquals(-1, RetryInterceptor.retryAfterMillis("soon"));
+    }
+
+    @Test
+    void testBackoffIsBoundedAndCapped() {
+        RetryInterceptor retry = new RetryInterceptor(5, 100, 1000);
+        for (int i = 0; i < 100; i++) {
+            assertTrue(retry.backoffMillis(0) <= 100);
+            assertTrue(retry.backoffMillis(2) <= 400);
+            assertTrue(retry.backoffMillis(10) <= 1000);
+        }
+    }
+}
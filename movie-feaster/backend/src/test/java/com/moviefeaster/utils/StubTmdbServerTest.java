@@ -0,0 +1,79 @@
+package com.moviefeaster.utils;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for StubTmdbServer.
+ * Starts the server on a free port without latency and reads its synthetic responses.
+ */
+class StubTmdbServerTest {
+
+    /** Mapper for reading response bodies. */
+    private final ObjectMapper mapper = new ObjectMapper();
+
+    /** The server under test. */
+    private StubTmdbServer server;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = new StubTmdbServer(0, 2, 0, 0, 0.0, 50, 42);
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.close();
+    }
+
+    /**
+     * GET a stub path and parse the JSON body.
+     *
+     * @param path the path below the API root
+     * @return the parsed body
+     * @throws IOException if the request fails
+     */
+    private JsonNode get(final String path) throws IOException {
+        HttpURLConnection connection = (HttpURLConnection) new URL(server.getBaseUrl() + path).openConnection();
+        assertEquals(200, connection.getResponseCode());
+        try (InputStream in = connection.getInputStream()) {
+            return mapper.readTree(in);
+        }
+    }
+
+    @Test
+    void testDiscoverPages() throws IOException {
+        JsonNode page = get("/discover/movie?language=en-US&page=3");
+        assertEquals(3, page.path("total_pages").asInt());
+        assertEquals(10, page.path("results").size());
+        assertEquals(41, page.path("results").get(0).path("id").asInt());
+    }
+
+    @Test
+    void testDetailsAreDeterministic() throws IOException {
+        JsonNode first = get("/movie/7?append_to_response=credits");
+        JsonNode second = get("/movie/7?append_to_response=credits");
+        assertEquals(first, second);
+        assertEquals("Director", first.path("credits").path("crew").get(0).path("job").asText());
+        assertEquals(first.path("credits"), get("/movie/7/credits"));
+    }
+
+    @Test
+    void testInjectedErrors() throws IOException {
+        server.close();
+        server = new StubTmdbServer(0, 2, 0, 0, 1.0, 50, 42);
+        HttpURLConnection connection = (HttpURLConnection) new URL(server.getBaseUrl() + "/movie/1").openConnection();
+        int status = connection.getResponseCode();
+        assertTrue(status == 429 || status == 503, "Unexpected status " + status);
+        assertEquals(1, server.getErrors());
+    }
+}
@@ -0,0 +1,106 @@
+package com.moviefeaster.utils;
+
+import com.moviefeaster.model.Movie;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for SyntheticCatalogGenerator.
+ */
+class SyntheticCatalogGeneratorTest {
+
+    /**
+     * The same seed always yields the same catalog, whether generated in bulk or one movie at a time.
+     */
+    @Test
+    void testSameSeedSameCatalog() {
+        final List<Movie> first = new SyntheticCatalogGenerator(7).generate(500);
+        final List<Movie> second = new SyntheticCatalogGenerator(7).generate(500);
+
+        for (int i = 0; i < first.size(); i++) {
+            final Movie movie = second.get(i);
+            assertEquals(first.get(i).getTitle(), movie.getTitle());
+            assertEquals(first.get(i).getDirectors(), movie.getDirectors());
+            assertEquals(first.get(i).getCastings(), movie.getCastings());
+            assertEquals(first.get(i).getGenres(), movie.getGenres());
+            assertEquals(first.get(i).getRating(), movie.getRating());
+            assertEquals(first.get(i).getComments(), movie.getComments());
+        }
+        assertEquals(first.get(123).getTitle(), new SyntheticCatalogGenerator(7).generateMovie(123).getTitle());
+    }
+
+    /**
+     * Different seeds yield different catalogs.
+     */
+    @Test
+    void testDifferentSeeds() {
+        final List<Movie> first = new SyntheticCatalogGenerator(1).generate(100);
+        final List<Movie> second = new SyntheticCatalogGenerator(2).generate(100);
+
+        int same = 0;
+        for (int i = 0; i < first.size(); i++) {
+            if (first.get(i).getCastings().equals(second.get(i).getCastings())) {
+                same++;
+            }
+        }
+        assertTrue(same < 5);
+    }
+
+    /**
+     * Movies have sequential IDs and valid fields.
+     */
+    @Test
+    void testFieldsAreValid() {
+        final List<Movie> movies = new SyntheticCatalogGenerator(42).generate(2000);
+
+        assertEquals(2000, movies.size());
+        for (int i = 0; i < movies.size(); i++) {
+            final Movie movie = movies.get(i);
+            assertEquals(i + 1, movie.getMovieId());
+            assertTrue(movie.getYear() >= 1920 && movie.getYear() <= 2025);
+            assertTrue(movie.getRating() >= 0 && movie.getRating() <= 10_000);
+            assertFalse(movie.getGenres().isEmpty());
+            assertEquals(new HashSet<>(movie.getGenres()).size(), movie.getGenres().size());
+            assertFalse(movie.getDirectors().isEmpty());
+            assertTrue(movie.getCastings().size() >= 3);
+            assertFalse(movie.getTitle().isBlank());
+        }
+    }
+
+    /**
+     * Director credits follow a skewed distribution: the busiest director has far more movies than average.
+     */
+    @Test
+    void testDirectorsAreSkewed() {
+        final List<Movie> movies = new SyntheticCatalogGenerator(42).generate(20_000);
+        final Map<String, Integer> credits = new HashMap<>();
+        for (final Movie movie : movies) {
+            for (final String director : movie.getDirectors()) {
+                credits.merge(director, 1, Integer::sum);
+            }
+        }
+
+        final int busiest = credits.values().stream().mapToInt(Integer::intValue).max().orElse(0);
+        final double average = credits.values().stream().mapToInt(Integer::intValue).average().orElse(0);
+        assertTrue(busiest > 50 * average);
+    }
+
+    /**
+     * Every popularity rank maps to a distinct name.
+     */
+    @Test
+    void testPersonNamesAreDistinct() {
+        final Set<String> names = new HashSet<>();
+        for (int rank = 0; rank < 5000; rank++) {
+            names.add(SyntheticCatalogGenerator.personName(rank));
+        }
+        assertEquals(5000, names.size());
+    }
+}
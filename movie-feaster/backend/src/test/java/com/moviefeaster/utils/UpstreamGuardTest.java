@@ -0,0 +1,106 @@
+package com.moviefeaster.utils;
+
+import com.moviefeaster.model.CircuitState;
+import com.sun.net.httpserver.HttpServer;
+import okhttp3.Cache;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.Response;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for UpstreamGuard.
+ * Runs a real client with a response cache against a local server: /3/movie/1 answers 200 and may be cached,
+ * every other movie answers 500.
+ */
+class UpstreamGuardTest {
+
+    /** Milliseconds a circuit stays open before a probe. */
+    private static final long OPEN_MILLIS = 50;
+
+    /** Directory of the response cache. */
+    @TempDir
+    Path cacheDir;
+
+    /** The local server. */
+    private HttpServer server;
+
+    /** Guard opening a circuit after one failure. */
+    private UpstreamGuard guard;
+
+    /** Client with the guard installed like HttpClientProvider installs it. */
+    private OkHttpClient client;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        server.createContext("/3/movie/", exchange -> {
+            final byte[] body = "{}".getBytes(StandardCharsets.UTF_8);
+            final int status = exchange.getRequestURI().getPath().endsWith("/movie/1") ? 200 : 500;
+            exchange.getResponseHeaders().set("Content-Type", "application/json");
+            exchange.getResponseHeaders().set("Cache-Control", "max-age=600");
+            exchange.sendResponseHeaders(status, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        });
+        server.start();
+
+        guard = new UpstreamGuard(1, OPEN_MILLIS, 4, 0);
+        client = new OkHttpClient.Builder()
+                .addInterceptor(guard)
+                .addNetworkInterceptor(guard::limitConcurrency)
+                .cache(new Cache(cacheDir.toFile(), 1024 * 1024))
+                .build();
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.stop(0);
+    }
+
+    /**
+     * Get a movie and read its body, so a cacheable response is stored.
+     *
+     * @param movieId the movie ID
+     * @return the closed response
+     * @throws IOException if the call fails
+     */
+    private Response get(final int movieId) throws IOException {
+        final String url = "http://" + server.getAddress().getHostString() + ":" + server.getAddress().getPort()
+                + "/3/movie/" + movieId;
+        try (Response response = client.newCall(new Request.Builder().url(url).get().build()).execute()) {
+            response.body().string();
+            return response;
+        }
+    }
+
+    @Test
+    void testCacheHitDoesNotCloseHalfOpenCircuit() throws Exception {
+        assertNotNull(get(1).networkResponse());
+        assertEquals(500, get(2).code());
+        assertEquals(CircuitState.OPEN, guard.getStates().get(UpstreamGuard.MOVIE));
+
+        Thread.sleep(OPEN_MILLIS * 2);
+        final Response cached = get(1);
+        assertEquals(200, cached.code());
+        assertNull(cached.networkResponse());
+        assertEquals(CircuitState.HALF_OPEN, guard.getStates().get(UpstreamGuard.MOVIE));
+
+        // The probe slot was handed back, so the next real call still probes, and its failure reopens the circuit
+        assertEquals(500, get(2).code());
+        assertEquals(CircuitState.OPEN, guard.getStates().get(UpstreamGuard.MOVIE));
+    }
+}
@@ -68,6 +68,35 @@ const RatingUtils = {
     }
 };
 
+// Number of older comments loaded per click
+const COMMENT_PAGE_SIZE = 20;
+
+// Clean up comment format - remove curly braces and format properly
+const cleanCommentText = (comment) => {
+    let cleanComment = comment;
+
+    // Handle different possible formats of comments
+    if (typeof comment === 'string') {
+        // If the comment is a JSON string, parse it and extract content
+        if (comment.trim().startsWith('{') && comment.trim().endsWith('}')) {
+            try {
+                const parsedComment = JSON.parse(comment);
+                if (parsedComment && typeof parsedComment === 'object') {
+                    // If we have a 'comment' property, use that
+                    cleanComment = parsedComment.comment || comment;
+                }
+            } catch (e) {
+                // If parsing fails, just clean up the string
+                cleanComment = comment.replace(/[{}"\s]*(comment:|comment=)?["\s]*/g, '').trim();
+            }
+        } else {
+            // Otherwise just remove any curly braces that might be present
+            cleanComment = comment.replace(/[{}]/g, '').trim();
+        }
+    }
+    return cleanComment;
+};
+
 // Generate a unique identifier for this app session
 const APP_SESSION_ID = Date.now().toString();
 
@@ -102,6 +131,8 @@ const MovieDetailPage = () => {
     const [hasRated, setHasRated] = useState(false);
     const [refreshing, setRefreshing] = useState(false);
     const [ratingCount, setRatingCount] = useState(0);
+    const [olderComments, setOlderComments] = useState([]);
+    const [loadingComments, setLoadingComments] = useState(false);
 
     // Helper functions
     const formatGenre = useCallback((genre) => {
@@ -159,8 +190,9 @@ const MovieDetailPage = () => {
 
             const data = await response.json();
 
-            // Update state with new data
+            // Update state with new data; the movie carries its newest comments, older pages are loaded again
             setMovie(data);
+            setOlderComments([]);
 
             // Clear appropriate loading state
             if (!isRefresh) {
@@ -212,6 +244,29 @@ const MovieDetailPage = () => {
         setUserRating(value);
     };
 
+    const handleLoadOlderComments = async () => {
+        const shown = [...(movie.recentComments || []), ...olderComments];
+        if (shown.length === 0) return;
+
+        try {
+            setLoadingComments(true);
+            const before = shown[shown.length - 1].sequence;
+            const response = await fetch(
+                `${BASE_URL}/api/movies/${id}/comments?before=${before}&limit=${COMMENT_PAGE_SIZE}`);
+
+            if (!response.ok) {
+                throw new Error('Failed to load comments');
+            }
+
+            const page = await response.json();
+            setOlderComments(previous => [...previous, ...page.comments]);
+        } catch (err) {
+            alert('Failed to load older comments. Please try again.');
+        } finally {
+            setLoadingComments(false);
+        }
+    };
+
     const handleCommentSubmit = async (e) => {
         e.preventDefault();
         if (!comment.trim()) return;
@@ -339,6 +394,12 @@ const MovieDetailPage = () => {
         );
     }
 
+    // Newest comments come with the movie; older pages are appended as they are loaded
+    const comments = [...(movie.recentComments || []), ...olderComments];
+    const hasOlderComments = comments.length > 0
+        && comments[comments.length - 1].sequence > 0
+        && comments.length < movie.commentCount;
+
     // Main render
     return (
         <div className="movie-detail-page">
@@ -488,43 +549,31 @@ const MovieDetailPage = () => {
                         <div className="detail-group">
                             <h3>Comments</h3>
                             <div className="comments-section">
-                                {movie.comments && movie.comments.length > 0 ? (
+                                {comments.length > 0 ? (
                                     <ul className="comments-list">
-                                        {movie.comments.map((comment, index) => {
-                                            // Clean up comment format - remove curly braces and format properly
-                                            let cleanComment = comment;
-
-                                            // Handle different possible formats of comments
-                                            if (typeof comment === 'string') {
-                                                // If the comment is a JSON string, parse it and extract content
-                                                if (comment.trim().startsWith('{') && comment.trim().endsWith('}')) {
-                                                    try {
-                                                        const parsedComment = JSON.parse(comment);
-                                                        if (parsedComment && typeof parsedComment === 'object') {
-                                                            // If we have a 'comment' property, use that
-                                                            cleanComment = parsedComment.comment || comment;
-                                                        }
-                                                    } catch (e) {
-                                                        // If parsing fails, just clean up the string
-                                                        cleanComment = comment.replace(/[{}"\s]*(comment:|comment=)?["\s]*/g, '').trim();
-                                                    }
-                                                } else {
-                                                    // Otherwise just remove any curly braces that might be present
-                                                    cleanComment = comment.replace(/[{}]/g, '').trim();
-                                                }
-                                            }
-
-                                            return (
-                                                <li key={index} className="comment-item">
-                                                    {cleanComment}
-                                                </li>
-                                            );
-                                        })}
+                                        {comments.map((comment) => (
+                                            <li key={comment.sequence} className="comment-item">
+                                                {cleanCommentText(comment.text)}
+                                            </li>
+                                        ))}
                                     </ul>
                                 ) : (
                                     <p>No comments yet. Be the first to comment on this movie!</p>
                                 )}
 
+                                {hasOlderComments && (
+                                    <button
+                                        type="button"
+                                        className="comment-button load-comments-button"
+                                        onClick={handleLoadOlderComments}
+                                        disabled={loadingComments}
+                                    >
+                                        {loadingComments
+                                            ? 'Loading...'
+                                            : `Show older comments (${movie.commentCount - comments.length} more)`}
+                                    </button>
+                                )}
+
                                 <form className="comment-form" onSubmit={handleCommentSubmit}>
                                     <textarea
                                         className="comment-input"
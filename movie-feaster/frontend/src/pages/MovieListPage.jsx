@@ -64,22 +64,30 @@ const MovieListPage = () => {
         loadDataWithCurrentFilters();
     }, [location.search, location.state, loadDataWithCurrentFilters, parseFiltersFromUrl]);
 
+    // Convert page query parameters into backend ones: filters as-is, `sort=rating-desc` as `sortType=rating_desc`
+    const toBackendParams = (queryParams) => {
+        const backendParams = new URLSearchParams();
+        queryParams.forEach((value, key) => {
+            if (key !== 'sort' && value) {
+                backendParams.append(key, value);
+            }
+        });
+        const sortParam = queryParams.get('sort');
+        if (sortParam && sortParam !== 'default') {
+            backendParams.append('sortType', sortParam.replaceAll('-', '_'));
+        }
+        return backendParams;
+    };
+
     const fetchMovies = async (queryParams) => {
         try {
             setLoading(true);
             setError(null);
 
             try {
-                // Step 1: First perform search with filters
+                // Filters and sort go in one request; the backend keeps no results between requests
                 let searchEndpoint = `${BASE_URL}/api/movies/search`;
-
-                // Create search params without the sort parameter
-                const searchParams = new URLSearchParams();
-                queryParams.forEach((value, key) => {
-                    if (key !== 'sort' && value) {
-                        searchParams.append(key, value);
-                    }
-                });
+                const searchParams = toBackendParams(queryParams);
 
                 // Add search params if they exist
                 if (searchParams.toString()) {
@@ -93,30 +101,7 @@ const MovieListPage = () => {
                     throw new Error(`Failed to fetch movies: ${searchResponse.status} ${searchResponse.statusText}`);
                 }
 
-                let data = await searchResponse.json();
-
-                // Step 2: If sort parameter exists, sort the results
-                const sortParam = queryParams.get('sort');
-                if (sortParam && sortParam !== 'default') {
-                    const backendSortParam = sortParam.replace('-', '_');
-                    const sortEndpoint = `${BASE_URL}/api/movies/sort?sortType=${backendSortParam}`;
-
-                    // Add any filter parameters to ensure consistency
-                    queryParams.forEach((value, key) => {
-                        if (key !== 'sort' && value) {
-                            searchParams.append(key, value);
-                        }
-                    });
-
-                    console.log('Fetching from sort endpoint:', sortEndpoint);
-                    const sortResponse = await fetch(sortEndpoint);
-
-                    if (sortResponse.ok) {
-                        data = await sortResponse.json();
-                    } else {
-                        console.error('Sort request failed, using unsorted results');
-                    }
-                }
+                const data = await searchResponse.json();
 
                 setMovies(data);
                 setDisplayedMovies(data);
@@ -137,7 +122,7 @@ const MovieListPage = () => {
         try {
             setDownloading(true);
             // Pass the current filters and sort option to ensure the download reflects what's displayed
-            const params = new URLSearchParams(location.search);
+            const params = toBackendParams(new URLSearchParams(location.search));
             params.append('format', downloadFormat);
 
             const response = await fetch(`${BASE_URL}/api/movies/export?${params.toString()}`, {